@@ -0,0 +1,83 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.java.collections.AVLTree;
+import org.sonar.java.collections.PMap;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent map used by the program states of the symbolic execution, with keys inserted in random order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AVLTreeBenchmark {
+
+  @Param({"8", "64", "1024"})
+  public int size;
+
+  private Integer[] keys;
+  private PMap<Integer, Integer> map;
+
+  @Setup
+  public void setUp() {
+    keys = new Integer[size];
+    Random random = new Random(size);
+    for (int i = 0; i < size; i++) {
+      keys[i] = random.nextInt();
+    }
+    map = put();
+  }
+
+  @Benchmark
+  public PMap<Integer, Integer> put() {
+    PMap<Integer, Integer> result = AVLTree.create();
+    for (Integer key : keys) {
+      result = result.put(key, key);
+    }
+    return result;
+  }
+
+  @Benchmark
+  public void get(Blackhole blackhole) {
+    for (Integer key : keys) {
+      blackhole.consume(map.get(key));
+    }
+  }
+
+}
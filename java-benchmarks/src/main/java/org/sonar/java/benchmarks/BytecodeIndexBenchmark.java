@@ -0,0 +1,121 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reading all the classes of a library as done by the completer of shared symbols, either from the jar or from its persisted index,
+ * split between reading the bytecode and parsing it with ASM. The library is the jar of the benchmarks themselves, unless set by the system
+ * property {@value #LIBRARY_PROPERTY}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BytecodeIndexBenchmark {
+
+  static final String LIBRARY_PROPERTY = "sonar.java.benchmarks.library";
+
+  @Param({"false", "true"})
+  public boolean indexed;
+
+  private List<File> library;
+  private File indexDirectory;
+  private final List<String> classFiles = Lists.newArrayList();
+  private final List<byte[]> bytecodes = Lists.newArrayList();
+
+  @Setup
+  public void setUp() throws IOException, URISyntaxException {
+    String libraryPath = System.getProperty(LIBRARY_PROPERTY);
+    File jar = libraryPath == null ? new File(BytecodeIndexBenchmark.class.getProtectionDomain().getCodeSource().getLocation().toURI()) : new File(libraryPath);
+    library = Collections.singletonList(jar);
+    try (ZipFile zipFile = new ZipFile(jar)) {
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        String name = entries.nextElement().getName();
+        if (name.endsWith(".class")) {
+          classFiles.add(name);
+        }
+      }
+    }
+    if (indexed) {
+      indexDirectory = Files.createTempDir();
+      // first analysis, writing the index
+      read();
+    }
+    bytecodes.addAll(read());
+  }
+
+  @Benchmark
+  public List<byte[]> read() throws IOException {
+    List<byte[]> result = Lists.newArrayListWithCapacity(classFiles.size());
+    try (SquidClassLoader classLoader = new SquidClassLoader(library, indexDirectory, true)) {
+      for (String classFile : classFiles) {
+        try (InputStream inputStream = classLoader.getResourceAsStream(classFile)) {
+          result.add(ByteStreams.toByteArray(inputStream));
+        }
+      }
+    }
+    return result;
+  }
+
+  @Benchmark
+  public void parse(Blackhole blackhole) {
+    for (byte[] bytecode : bytecodes) {
+      ClassVisitor classVisitor = new ClassVisitor(Opcodes.ASM5) {
+      };
+      new ClassReader(bytecode).accept(classVisitor, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+      blackhole.consume(classVisitor);
+    }
+  }
+
+}
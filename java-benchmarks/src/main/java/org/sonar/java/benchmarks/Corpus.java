@@ -0,0 +1,137 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+import com.sonar.sslr.api.RecognitionException;
+import com.sonar.sslr.api.typed.ActionParser;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.java.resolve.SharedSymbols;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Java files benchmarks are executed on. Only files which can be parsed are kept, so that every benchmark works on the same files.
+ */
+final class Corpus {
+
+  static final String CORPUS_PROPERTY = "sonar.java.benchmarks.corpus";
+  private static final String DEFAULT_CORPUS = "../its/plugin/projects/struts-1.3.9-lite";
+
+  final List<File> files = Lists.newArrayList();
+  final List<String> sources = Lists.newArrayList();
+
+  private Corpus() {
+  }
+
+  static Corpus load() {
+    File directory = new File(System.getProperty(CORPUS_PROPERTY, DEFAULT_CORPUS));
+    if (!directory.isDirectory()) {
+      throw new IllegalStateException("Corpus directory not found: " + directory.getAbsolutePath() + ", see system property " + CORPUS_PROPERTY);
+    }
+    List<File> javaFiles = Lists.newArrayList();
+    listJavaFiles(directory, javaFiles);
+    Collections.sort(javaFiles);
+    ActionParser<Tree> parser = JavaParser.createParser(Charsets.UTF_8);
+    Corpus corpus = new Corpus();
+    for (File file : javaFiles) {
+      String source = read(file);
+      try {
+        parser.parse(source);
+      } catch (RecognitionException e) {
+        continue;
+      }
+      corpus.files.add(file);
+      corpus.sources.add(source);
+    }
+    return corpus;
+  }
+
+  private static void listJavaFiles(File directory, List<File> result) {
+    File[] children = directory.listFiles();
+    if (children == null) {
+      return;
+    }
+    for (File child : children) {
+      if (child.isDirectory()) {
+        listJavaFiles(child, result);
+      } else if (child.getName().endsWith(".java")) {
+        result.add(child);
+      }
+    }
+  }
+
+  private static String read(File file) {
+    try {
+      return Files.toString(file, Charsets.UTF_8);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read " + file.getAbsolutePath(), e);
+    }
+  }
+
+  List<CompilationUnitTree> parse(ActionParser<Tree> parser) {
+    List<CompilationUnitTree> trees = Lists.newArrayListWithCapacity(sources.size());
+    for (String source : sources) {
+      trees.add((CompilationUnitTree) parser.parse(source));
+    }
+    return trees;
+  }
+
+  /**
+   * Trees of the corpus with their semantic model, along with the models themselves, in the same order.
+   */
+  List<SemanticModel> parseWithSemantic(ActionParser<Tree> parser, List<CompilationUnitTree> trees) {
+    SharedSymbols sharedSymbols = new SharedSymbols(Collections.<File>emptyList());
+    List<SemanticModel> semanticModels = Lists.newArrayListWithCapacity(sources.size());
+    for (CompilationUnitTree tree : parse(parser)) {
+      trees.add(tree);
+      semanticModels.add(SemanticModel.createFor(tree, sharedSymbols));
+    }
+    return semanticModels;
+  }
+
+  /**
+   * Methods with a body, including those of anonymous and local classes.
+   */
+  static List<MethodTree> methods(Tree tree) {
+    final List<MethodTree> methods = Lists.newArrayList();
+    tree.accept(new BaseTreeVisitor() {
+      @Override
+      public void visitMethod(MethodTree methodTree) {
+        if (methodTree.block() != null) {
+          methods.add(methodTree);
+        }
+        super.visitMethod(methodTree);
+      }
+    });
+    return methods;
+  }
+
+}
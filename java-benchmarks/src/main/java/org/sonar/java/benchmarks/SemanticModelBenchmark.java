@@ -0,0 +1,88 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import com.google.common.base.Charsets;
+import com.sonar.sslr.api.typed.ActionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.java.resolve.SharedSymbols;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Semantic analysis of the corpus, as done for one analysis: symbols of the JDK are loaded once for all the files.
+ * Trees are parsed again before each invocation, as the semantic analysis completes them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SemanticModelBenchmark {
+
+  private Corpus corpus;
+  private ActionParser<Tree> parser;
+  private List<CompilationUnitTree> trees;
+
+  @Setup
+  public void setUp() {
+    corpus = Corpus.load();
+    parser = JavaParser.createParser(Charsets.UTF_8);
+  }
+
+  @Setup(Level.Invocation)
+  public void parse() {
+    trees = corpus.parse(parser);
+  }
+
+  @Benchmark
+  public void createFor(Blackhole blackhole) {
+    SharedSymbols sharedSymbols = new SharedSymbols(Collections.<File>emptyList());
+    try {
+      for (CompilationUnitTree tree : trees) {
+        SemanticModel semanticModel = SemanticModel.createFor(tree, sharedSymbols);
+        blackhole.consume(semanticModel);
+        semanticModel.done();
+      }
+    } finally {
+      sharedSymbols.done();
+    }
+  }
+
+}
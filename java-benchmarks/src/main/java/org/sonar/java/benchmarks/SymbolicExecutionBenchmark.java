@@ -0,0 +1,93 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.java.se.ExplodedGraphWalker;
+import org.sonar.java.se.symbolicvalues.BinaryRelation;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exploration of each method of the corpus by the symbolic execution engine, with its built-in checks.
+ * Methods reaching the limits of the engine are explored up to those limits, as during an analysis.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SymbolicExecutionBenchmark {
+
+  private Corpus corpus;
+  private final List<CompilationUnitTree> trees = Lists.newArrayList();
+  private List<SemanticModel> semanticModels;
+  private final List<List<MethodTree>> methods = Lists.newArrayList();
+
+  @Setup
+  public void setUp() {
+    corpus = Corpus.load();
+    semanticModels = corpus.parseWithSemantic(JavaParser.createParser(Charsets.UTF_8), trees);
+    for (CompilationUnitTree tree : trees) {
+      methods.add(Corpus.methods(tree));
+    }
+  }
+
+  @Benchmark
+  public int explore() {
+    int exploredMethods = 0;
+    for (int i = 0; i < trees.size(); i++) {
+      File file = corpus.files.get(i);
+      // issues are collected by the context: a new one is used for each invocation
+      JavaFileScannerContext context = new DefaultJavaFileScannerContext(trees.get(i), file, semanticModels.get(i), false, null, new JavaVersionImpl(), true);
+      for (MethodTree method : methods.get(i)) {
+        try {
+          method.accept(new ExplodedGraphWalker(context));
+          exploredMethods++;
+        } catch (ExplodedGraphWalker.MaximumStepsReachedException | ExplodedGraphWalker.ExplodedGraphTooBigException | BinaryRelation.TransitiveRelationExceededException e) {
+          // same limits as during an analysis
+        }
+      }
+    }
+    return exploredMethods;
+  }
+
+}
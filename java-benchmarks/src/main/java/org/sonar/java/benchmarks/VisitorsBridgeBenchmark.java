@@ -0,0 +1,100 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.sonar.sslr.api.typed.ActionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonar.java.CrossFileVisitor;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.checks.CheckList;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.model.VisitorsBridge;
+import org.sonar.java.model.VisitorsBridgeForTests;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Everything done on a parsed file during an analysis: semantic analysis, symbolic execution and all the checks of {@link CheckList}
+ * with their default parameters. Issues are collected in memory. Checks whose issues depend on other files are left out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VisitorsBridgeBenchmark {
+
+  private Corpus corpus;
+  private ActionParser<Tree> parser;
+  private final List<JavaFileScanner> checks = Lists.newArrayList();
+  private List<CompilationUnitTree> trees;
+
+  @Setup
+  public void setUp() throws ReflectiveOperationException {
+    corpus = Corpus.load();
+    parser = JavaParser.createParser(Charsets.UTF_8);
+    for (Class<? extends JavaCheck> checkClass : CheckList.getJavaChecks()) {
+      if (JavaFileScanner.class.isAssignableFrom(checkClass) && !CrossFileVisitor.class.isAssignableFrom(checkClass)) {
+        checks.add((JavaFileScanner) checkClass.newInstance());
+      }
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void parse() {
+    trees = corpus.parse(parser);
+  }
+
+  @Benchmark
+  public void visitFile() {
+    VisitorsBridge visitorsBridge = new VisitorsBridgeForTests(checks, Collections.<File>emptyList(), null);
+    visitorsBridge.setJavaVersion(new JavaVersionImpl());
+    visitorsBridge.setCharset(Charsets.UTF_8);
+    try {
+      for (int i = 0; i < trees.size(); i++) {
+        visitorsBridge.setCurrentFile(corpus.files.get(i));
+        visitorsBridge.visitFile(trees.get(i));
+      }
+    } finally {
+      visitorsBridge.endOfAnalysis();
+    }
+  }
+
+}
@@ -25,6 +25,7 @@ import com.google.common.collect.Lists;
 import org.apache.commons.io.FileUtils;
 import org.fest.assertions.Fail;
 import org.sonar.java.JavaConfiguration;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.ast.JavaAstScanner;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
 import org.sonar.java.model.JavaVersionImpl;
@@ -209,7 +210,9 @@ public class JavaCheckVerifier extends CheckVerifier {
     JavaFileScanner expectedIssueCollector = new ExpectedIssueCollector(javaCheckVerifier);
     VisitorsBridgeForTests visitorsBridge;
     if(withSemantic) {
-      visitorsBridge = new VisitorsBridgeForTests(Lists.newArrayList(check, expectedIssueCollector), Lists.newArrayList(classpath), null);
+      // syntactic checks are verified without semantic model, as they are executed when no other scanner requires it
+      boolean symbolicExecutionEnabled = !(check instanceof SyntacticVisitor);
+      visitorsBridge = new VisitorsBridgeForTests(Lists.newArrayList(check, expectedIssueCollector), Lists.newArrayList(classpath), null, symbolicExecutionEnabled);
     } else {
       visitorsBridge = new VisitorsBridgeForTests(Lists.newArrayList(check, expectedIssueCollector));
     }
@@ -220,7 +223,7 @@ public class JavaCheckVerifier extends CheckVerifier {
     javaCheckVerifier.checkIssues(testJavaFileScannerContext.getIssues(), javaCheckVerifier.providedJavaVersion);
   }
 
-  private static class ExpectedIssueCollector extends SubscriptionVisitor {
+  private static class ExpectedIssueCollector extends SubscriptionVisitor implements SyntacticVisitor {
 
     private final JavaCheckVerifier verifier;
 
@@ -23,6 +23,7 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.syntaxtoken.FirstSyntaxTokenFinder;
 import org.sonar.java.syntaxtoken.LastSyntaxTokenFinder;
 import org.sonar.java.tag.Tag;
@@ -47,7 +48,7 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("20min")
-public class AnonymousClassesTooBigCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class AnonymousClassesTooBigCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private static final int DEFAULT_MAX = 20;
 
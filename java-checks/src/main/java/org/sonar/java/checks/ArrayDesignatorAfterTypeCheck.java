@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.tree.ArrayTypeTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
@@ -43,7 +44,7 @@ import java.util.List;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("5min")
-public class ArrayDesignatorAfterTypeCheck extends SubscriptionBaseVisitor {
+public class ArrayDesignatorAfterTypeCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
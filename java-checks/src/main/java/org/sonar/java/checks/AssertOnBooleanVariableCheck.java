@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.tree.AssertStatementTree;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -41,7 +42,7 @@ import java.util.List;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.INSTRUCTION_RELIABILITY)
 @SqaleConstantRemediation("5min")
-public class AssertOnBooleanVariableCheck extends SubscriptionBaseVisitor {
+public class AssertOnBooleanVariableCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   private static final List<Kind> SIDE_EFFECT_KIND = ImmutableList.of(
     Kind.METHOD_INVOCATION,
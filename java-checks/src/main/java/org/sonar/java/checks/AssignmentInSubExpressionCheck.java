@@ -22,6 +22,7 @@ package org.sonar.java.checks;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -50,7 +51,7 @@ import javax.annotation.Nullable;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.INSTRUCTION_RELIABILITY)
 @SqaleConstantRemediation("5min")
-public class AssignmentInSubExpressionCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class AssignmentInSubExpressionCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private JavaFileScannerContext context;
 
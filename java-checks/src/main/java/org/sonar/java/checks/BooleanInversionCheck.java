@@ -24,6 +24,7 @@ import com.google.common.collect.ImmutableMap;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.checks.helpers.ExpressionsHelper;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
@@ -43,7 +44,7 @@ import java.util.Map;
   tags = {Tag.PITFALL})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.UNDERSTANDABILITY)
 @SqaleConstantRemediation("2min")
-public class BooleanInversionCheck extends SubscriptionBaseVisitor {
+public class BooleanInversionCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   private static final Map<String, String> OPERATORS = ImmutableMap.<String, String>builder()
     .put("==", "!=")
@@ -22,6 +22,7 @@ package org.sonar.java.checks;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -43,7 +44,7 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
   tags = {Tag.CERT, Tag.CWE, Tag.ERROR_HANDLING})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.CPU_EFFICIENCY)
 @SqaleConstantRemediation("5min")
-public class CatchNPECheck extends BaseTreeVisitor implements JavaFileScanner {
+public class CatchNPECheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private JavaFileScannerContext context;
 
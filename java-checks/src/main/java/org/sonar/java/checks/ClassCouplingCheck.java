@@ -24,6 +24,7 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -61,7 +62,7 @@ import java.util.Set;
   tags = {Tag.BRAIN_OVERLOAD})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.ARCHITECTURE_CHANGEABILITY)
 @SqaleConstantRemediation("2h")
-public class ClassCouplingCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class ClassCouplingCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private static final int DEFAULT_MAX = 20;
 
@@ -22,6 +22,7 @@ package org.sonar.java.checks;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.model.ModifiersUtils;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -49,7 +50,7 @@ import java.util.List;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.ARCHITECTURE_CHANGEABILITY)
 @SqaleConstantRemediation("10min")
-public class ClassVariableVisibilityCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class ClassVariableVisibilityCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private Deque<Boolean> isClassStack = new ArrayDeque<>();
 
@@ -23,6 +23,7 @@ import com.google.common.collect.Lists;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -46,7 +47,7 @@ import java.util.Deque;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("5min")
-public class CollapsibleIfCandidateCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class CollapsibleIfCandidateCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private JavaFileScannerContext context;
   private Deque<IfStatementTree> outerIf = new ArrayDeque<>();
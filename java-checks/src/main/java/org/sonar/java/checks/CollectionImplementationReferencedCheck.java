@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableMap;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.model.ModifiersUtils;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -52,7 +53,7 @@ import java.util.Map;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.ARCHITECTURE_CHANGEABILITY)
 @SqaleConstantRemediation("10min")
-public class CollectionImplementationReferencedCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class CollectionImplementationReferencedCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private static final String DEQUE = "Deque";
   private static final String LIST = "List";
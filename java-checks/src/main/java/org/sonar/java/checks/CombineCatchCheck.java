@@ -25,6 +25,7 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.java.JavaVersionAwareVisitor;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.model.SyntacticEquivalence;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -47,7 +48,7 @@ import java.util.List;
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("5min")
 @ActivatedByDefault
-public class CombineCatchCheck extends SubscriptionBaseVisitor implements JavaVersionAwareVisitor {
+public class CombineCatchCheck extends SubscriptionBaseVisitor implements JavaVersionAwareVisitor, SyntacticVisitor {
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
@@ -23,6 +23,7 @@ import com.google.common.collect.Sets;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -47,7 +48,7 @@ import java.util.Set;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("5min")
-public class ConcatenationWithStringValueOfCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class ConcatenationWithStringValueOfCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private JavaFileScannerContext context;
 
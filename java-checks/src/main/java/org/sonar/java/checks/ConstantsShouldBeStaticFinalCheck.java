@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.model.JavaTree;
 import org.sonar.java.model.ModifiersUtils;
 import org.sonar.java.tag.Tag;
@@ -48,7 +49,7 @@ import java.util.List;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.MEMORY_EFFICIENCY)
 @SqaleConstantRemediation("2min")
-public class ConstantsShouldBeStaticFinalCheck extends SubscriptionBaseVisitor {
+public class ConstantsShouldBeStaticFinalCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   private int nestedClassesLevel;
 
@@ -114,11 +115,10 @@ public class ConstantsShouldBeStaticFinalCheck extends SubscriptionBaseVisitor {
     if (Arrays.asList(kinds).contains(tree.kind())) {
       return true;
     }
-    if (!tree.isLeaf()) {
-      for (Tree javaTree : tree.children()) {
-        if (javaTree != null && containsChildrenOfKind((JavaTree) javaTree, kinds)) {
-          return true;
-        }
+    for (int i = 0; i < tree.childCount(); i++) {
+      Tree javaTree = tree.child(i);
+      if (javaTree != null && containsChildrenOfKind((JavaTree) javaTree, kinds)) {
+        return true;
       }
     }
     return false;
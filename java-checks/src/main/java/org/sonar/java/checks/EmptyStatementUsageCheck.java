@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.squidbridge.annotations.SqaleConstantRemediation;
@@ -37,7 +38,7 @@ import java.util.List;
   tags = {Tag.CERT, Tag.MISRA, Tag.UNUSED})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.INSTRUCTION_RELIABILITY)
 @SqaleConstantRemediation("2min")
-public class EmptyStatementUsageCheck extends SubscriptionBaseVisitor {
+public class EmptyStatementUsageCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.model.ModifiersUtils;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.tree.BlockTree;
@@ -48,7 +49,7 @@ import java.util.List;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.API_ABUSE)
 @SqaleConstantRemediation("20min")
-public class EnumMutableFieldCheck extends SubscriptionBaseVisitor {
+public class EnumMutableFieldCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.model.ModifiersUtils;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
@@ -43,7 +44,7 @@ import java.util.List;
   tags = {Tag.DESIGN})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.UNDERSTANDABILITY)
 @SqaleConstantRemediation("5min")
-public class FinalClassCheck extends IssuableSubscriptionVisitor {
+public class FinalClassCheck extends IssuableSubscriptionVisitor implements SyntacticVisitor {
 
   @Override
   public List<Kind> nodesToVisit() {
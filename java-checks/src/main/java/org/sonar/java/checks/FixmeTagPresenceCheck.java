@@ -22,6 +22,7 @@ package org.sonar.java.checks;
 import com.google.common.collect.ImmutableList;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.squidbridge.annotations.ActivatedByDefault;
@@ -35,7 +36,7 @@ import java.util.List;
   priority = Priority.MAJOR)
 @ActivatedByDefault
 @NoSqale
-public class FixmeTagPresenceCheck extends SubscriptionBaseVisitor {
+public class FixmeTagPresenceCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   private static final String PATTERN = "FIXME";
   private static final String MESSAGE = "Take the required action to fix the issue indicated by this comment.";
@@ -23,6 +23,7 @@ import com.google.common.collect.Sets;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -48,7 +49,7 @@ import java.util.Set;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.LOGIC_RELIABILITY)
 @SqaleConstantRemediation("10min")
-public class ForLoopCounterChangedCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class ForLoopCounterChangedCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private final Set<String> loopCounters = Sets.newHashSet();
   private JavaFileScannerContext context;
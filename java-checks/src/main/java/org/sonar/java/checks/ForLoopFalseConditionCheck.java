@@ -23,6 +23,7 @@ import org.apache.commons.lang.BooleanUtils;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.model.LiteralUtils;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
@@ -45,7 +46,7 @@ import javax.annotation.CheckForNull;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.LOGIC_RELIABILITY)
 @SqaleConstantRemediation("10min")
-public class ForLoopFalseConditionCheck extends AbstractForLoopRule {
+public class ForLoopFalseConditionCheck extends AbstractForLoopRule implements SyntacticVisitor {
 
   @Override
   public void visitForStatement(ForStatementTree forStatement) {
@@ -191,7 +191,8 @@ public class HiddenFieldCheck extends SubscriptionBaseVisitor {
     private void visitChildren(Tree tree) {
       JavaTree javaTree = (JavaTree) tree;
       if (!javaTree.isLeaf()) {
-        for (Tree next : javaTree.children()) {
+        for (int i = 0; i < javaTree.childCount(); i++) {
+          Tree next = javaTree.child(i);
           if (next != null && !isExcluded(next)) {
             visit(next);
           }
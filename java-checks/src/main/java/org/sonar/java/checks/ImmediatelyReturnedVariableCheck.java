@@ -24,6 +24,7 @@ import org.apache.commons.lang.StringUtils;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -52,7 +53,7 @@ import java.util.Map;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("2min")
-public class ImmediatelyReturnedVariableCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class ImmediatelyReturnedVariableCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private static final Map<Kind, String> MESSAGE_KEYS = ImmutableMap.of(
     Kind.THROW_STATEMENT, "throw",
@@ -25,6 +25,7 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.model.JavaTree;
 import org.sonar.java.syntaxtoken.FirstSyntaxTokenFinder;
 import org.sonar.java.syntaxtoken.LastSyntaxTokenFinder;
@@ -54,7 +55,7 @@ import java.util.List;
   tags = {Tag.CONVENTION})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("1min")
-public class IndentationCheck extends SubscriptionBaseVisitor {
+public class IndentationCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   private static final List<Kind> BLOCK_TYPES = ImmutableList.of(
     Kind.CLASS,
@@ -24,6 +24,7 @@ import com.google.common.collect.Sets;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.CatchTree;
@@ -45,7 +46,7 @@ import java.util.Set;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.UNDERSTANDABILITY)
 @SqaleConstantRemediation("10min")
-public class InstanceofUsedOnExceptionCheck extends SubscriptionBaseVisitor {
+public class InstanceofUsedOnExceptionCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   private final Set<String> caughtVariables = Sets.newHashSet();
 
@@ -23,6 +23,7 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.java.CharsetAwareVisitor;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -43,7 +44,7 @@ import java.util.List;
   tags = {Tag.CONVENTION})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("1min")
-public class MissingNewLineAtEndOfFileCheck extends SubscriptionBaseVisitor implements CharsetAwareVisitor {
+public class MissingNewLineAtEndOfFileCheck extends SubscriptionBaseVisitor implements CharsetAwareVisitor, SyntacticVisitor {
 
   private Charset charset;
 
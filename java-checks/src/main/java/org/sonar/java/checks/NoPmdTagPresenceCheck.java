@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -38,7 +39,7 @@ import java.util.List;
   tags = {Tag.BAD_PRACTICE})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.UNDERSTANDABILITY)
 @SqaleConstantRemediation("10min")
-public class NoPmdTagPresenceCheck extends SubscriptionBaseVisitor {
+public class NoPmdTagPresenceCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   private static final String PATTERN = "NOPMD";
   private static final String MESSAGE = "Remove usage of this \"NOPMD\" suppression comment filter.";
@@ -26,6 +26,7 @@ import org.apache.commons.lang.BooleanUtils;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.syntaxtoken.FirstSyntaxTokenFinder;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -61,7 +62,7 @@ import java.util.Set;
   tags = {Tag.CERT, Tag.CWE, Tag.MISRA})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("2min")
-public class OperatorPrecedenceCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class OperatorPrecedenceCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private static final Table<Tree.Kind, Tree.Kind, Boolean> OPERATORS_RELATION_TABLE;
 
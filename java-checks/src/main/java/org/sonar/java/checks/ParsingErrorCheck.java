@@ -23,6 +23,7 @@ import com.sonar.sslr.api.RecognitionException;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -40,7 +41,7 @@ import java.io.StringWriter;
     tags = {Tag.SUSPICIOUS})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.INSTRUCTION_RELIABILITY)
 @SqaleConstantRemediation("30min")
-public class ParsingErrorCheck implements AstScannerExceptionHandler, JavaFileScanner {
+public class ParsingErrorCheck implements AstScannerExceptionHandler, JavaFileScanner, SyntacticVisitor {
 
   private JavaFileScannerContext context;
 
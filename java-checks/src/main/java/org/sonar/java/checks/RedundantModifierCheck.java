@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.model.ModifiersUtils;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.tree.ClassTree;
@@ -45,7 +46,7 @@ import java.util.List;
   tags = {Tag.CLUMSY})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("2min")
-public class RedundantModifierCheck extends SubscriptionBaseVisitor {
+public class RedundantModifierCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   @Override
   public List<Kind> nodesToVisit() {
@@ -22,6 +22,7 @@ package org.sonar.java.checks;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -48,7 +49,7 @@ import java.util.LinkedList;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.INSTRUCTION_RELIABILITY)
 @SqaleConstantRemediation("30min")
-public class ReturnInFinallyCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class ReturnInFinallyCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private final Deque<Boolean> isInFinally = new LinkedList<>();
   private JavaFileScannerContext context;
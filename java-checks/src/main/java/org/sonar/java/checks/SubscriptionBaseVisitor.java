@@ -21,19 +21,14 @@ package org.sonar.java.checks;
 
 import org.sonar.java.resolve.SemanticModel;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
-import org.sonar.plugins.java.api.JavaFileScannerContext;
 
 public abstract class SubscriptionBaseVisitor extends IssuableSubscriptionVisitor {
 
-  private SemanticModel semanticModel;
-
-  @Override
-  public void scanFile(JavaFileScannerContext context) {
-    semanticModel = (SemanticModel) context.getSemanticModel();
-    super.scanFile(context);
-  }
-
+  /**
+   * @return the semantic model of the file being visited, null when the file is analyzed without semantic model, or once the end of the
+   * file has been notified.
+   */
   public SemanticModel getSemanticModel() {
-    return semanticModel;
+    return semanticModel();
   }
 }
@@ -23,6 +23,7 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.checks.helpers.ExpressionsHelper;
 import org.sonar.java.syntaxtoken.FirstSyntaxTokenFinder;
 import org.sonar.java.tag.Tag;
@@ -45,7 +46,7 @@ import java.util.Set;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.COMPILER_RELATED_PORTABILITY)
 @SqaleConstantRemediation("1h")
-public class SunPackagesUsedCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class SunPackagesUsedCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private Set<Integer> reportedLines = new HashSet<>();
 
@@ -26,6 +26,7 @@ import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.CharsetAwareVisitor;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
@@ -51,7 +52,7 @@ import java.util.Set;
   tags = {Tag.CONVENTION})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("1min")
-public class TooLongLineCheck extends SubscriptionBaseVisitor implements CharsetAwareVisitor {
+public class TooLongLineCheck extends SubscriptionBaseVisitor implements CharsetAwareVisitor, SyntacticVisitor {
 
   private static final int DEFAULT_MAXIMUM_LINE_LENHGTH = 120;
 
@@ -28,6 +28,7 @@ import org.sonar.api.utils.WildcardPattern;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.ast.visitors.PublicApiChecker;
 import org.sonar.java.model.PackageUtils;
 import org.sonar.java.tag.Tag;
@@ -58,7 +59,7 @@ import java.util.regex.Pattern;
   tags = {Tag.CONVENTION})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.UNDERSTANDABILITY)
 @SqaleConstantRemediation("10min")
-public class UndocumentedApiCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class UndocumentedApiCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private static final Kind[] CLASS_KINDS = PublicApiChecker.classKinds();
   private static final Kind[] METHOD_KINDS = PublicApiChecker.methodKinds();
@@ -24,6 +24,7 @@ import com.google.common.collect.ImmutableSet;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.tree.LiteralTree;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -40,7 +41,7 @@ import java.util.Set;
   tags = {Tag.CERT, Tag.CONVENTION, Tag.MISRA, Tag.PITFALL})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.UNDERSTANDABILITY)
 @SqaleConstantRemediation("2min")
-public class UppercaseSuffixesCheck extends SubscriptionBaseVisitor {
+public class UppercaseSuffixesCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   private static final Set<Character> LITERAL_SUFFIXES = ImmutableSet.of('f', 'd', 'l');
 
@@ -24,6 +24,7 @@ import com.google.common.collect.Sets;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.checks.helpers.ExpressionsHelper;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -55,7 +56,7 @@ import java.util.Set;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("2min")
-public class UselessImportCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class UselessImportCheck extends BaseTreeVisitor implements JavaFileScanner, SyntacticVisitor {
 
   private final Map<String, ImportTree> lineByImportReference = new HashMap<>();
   private final Set<String> pendingImports = Sets.newHashSet();
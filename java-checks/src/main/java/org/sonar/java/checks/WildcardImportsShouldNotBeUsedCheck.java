@@ -23,6 +23,7 @@ import com.google.common.collect.ImmutableList;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
@@ -42,7 +43,7 @@ import java.util.List;
   tags = {Tag.PITFALL})
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("5min")
-public class WildcardImportsShouldNotBeUsedCheck extends IssuableSubscriptionVisitor {
+public class WildcardImportsShouldNotBeUsedCheck extends IssuableSubscriptionVisitor implements SyntacticVisitor {
 
   @Override
   public List<Kind> nodesToVisit() {
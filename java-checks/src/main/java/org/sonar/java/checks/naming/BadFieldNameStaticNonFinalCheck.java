@@ -23,6 +23,7 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.checks.AbstractBadFieldNameChecker;
 import org.sonar.java.model.ModifiersUtils;
 import org.sonar.java.tag.Tag;
@@ -40,7 +41,7 @@ import org.sonar.squidbridge.annotations.SqaleSubCharacteristic;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("2min")
-public class BadFieldNameStaticNonFinalCheck extends AbstractBadFieldNameChecker {
+public class BadFieldNameStaticNonFinalCheck extends AbstractBadFieldNameChecker implements SyntacticVisitor {
 
   @RuleProperty(
     key = DEFAULT_FORMAT_KEY,
@@ -24,6 +24,7 @@ import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.check.Priority;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.checks.SubscriptionBaseVisitor;
 import org.sonar.java.tag.Tag;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -46,7 +47,7 @@ import java.util.regex.Pattern;
 @ActivatedByDefault
 @SqaleSubCharacteristic(RulesDefinition.SubCharacteristics.READABILITY)
 @SqaleConstantRemediation("10min")
-public class BadTypeParameterNameCheck extends SubscriptionBaseVisitor {
+public class BadTypeParameterNameCheck extends SubscriptionBaseVisitor implements SyntacticVisitor {
 
   private static final String DEFAULT_FORMAT = "^[A-Z][0-9]?$";
 
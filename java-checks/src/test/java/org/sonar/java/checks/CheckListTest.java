@@ -21,18 +21,26 @@ package org.sonar.java.checks;
 
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.apache.commons.io.FileUtils;
 import org.junit.Test;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.api.server.rule.RulesDefinitionAnnotationLoader;
+import org.sonar.java.AnalyzerMessage;
+import org.sonar.java.CrossFileVisitor;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.ast.JavaAstScanner;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.model.JavaVersionImpl;
 import org.sonar.java.model.VisitorsBridgeForTests;
 import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.squidbridge.api.CodeVisitor;
 
 import java.io.File;
 import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
 
@@ -43,6 +51,27 @@ public class CheckListTest {
 
   private static final String ARTIFICIAL_DESCRIPTION = "-1";
 
+  private static final List<String> FILES_ANALYZED_BY_ALL_CHECKS = ImmutableList.of(
+    "AssertionsInTestsCheckJunit4.java",
+    "CatchUsesExceptionWithContextCheck.java",
+    "CollectionInappropriateCallsCheck.java",
+    "ConstantMath.java",
+    "DataStoredInSessionCheck.java",
+    "DeadStoreCheck.java",
+    "EqualsArgumentType.java",
+    "IndentationCheck_default.java",
+    "InnerStaticClassesCheck.java",
+    "InvalidDateValuesCheck.java",
+    "LeftCurlyBraceEndLineCheck.java",
+    "MembersDifferOnlyByCapitalizationCheck.java",
+    "OperatorPrecedence.java",
+    "PreparedStatementAndResultSetCheck.java",
+    "PrintfCheck.java",
+    "SQLInjection.java",
+    "StaticMethodCheck.java",
+    "ThrowsSeveralCheckedException.java",
+    "TooManyStatementsPerLine.java");
+
   private static final List<String> SE_CHEKS = ImmutableList.of(
       "NullDereferenceCheck",
     "ConditionAlwaysTrueOrFalseCheck",
@@ -164,6 +193,83 @@ public class CheckListTest {
     }
   }
 
+  /**
+   * Ensures that files are analyzed without semantic model when only syntactic checks are executed
+   */
+  @Test
+  public void syntactic_checks_are_executed_without_semantic_model() throws Exception {
+    List<JavaFileScanner> scanners = Lists.newArrayList();
+    for (Class check : CheckList.getChecks()) {
+      Object visitor = check.newInstance();
+      if (visitor instanceof SyntacticVisitor) {
+        scanners.add((JavaFileScanner) visitor);
+      }
+    }
+    assertThat(scanners.size()).isGreaterThan(100);
+    final List<Boolean> semanticModels = Lists.newArrayList();
+    scanners.add(new SyntacticScanner() {
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        semanticModels.add(context.getSemanticModel() != null);
+      }
+    });
+    VisitorsBridgeForTests visitorsBridge = new VisitorsBridgeForTests(scanners, Lists.<File>newArrayList(), null, false);
+    JavaAstScanner.scanSingleFileForTests(new File("src/test/files/checks/IndentationCheck_default.java"), visitorsBridge);
+    assertThat(semanticModels).containsExactly(false);
+    assertThat(visitorsBridge.lastCreatedTestContext().getIssues()).isNotEmpty();
+  }
+
+  private abstract static class SyntacticScanner implements JavaFileScanner, SyntacticVisitor {
+  }
+
+  /**
+   * Ensures that the issues of checks which are not {@link CrossFileVisitor} only depend on the file they analyze, as expected by the analysis
+   * cache: analyzing the same files a second time with the same instances of checks raises the same issues.
+   */
+  @Test
+  public void issues_of_checks_only_depend_on_analyzed_file() throws Exception {
+    List<JavaFileScanner> scanners = Lists.newArrayList();
+    for (Class check : CheckList.getChecks()) {
+      Object visitor = check.newInstance();
+      if (visitor instanceof JavaFileScanner && !(visitor instanceof CrossFileVisitor)) {
+        scanners.add((JavaFileScanner) visitor);
+      }
+    }
+    final List<VisitorsBridgeForTests.TestJavaFileScannerContext> contexts = Lists.newArrayList();
+    scanners.add(new JavaFileScanner() {
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        contexts.add((VisitorsBridgeForTests.TestJavaFileScannerContext) context);
+      }
+    });
+    File[] files = new File[FILES_ANALYZED_BY_ALL_CHECKS.size()];
+    for (int i = 0; i < files.length; i++) {
+      files[i] = new File("src/test/files/checks", FILES_ANALYZED_BY_ALL_CHECKS.get(i));
+    }
+    List<File> filesAnalyzedTwice = Lists.newArrayList(files);
+    filesAnalyzedTwice.addAll(Lists.newArrayList(files));
+    JavaAstScanner astScanner = new JavaAstScanner(JavaParser.createParser(StandardCharsets.UTF_8));
+    VisitorsBridgeForTests visitorsBridge = new VisitorsBridgeForTests(scanners, Lists.<File>newArrayList(), null);
+    visitorsBridge.setCharset(StandardCharsets.UTF_8);
+    visitorsBridge.setJavaVersion(new JavaVersionImpl());
+    astScanner.setVisitorBridge(visitorsBridge);
+
+    astScanner.scan(filesAnalyzedTwice);
+
+    assertThat(contexts).hasSize(filesAnalyzedTwice.size());
+    for (int i = 0; i < files.length; i++) {
+      assertThat(issues(contexts.get(files.length + i))).as(files[i].getName()).isEqualTo(issues(contexts.get(i)));
+    }
+  }
+
+  private static Set<String> issues(VisitorsBridgeForTests.TestJavaFileScannerContext context) {
+    Set<String> issues = Sets.newTreeSet();
+    for (AnalyzerMessage issue : context.getIssues()) {
+      issues.add(issue.getCheck().getClass().getSimpleName() + " " + issue.getLine() + " " + issue.getMessage());
+    }
+    return issues;
+  }
+
   @Test
   public void private_constructor() throws Exception {
     Constructor constructor = CheckList.class.getDeclaredConstructor();
@@ -0,0 +1,486 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.Closeables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.check.RuleProperty;
+import org.sonar.java.bytecode.ClassFiles;
+import org.sonar.java.resolve.Convert;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaVersion;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Issues raised by checks on each file of a previous analysis, replayed as long as neither the file nor the project classes it depends on have changed.
+ * The cache is only valid for the analyzer, the checks, their parameters, the java version, the source encoding and the libraries it has been created with: any change of those
+ * changes the fingerprint of the analysis, which discards the whole cache.
+ * Only issues are cached: replaying them saves the execution of the checks, not the parsing and the semantic analysis of the file, which are
+ * still needed by the scanners computing measures, highlighting and symbols.
+ */
+public class AnalysisCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AnalysisCache.class);
+
+  private static final int MAGIC = 0x4a434143;
+  private static final int VERSION = 1;
+
+  private final File cacheFile;
+  private final String fingerprint;
+  private final List<File> binaryDirectories = Lists.newArrayList();
+  private final Map<String, Entry> previousEntries;
+  private final Map<String, Entry> entries = Maps.newLinkedHashMap();
+  private final Map<String, String> signatures = Maps.newHashMap();
+
+  private AnalysisCache(File cacheFile, String fingerprint, List<File> classpath, Map<String, Entry> previousEntries) {
+    this.cacheFile = cacheFile;
+    this.fingerprint = fingerprint;
+    for (File file : classpath) {
+      if (file.isDirectory()) {
+        binaryDirectories.add(file);
+      }
+    }
+    this.previousEntries = previousEntries;
+  }
+
+  /**
+   * Cache of the previous analysis stored in the given file, if any and if it has been created with the same fingerprint.
+   */
+  public static AnalysisCache load(File cacheFile, String fingerprint, List<File> classpath) {
+    Map<String, Entry> previousEntries = ImmutableMap.of();
+    if (cacheFile.isFile()) {
+      DataInputStream in = null;
+      try {
+        in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+        if (in.readInt() == MAGIC && in.readInt() == VERSION && fingerprint.equals(in.readUTF())) {
+          previousEntries = readEntries(in);
+        }
+      } catch (IOException e) {
+        LOG.warn("Unable to read analysis cache " + cacheFile.getAbsolutePath() + ", all files will be analyzed", e);
+      } finally {
+        Closeables.closeQuietly(in);
+      }
+    }
+    return new AnalysisCache(cacheFile, fingerprint, classpath, previousEntries);
+  }
+
+  /**
+   * Fingerprint of everything, apart from the analyzed files themselves, which can change the issues raised by the given checks.
+   * When the version of the analyzer is unknown, as when its classes are not loaded from a released jar, the location and the timestamp of
+   * the classes of the analyzer and of each check are used instead.
+   */
+  public static String fingerprint(Map<String, JavaCheck> checksByRuleKey, List<File> classpath, @Nullable JavaVersion javaVersion, @Nullable Charset charset) {
+    String analyzerVersion = AnalysisCache.class.getPackage().getImplementationVersion();
+    StringBuilder sb = new StringBuilder();
+    sb.append(VERSION).append('\n');
+    sb.append(analyzerVersion == null ? classesStamp(AnalysisCache.class) : analyzerVersion).append('\n');
+    sb.append(javaVersion).append('\n');
+    sb.append(charset).append('\n');
+    for (Map.Entry<String, JavaCheck> entry : checksByRuleKey.entrySet()) {
+      JavaCheck check = entry.getValue();
+      sb.append(entry.getKey()).append(' ').append(check.getClass().getName());
+      if (analyzerVersion == null) {
+        sb.append(' ').append(classesStamp(check.getClass()));
+      }
+      for (Class<?> type = check.getClass(); type != null; type = type.getSuperclass()) {
+        for (Field field : type.getDeclaredFields()) {
+          if (field.isAnnotationPresent(RuleProperty.class)) {
+            sb.append(' ').append(field.getName()).append('=').append(fieldValue(check, field));
+          }
+        }
+      }
+      sb.append('\n');
+    }
+    for (File file : classpath) {
+      if (file.isFile()) {
+        sb.append(stamp(file)).append('\n');
+      }
+    }
+    return md5Hex(sb.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Stamp of the jar the class has been loaded from, or of its class file when loaded from a directory.
+   */
+  private static String classesStamp(Class<?> clazz) {
+    CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+    if (codeSource == null || codeSource.getLocation() == null) {
+      return clazz.getName();
+    }
+    File location;
+    try {
+      location = new File(codeSource.getLocation().toURI());
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      LOG.debug("Unable to locate classes of " + clazz.getName(), e);
+      return clazz.getName();
+    }
+    if (location.isDirectory()) {
+      location = new File(location, Convert.bytecodeName(clazz.getName()) + ".class");
+    }
+    return stamp(location);
+  }
+
+  private static String stamp(File file) {
+    return file.getAbsolutePath() + ' ' + file.length() + ' ' + file.lastModified();
+  }
+
+  private static Object fieldValue(JavaCheck check, Field field) {
+    try {
+      field.setAccessible(true);
+      return field.get(check);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return null when the file can not be read, in which case it should not be cached.
+   */
+  @Nullable
+  public static String contentHash(File file) {
+    try {
+      return md5Hex(Files.readAllBytes(file.toPath()));
+    } catch (IOException e) {
+      LOG.debug("Unable to read " + file.getAbsolutePath(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Reports the issues raised on the file by the previous analysis, when still valid.
+   * @return false when the issues have to be computed again by executing the checks.
+   */
+  public boolean replay(File file, String contentHash, SonarComponents sonarComponents, Map<String, JavaCheck> checksByRuleKey) {
+    String path = file.getAbsolutePath();
+    Entry entry = previousEntries.get(path);
+    if (entry == null || !entry.contentHash.equals(contentHash)) {
+      return false;
+    }
+    for (Map.Entry<String, String> dependency : entry.dependencies.entrySet()) {
+      if (!signature(dependency.getKey()).equals(dependency.getValue())) {
+        return false;
+      }
+    }
+    for (CachedIssue issue : entry.issues) {
+      if (!checksByRuleKey.containsKey(issue.ruleKey)) {
+        return false;
+      }
+    }
+    for (CachedIssue issue : entry.issues) {
+      sonarComponents.reportIssue(issue.toAnalyzerMessage(checksByRuleKey.get(issue.ruleKey), file));
+    }
+    entries.put(path, entry);
+    return true;
+  }
+
+  /**
+   * Records the issues raised on the file while its checks are executed.
+   */
+  public Recorder record(File file, String contentHash) {
+    return new Recorder(file, contentHash);
+  }
+
+  /**
+   * Writes the entries of the files analyzed or replayed since the cache has been loaded: entries of deleted files are dropped.
+   * The entries are written to a temporary file which then replaces the previous cache, atomically when the file system supports it.
+   */
+  public void save() {
+    File parent = cacheFile.getAbsoluteFile().getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs()) {
+      LOG.warn("Unable to create directory " + parent.getAbsolutePath() + ", analysis cache is not saved");
+      return;
+    }
+    File tmpFile = new File(parent, cacheFile.getName() + ".tmp");
+    DataOutputStream out = null;
+    try {
+      out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeUTF(fingerprint);
+      writeEntries(out);
+      out.close();
+      out = null;
+      try {
+        Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tmpFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      LOG.warn("Unable to write analysis cache " + cacheFile.getAbsolutePath(), e);
+    } finally {
+      Closeables.closeQuietly(out);
+      if (tmpFile.exists() && !tmpFile.delete()) {
+        LOG.debug("Unable to delete " + tmpFile.getAbsolutePath());
+      }
+    }
+  }
+
+  @VisibleForTesting
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Hash of the signature of a class of the project, as seen by the semantic model of the files using it, or an empty string if not found.
+   */
+  private String signature(String flatName) {
+    String signature = signatures.get(flatName);
+    if (signature == null) {
+      signature = "";
+      String classFileName = Convert.bytecodeName(flatName) + ".class";
+      for (File directory : binaryDirectories) {
+        File classFile = new File(directory, classFileName);
+        if (classFile.isFile()) {
+          try {
+            signature = md5Hex(ClassFiles.signature(Files.readAllBytes(classFile.toPath())));
+          } catch (IOException e) {
+            // the class file will be considered as modified
+            LOG.debug("Unable to read " + classFile.getAbsolutePath(), e);
+          }
+          break;
+        }
+      }
+      signatures.put(flatName, signature);
+    }
+    return signature;
+  }
+
+  private static String md5Hex(byte[] bytes) {
+    MessageDigest md5;
+    try {
+      md5 = MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    StringBuilder sb = new StringBuilder();
+    for (byte b : md5.digest(bytes)) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return sb.toString();
+  }
+
+  private static Map<String, Entry> readEntries(DataInputStream in) throws IOException {
+    Map<String, Entry> result = Maps.newHashMap();
+    int entryCount = in.readInt();
+    for (int i = 0; i < entryCount; i++) {
+      String path = in.readUTF();
+      String contentHash = in.readUTF();
+      Map<String, String> dependencies = Maps.newHashMap();
+      int dependencyCount = in.readInt();
+      for (int j = 0; j < dependencyCount; j++) {
+        dependencies.put(in.readUTF(), in.readUTF());
+      }
+      List<CachedIssue> issues = Lists.newArrayList();
+      int issueCount = in.readInt();
+      for (int j = 0; j < issueCount; j++) {
+        String ruleKey = in.readUTF();
+        CachedLocation primary = CachedLocation.read(in);
+        int cost = in.readInt();
+        List<CachedLocation> secondaryLocations = Lists.newArrayList();
+        int secondaryCount = in.readInt();
+        for (int k = 0; k < secondaryCount; k++) {
+          secondaryLocations.add(CachedLocation.read(in));
+        }
+        issues.add(new CachedIssue(ruleKey, primary, cost, secondaryLocations));
+      }
+      result.put(path, new Entry(contentHash, dependencies, issues));
+    }
+    return result;
+  }
+
+  private void writeEntries(DataOutputStream out) throws IOException {
+    out.writeInt(entries.size());
+    for (Map.Entry<String, Entry> fileEntry : entries.entrySet()) {
+      Entry entry = fileEntry.getValue();
+      out.writeUTF(fileEntry.getKey());
+      out.writeUTF(entry.contentHash);
+      out.writeInt(entry.dependencies.size());
+      for (Map.Entry<String, String> dependency : entry.dependencies.entrySet()) {
+        out.writeUTF(dependency.getKey());
+        out.writeUTF(dependency.getValue());
+      }
+      out.writeInt(entry.issues.size());
+      for (CachedIssue issue : entry.issues) {
+        out.writeUTF(issue.ruleKey);
+        issue.primary.write(out);
+        out.writeInt(issue.cost);
+        out.writeInt(issue.secondaryLocations.size());
+        for (CachedLocation location : issue.secondaryLocations) {
+          location.write(out);
+        }
+      }
+    }
+  }
+
+  /**
+   * Listens to the issues reported while the checks are executed on a file, see {@link SonarComponents#setIssueListener(SonarComponents.IssueListener)}.
+   */
+  public class Recorder implements SonarComponents.IssueListener {
+    private final File file;
+    private final String contentHash;
+    private final List<CachedIssue> issues = Lists.newArrayList();
+    private boolean cacheable = true;
+
+    private Recorder(File file, String contentHash) {
+      this.file = file;
+      this.contentHash = contentHash;
+    }
+
+    @Override
+    public void issueReported(AnalyzerMessage analyzerMessage, RuleKey ruleKey) {
+      if (!file.equals(analyzerMessage.getFile())) {
+        // issue raised on another file or on a directory: it can not be replayed when analyzing this file
+        cacheable = false;
+        return;
+      }
+      List<CachedLocation> secondaryLocations = Lists.newArrayList();
+      for (AnalyzerMessage secondaryLocation : analyzerMessage.secondaryLocations) {
+        secondaryLocations.add(CachedLocation.of(secondaryLocation));
+      }
+      Double cost = analyzerMessage.getCost();
+      issues.add(new CachedIssue(ruleKey.toString(), CachedLocation.of(analyzerMessage), cost == null ? 0 : cost.intValue(), secondaryLocations));
+    }
+
+    /**
+     * @param loadedProjectClasses flat names of the classes of the project which have been loaded to build the semantic model of the file.
+     * @param missingClasses names of the classes looked up without success to build the semantic model of the file: the entry is dropped
+     * when one of them is added to the project.
+     */
+    public void done(Collection<String> loadedProjectClasses, Collection<String> missingClasses) {
+      if (!cacheable) {
+        return;
+      }
+      Map<String, String> dependencies = Maps.newHashMap();
+      for (String flatName : loadedProjectClasses) {
+        dependencies.put(flatName, signature(flatName));
+      }
+      for (String name : missingClasses) {
+        dependencies.put(name, "");
+      }
+      entries.put(file.getAbsolutePath(), new Entry(contentHash, dependencies, issues));
+    }
+  }
+
+  private static class Entry {
+    private final String contentHash;
+    private final Map<String, String> dependencies;
+    private final List<CachedIssue> issues;
+
+    Entry(String contentHash, Map<String, String> dependencies, List<CachedIssue> issues) {
+      this.contentHash = contentHash;
+      this.dependencies = dependencies;
+      this.issues = issues;
+    }
+  }
+
+  private static class CachedIssue {
+    private final String ruleKey;
+    private final CachedLocation primary;
+    private final int cost;
+    private final List<CachedLocation> secondaryLocations;
+
+    CachedIssue(String ruleKey, CachedLocation primary, int cost, List<CachedLocation> secondaryLocations) {
+      this.ruleKey = ruleKey;
+      this.primary = primary;
+      this.cost = cost;
+      this.secondaryLocations = secondaryLocations;
+    }
+
+    AnalyzerMessage toAnalyzerMessage(JavaCheck check, File file) {
+      AnalyzerMessage analyzerMessage = new AnalyzerMessage(check, file, primary.textSpan, primary.message, cost);
+      for (CachedLocation location : secondaryLocations) {
+        analyzerMessage.secondaryLocations.add(new AnalyzerMessage(check, new File(location.path), location.textSpan, location.message, 0));
+      }
+      return analyzerMessage;
+    }
+  }
+
+  private static class CachedLocation {
+    private final String path;
+    @Nullable
+    private final String message;
+    @Nullable
+    private final AnalyzerMessage.TextSpan textSpan;
+
+    CachedLocation(String path, @Nullable String message, @Nullable AnalyzerMessage.TextSpan textSpan) {
+      this.path = path;
+      this.message = message;
+      this.textSpan = textSpan;
+    }
+
+    static CachedLocation of(AnalyzerMessage analyzerMessage) {
+      return new CachedLocation(analyzerMessage.getFile().getPath(), analyzerMessage.getMessage(), analyzerMessage.primaryLocation());
+    }
+
+    static CachedLocation read(DataInputStream in) throws IOException {
+      String path = in.readUTF();
+      String message = in.readBoolean() ? in.readUTF() : null;
+      AnalyzerMessage.TextSpan textSpan = null;
+      if (in.readBoolean()) {
+        textSpan = new AnalyzerMessage.TextSpan(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+      }
+      return new CachedLocation(path, message, textSpan);
+    }
+
+    void write(DataOutputStream out) throws IOException {
+      out.writeUTF(path);
+      out.writeBoolean(message != null);
+      if (message != null) {
+        out.writeUTF(message);
+      }
+      out.writeBoolean(textSpan != null);
+      if (textSpan != null) {
+        out.writeInt(textSpan.startLine);
+        out.writeInt(textSpan.startCharacter);
+        out.writeInt(textSpan.endLine);
+        out.writeInt(textSpan.endCharacter);
+      }
+    }
+  }
+
+}
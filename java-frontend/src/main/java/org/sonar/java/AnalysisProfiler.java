@@ -0,0 +1,375 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.io.Closeables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cumulative wall time, CPU time, allocated bytes and number of invocations of each phase of the analysis and of each check,
+ * as well as the total of each file. Measures are taken on the current thread, so that phases executed concurrently can be recorded.
+ * CPU time and allocated bytes are not available on every JVM: they are then reported as -1.
+ */
+public class AnalysisProfiler {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AnalysisProfiler.class);
+
+  public static final String READ = "read";
+  public static final String PARSE = "parse";
+  public static final String PARENT_LINKING = "parent linking";
+  public static final String SEMANTIC = "semantic";
+  public static final String SYMBOL_TABLE = "symbol table";
+  public static final String SYMBOLIC_EXECUTION = "symbolic execution";
+  /**
+   * Walk of the syntax tree dispatching nodes to the subscription visitors, whose own time is recorded as {@link Kind#CHECK}.
+   */
+  public static final String DISPATCHED_CHECKS = "dispatched checks";
+
+  private static final AnalysisProfiler DISABLED = new AnalysisProfiler(false);
+  private static final Sample NO_SAMPLE = new Sample(0, -1, -1);
+
+  public enum Kind {
+    PHASE, CHECK, SE_CHECK, FILE
+  }
+
+  private final boolean enabled;
+  private final ThreadMXBean threadMXBean;
+  private final boolean cpuTimeSupported;
+  @Nullable
+  private final Method allocatedBytesMethod;
+  private final Map<Kind, Map<String, Stats>> stats = Maps.newEnumMap(Kind.class);
+  private final Map<String, String> filesOverBudget = Maps.newTreeMap();
+  private final Map<String, String> lightweightFiles = Maps.newTreeMap();
+
+  public AnalysisProfiler() {
+    this(true);
+  }
+
+  private AnalysisProfiler(boolean enabled) {
+    this.enabled = enabled;
+    this.threadMXBean = ManagementFactory.getThreadMXBean();
+    this.cpuTimeSupported = enabled && threadMXBean.isCurrentThreadCpuTimeSupported();
+    this.allocatedBytesMethod = enabled ? allocatedBytesMethod(threadMXBean) : null;
+    for (Kind kind : Kind.values()) {
+      stats.put(kind, Maps.<String, Stats>newHashMap());
+    }
+  }
+
+  /**
+   * Allocated bytes are only provided by the HotSpot extension of {@link ThreadMXBean}, which is not part of the Java API.
+   */
+  @Nullable
+  private static Method allocatedBytesMethod(ThreadMXBean threadMXBean) {
+    try {
+      Class<?> hotSpotThreadMXBean = Class.forName("com.sun.management.ThreadMXBean");
+      if (hotSpotThreadMXBean.isInstance(threadMXBean) && (Boolean) hotSpotThreadMXBean.getMethod("isThreadAllocatedMemorySupported").invoke(threadMXBean)) {
+        return hotSpotThreadMXBean.getMethod("getThreadAllocatedBytes", long.class);
+      }
+    } catch (ReflectiveOperationException e) {
+      LOG.debug("Allocated bytes can not be measured", e);
+    }
+    return null;
+  }
+
+  /**
+   * Profiler recording nothing, used when the analysis is not profiled.
+   */
+  public static AnalysisProfiler disabled() {
+    return DISABLED;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Starts measuring wall time, CPU time and allocated bytes of the current thread.
+   */
+  public Sample start() {
+    if (!enabled) {
+      return NO_SAMPLE;
+    }
+    return new Sample(System.nanoTime(), cpuTime(), allocatedBytes());
+  }
+
+  /**
+   * Starts measuring wall time only, for code which is executed too often to afford other measures.
+   */
+  public Sample startWallClock() {
+    if (!enabled) {
+      return NO_SAMPLE;
+    }
+    return new Sample(System.nanoTime(), -1, -1);
+  }
+
+  /**
+   * Records what has been measured since the sample has been started.
+   * @param file the analyzed file, whose total is increased by the measures, if any.
+   */
+  public void record(Kind kind, String name, @Nullable File file, Sample sample) {
+    if (!enabled) {
+      return;
+    }
+    long wallTime = System.nanoTime() - sample.wallTime;
+    long cpuTime = sample.cpuTime < 0 ? -1 : (cpuTime() - sample.cpuTime);
+    long allocatedBytes = sample.allocatedBytes < 0 ? -1 : (allocatedBytes() - sample.allocatedBytes);
+    synchronized (stats) {
+      add(kind, name, wallTime, cpuTime, allocatedBytes, 1);
+      if (file != null) {
+        add(Kind.FILE, file.getAbsolutePath(), wallTime, cpuTime, allocatedBytes, 0);
+      }
+    }
+  }
+
+  /**
+   * Records a wall time cumulated by the caller over several invocations, which is not added to the total of any file.
+   */
+  public void recordWallTime(Kind kind, String name, long wallTime, int invocations) {
+    if (!enabled) {
+      return;
+    }
+    synchronized (stats) {
+      add(kind, name, wallTime, -1, -1, invocations);
+    }
+  }
+
+  /**
+   * Records that the analysis of the file has been degraded, see {@link TimeBudget}.
+   */
+  public void recordFileOverBudget(File file, String reason) {
+    if (!enabled) {
+      return;
+    }
+    synchronized (stats) {
+      filesOverBudget.put(file.getAbsolutePath(), reason);
+    }
+  }
+
+  public Map<String, String> filesOverBudget() {
+    synchronized (stats) {
+      return ImmutableMap.copyOf(filesOverBudget);
+    }
+  }
+
+  /**
+   * Records that the file has been analyzed lightly, see {@link LightweightAnalysis}.
+   */
+  public void recordLightweightFile(File file, String reason) {
+    if (!enabled) {
+      return;
+    }
+    synchronized (stats) {
+      lightweightFiles.put(file.getAbsolutePath(), reason);
+    }
+  }
+
+  public Map<String, String> lightweightFiles() {
+    synchronized (stats) {
+      return ImmutableMap.copyOf(lightweightFiles);
+    }
+  }
+
+  private void add(Kind kind, String name, long wallTime, long cpuTime, long allocatedBytes, int invocations) {
+    Map<String, Stats> statsOfKind = stats.get(kind);
+    Stats stat = statsOfKind.get(name);
+    if (stat == null) {
+      stat = new Stats(name);
+      statsOfKind.put(name, stat);
+    }
+    stat.add(wallTime, cpuTime, allocatedBytes, invocations);
+  }
+
+  private long cpuTime() {
+    return cpuTimeSupported ? threadMXBean.getCurrentThreadCpuTime() : -1;
+  }
+
+  private long allocatedBytes() {
+    if (allocatedBytesMethod == null) {
+      return -1;
+    }
+    try {
+      return (Long) allocatedBytesMethod.invoke(threadMXBean, Thread.currentThread().getId());
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Measures sorted by decreasing wall time.
+   */
+  public List<Stats> stats(Kind kind) {
+    List<Stats> result;
+    synchronized (stats) {
+      result = Lists.newArrayList(stats.get(kind).values());
+    }
+    Collections.sort(result, new Comparator<Stats>() {
+      @Override
+      public int compare(Stats s1, Stats s2) {
+        return Long.compare(s2.wallTime, s1.wallTime);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Writes all the measures as tab separated values, one line per phase, check and file, followed by one line per file over budget
+   * and per file analyzed lightly.
+   */
+  public void writeReport(File reportFile) throws IOException {
+    File parent = reportFile.getAbsoluteFile().getParentFile();
+    if (!parent.isDirectory() && !parent.mkdirs()) {
+      throw new IOException("Unable to create directory " + parent.getAbsolutePath());
+    }
+    Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(reportFile), StandardCharsets.UTF_8));
+    try {
+      writer.write("kind\tname\tinvocations\twallTimeMs\tcpuTimeMs\tallocatedBytes\tdetail\n");
+      for (Kind kind : Kind.values()) {
+        for (Stats stat : stats(kind)) {
+          writer.write(kind.name().toLowerCase() + "\t" + stat.name + "\t" + stat.invocations + "\t" + millis(stat.wallTime) + "\t" + millis(stat.cpuTime)
+            + "\t" + stat.allocatedBytes + "\t\n");
+        }
+      }
+      for (Map.Entry<String, String> fileOverBudget : filesOverBudget().entrySet()) {
+        writer.write("over_budget\t" + fileOverBudget.getKey() + "\t\t\t\t\t" + fileOverBudget.getValue() + "\n");
+      }
+      for (Map.Entry<String, String> lightweightFile : lightweightFiles().entrySet()) {
+        writer.write("lightweight\t" + lightweightFile.getKey() + "\t\t\t\t\t" + lightweightFile.getValue() + "\n");
+      }
+    } finally {
+      Closeables.closeQuietly(writer);
+    }
+  }
+
+  public void logSummary(int top) {
+    StringBuilder sb = new StringBuilder("Java analysis profile");
+    appendSummary(sb, "Phases", stats(Kind.PHASE), Integer.MAX_VALUE);
+    appendSummary(sb, "Slowest checks", stats(Kind.CHECK), top);
+    appendSummary(sb, "Slowest symbolic execution checks", stats(Kind.SE_CHECK), top);
+    appendSummary(sb, "Slowest files", stats(Kind.FILE), top);
+    Map<String, String> overBudget = filesOverBudget();
+    if (!overBudget.isEmpty()) {
+      sb.append("\n  Files over time budget: ").append(overBudget.size());
+    }
+    Map<String, String> lightweight = lightweightFiles();
+    if (!lightweight.isEmpty()) {
+      sb.append("\n  Files analyzed lightly: ").append(lightweight.size());
+    }
+    LOG.info(sb.toString());
+  }
+
+  private static void appendSummary(StringBuilder sb, String title, List<Stats> stats, int top) {
+    if (stats.isEmpty()) {
+      return;
+    }
+    sb.append("\n  ").append(title).append(':');
+    for (Stats stat : stats.subList(0, Math.min(top, stats.size()))) {
+      sb.append("\n    ").append(millis(stat.wallTime)).append(" ms ").append(stat.name);
+      if (stat.invocations > 0) {
+        sb.append(" (").append(stat.invocations).append(" invocations)");
+      }
+    }
+  }
+
+  private static long millis(long nanos) {
+    return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  public static final class Sample {
+    private final long wallTime;
+    private final long cpuTime;
+    private final long allocatedBytes;
+
+    private Sample(long wallTime, long cpuTime, long allocatedBytes) {
+      this.wallTime = wallTime;
+      this.cpuTime = cpuTime;
+      this.allocatedBytes = allocatedBytes;
+    }
+  }
+
+  public static final class Stats {
+    private final String name;
+    private long invocations;
+    private long wallTime;
+    private long cpuTime;
+    private long allocatedBytes;
+
+    private Stats(String name) {
+      this.name = name;
+    }
+
+    private void add(long wallTime, long cpuTime, long allocatedBytes, int invocations) {
+      this.invocations += invocations;
+      this.wallTime += wallTime;
+      this.cpuTime = this.cpuTime < 0 || cpuTime < 0 ? -1 : (this.cpuTime + cpuTime);
+      this.allocatedBytes = this.allocatedBytes < 0 || allocatedBytes < 0 ? -1 : (this.allocatedBytes + allocatedBytes);
+    }
+
+    public String name() {
+      return name;
+    }
+
+    public long invocations() {
+      return invocations;
+    }
+
+    /**
+     * In nanoseconds.
+     */
+    public long wallTime() {
+      return wallTime;
+    }
+
+    /**
+     * In nanoseconds, -1 when not measured.
+     */
+    public long cpuTime() {
+      return cpuTime;
+    }
+
+    /**
+     * -1 when not measured.
+     */
+    public long allocatedBytes() {
+      return allocatedBytes;
+    }
+  }
+
+}
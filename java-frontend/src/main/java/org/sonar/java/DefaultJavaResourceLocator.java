@@ -39,7 +39,7 @@ import java.io.File;
 import java.util.Collection;
 import java.util.Map;
 
-public class DefaultJavaResourceLocator implements JavaResourceLocator {
+public class DefaultJavaResourceLocator implements JavaResourceLocator, SyntacticVisitor {
 
   private static final Logger LOG = LoggerFactory.getLogger(JavaResourceLocator.class);
 
@@ -0,0 +1,32 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+/**
+ * Implementing this interface tells that a scanner is notified once it has been executed on a file and all the issues of the file have been reported.
+ * Scanners are expected to drop their references to the tree, the context and the semantic model of the file, so that the memory they use can
+ * be reclaimed before the next file is analyzed. Scanners not implementing this interface only have their non final fields referencing the
+ * scanner context or the semantic model of the file released, other references to its trees are kept.
+ */
+public interface EndOfFileAwareVisitor {
+
+  void endOfFile();
+
+}
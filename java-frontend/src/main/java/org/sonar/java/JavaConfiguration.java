@@ -22,6 +22,10 @@ package org.sonar.java;
 import org.sonar.java.model.JavaVersionImpl;
 import org.sonar.plugins.java.api.JavaVersion;
 
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.io.File;
 import java.nio.charset.Charset;
 
 public class JavaConfiguration {
@@ -29,6 +33,15 @@ public class JavaConfiguration {
   private final Charset charset;
   private boolean separateAccessorsFromMethods = true;
   private JavaVersion javaVersion = new JavaVersionImpl();
+  private int parallelism = 1;
+  private int prefetchedFiles = 0;
+  private boolean memoryBounded = false;
+  private boolean symbolTableEnabled = true;
+  private File bytecodeIndexDirectory;
+  private File analysisCacheDirectory;
+  private AnalysisProfiler profiler = AnalysisProfiler.disabled();
+  private TimeBudget timeBudget = TimeBudget.unlimited();
+  private LightweightAnalysis lightweightAnalysis = LightweightAnalysis.disabled();
 
   public JavaConfiguration(Charset charset) {
     this.charset = charset;
@@ -54,4 +67,97 @@ public class JavaConfiguration {
     this.javaVersion = javaVersion;
   }
 
+  /**
+   * Number of threads used to parse and compute the semantic of source files. Checks are executed by a single thread whatever this number.
+   */
+  public int parallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Number of source files read and parsed ahead of the one being analyzed, when files are not analyzed in parallel. 0 disables prefetching.
+   */
+  public int prefetchedFiles() {
+    return prefetchedFiles;
+  }
+
+  public void setPrefetchedFiles(int prefetchedFiles) {
+    this.prefetchedFiles = prefetchedFiles;
+  }
+
+  /**
+   * When memory is bounded, files are neither analyzed in parallel nor prefetched, and the checks keeping the tree of a file once it has been analyzed are reported.
+   */
+  public boolean memoryBounded() {
+    return memoryBounded;
+  }
+
+  public void setMemoryBounded(boolean memoryBounded) {
+    this.memoryBounded = memoryBounded;
+  }
+
+  /**
+   * When the symbol table is disabled, the semantic model of the files is only computed when the scanners executed on them require it.
+   */
+  public boolean symbolTableEnabled() {
+    return symbolTableEnabled;
+  }
+
+  public void setSymbolTableEnabled(boolean symbolTableEnabled) {
+    this.symbolTableEnabled = symbolTableEnabled;
+  }
+
+  /**
+   * Directory where indexes of the classes of the libraries are persisted between analyses, if any.
+   */
+  @CheckForNull
+  public File bytecodeIndexDirectory() {
+    return bytecodeIndexDirectory;
+  }
+
+  public void setBytecodeIndexDirectory(@Nullable File bytecodeIndexDirectory) {
+    this.bytecodeIndexDirectory = bytecodeIndexDirectory;
+  }
+
+  /**
+   * Directory where the issues of each file are cached, so that files which have not changed since the previous analysis are not checked again.
+   * These files are still parsed and their semantic computed.
+   */
+  @CheckForNull
+  public File analysisCacheDirectory() {
+    return analysisCacheDirectory;
+  }
+
+  public void setAnalysisCacheDirectory(@Nullable File analysisCacheDirectory) {
+    this.analysisCacheDirectory = analysisCacheDirectory;
+  }
+
+  public AnalysisProfiler profiler() {
+    return profiler;
+  }
+
+  public void setProfiler(AnalysisProfiler profiler) {
+    this.profiler = profiler;
+  }
+
+  public TimeBudget timeBudget() {
+    return timeBudget;
+  }
+
+  public void setTimeBudget(TimeBudget timeBudget) {
+    this.timeBudget = timeBudget;
+  }
+
+  public LightweightAnalysis lightweightAnalysis() {
+    return lightweightAnalysis;
+  }
+
+  public void setLightweightAnalysis(LightweightAnalysis lightweightAnalysis) {
+    this.lightweightAnalysis = lightweightAnalysis;
+  }
+
 }
@@ -39,9 +39,11 @@ import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
 import org.sonar.plugins.java.api.tree.LiteralTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.NewArrayTree;
 import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.TypeTree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
 import java.io.File;
@@ -66,6 +68,7 @@ public class JavaFilesCache extends BaseTreeVisitor implements JavaFileScanner {
   private Deque<Tree> parent = new LinkedList<>();
   private Deque<Integer> anonymousInnerClassCounter = new LinkedList<>();
   private String currentPackage;
+  private boolean semanticAvailable;
 
   public Map<String, File> getResourcesCache() {
     return resourcesCache;
@@ -88,6 +91,7 @@ public class JavaFilesCache extends BaseTreeVisitor implements JavaFileScanner {
     JavaTree.CompilationUnitTreeImpl tree = (JavaTree.CompilationUnitTreeImpl) context.getTree();
     currentPackage = PackageDeclarationTreeImpl.packageNameAsString(tree.packageDeclaration()).replace('.', '/');
     currentFile = context.getFile();
+    semanticAvailable = context.getSemanticModel() != null;
     currentClassKey.clear();
     parent.clear();
     anonymousInnerClassCounter.clear();
@@ -183,8 +187,26 @@ public class JavaFilesCache extends BaseTreeVisitor implements JavaFileScanner {
     }
   }
 
-  private static boolean isSuppressWarningsAnnotation(AnnotationTree annotationTree) {
-    return annotationTree.annotationType().symbolType().is("java.lang.SuppressWarnings") && !annotationTree.arguments().isEmpty();
+  private boolean isSuppressWarningsAnnotation(AnnotationTree annotationTree) {
+    return isSuppressWarningsType(annotationTree.annotationType()) && !annotationTree.arguments().isEmpty();
+  }
+
+  /**
+   * Without semantic model, types are unknown: the annotation is then recognized by its name.
+   */
+  private boolean isSuppressWarningsType(TypeTree annotationType) {
+    if (semanticAvailable) {
+      return annotationType.symbolType().is("java.lang.SuppressWarnings");
+    }
+    IdentifierTree name;
+    if (annotationType.is(Tree.Kind.MEMBER_SELECT)) {
+      name = ((MemberSelectExpressionTree) annotationType).identifier();
+    } else if (annotationType.is(Tree.Kind.IDENTIFIER)) {
+      name = (IdentifierTree) annotationType;
+    } else {
+      return false;
+    }
+    return "SuppressWarnings".equals(name.name());
   }
 
   private static List<String> getSuppressWarningArgs(AnnotationTree annotationTree) {
@@ -20,8 +20,10 @@
 package org.sonar.java;
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Supplier;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.sonar.sslr.api.typed.ActionParser;
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,10 +42,12 @@ import org.sonar.java.bytecode.visitor.DependenciesVisitor;
 import org.sonar.java.model.VisitorsBridge;
 import org.sonar.java.se.checks.SECheck;
 import org.sonar.plugins.java.api.JavaResourceLocator;
+import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.squidbridge.api.CodeVisitor;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -88,12 +92,16 @@ public class JavaSquid {
 
     //AstScanner for main files
     astScanner = new JavaAstScanner(JavaParser.createParser(conf.getCharset()));
+    if (conf.parallelism() > 1 && !conf.memoryBounded()) {
+      astScanner.setParallelism(conf.parallelism(), parserSupplier(conf.getCharset()));
+    }
+    astScanner.setPrefetchedFiles(conf.memoryBounded() ? 0 : conf.prefetchedFiles(), conf.getCharset());
     boolean enableSymbolicExecution = hasASymbolicExecutionCheck(visitors);
-    astScanner.setVisitorBridge(createVisitorBridge(codeVisitors, classpath, conf, sonarComponents, enableSymbolicExecution));
+    astScanner.setVisitorBridge(createVisitorBridge(codeVisitors, classpath, conf, sonarComponents, enableSymbolicExecution, "main.cache"));
 
     //AstScanner for test files
     astScannerForTests = new JavaAstScanner(astScanner);
-    astScannerForTests.setVisitorBridge(createVisitorBridge(testCodeVisitors, testClasspath, conf, sonarComponents, false));
+    astScannerForTests.setVisitorBridge(createVisitorBridge(testCodeVisitors, testClasspath, conf, sonarComponents, false, "test.cache"));
 
     //Bytecode scanner
     BytecodeContext bytecodeContext = new DefaultBytecodeContext(sonarComponents, javaResourceLocator);
@@ -115,12 +123,31 @@ public class JavaSquid {
     return false;
   }
 
+  private static Supplier<ActionParser<Tree>> parserSupplier(final Charset charset) {
+    return new Supplier<ActionParser<Tree>>() {
+      @Override
+      public ActionParser<Tree> get() {
+        return JavaParser.createParser(charset);
+      }
+    };
+  }
+
   private static VisitorsBridge createVisitorBridge(
-      Iterable<CodeVisitor> codeVisitors, List<File> classpath, JavaConfiguration conf, @Nullable SonarComponents sonarComponents, boolean enableSymbolicExecution) {
+      Iterable<CodeVisitor> codeVisitors, List<File> classpath, JavaConfiguration conf, @Nullable SonarComponents sonarComponents, boolean enableSymbolicExecution,
+      String analysisCacheFileName) {
     VisitorsBridge visitorsBridge = new VisitorsBridge(codeVisitors, classpath, sonarComponents, enableSymbolicExecution);
     visitorsBridge.setCharset(conf.getCharset());
     visitorsBridge.setAnalyseAccessors(conf.separatesAccessorsFromMethods());
     visitorsBridge.setJavaVersion(conf.javaVersion());
+    visitorsBridge.setProfiler(conf.profiler());
+    visitorsBridge.setTimeBudget(conf.timeBudget());
+    visitorsBridge.setLightweightAnalysis(conf.lightweightAnalysis());
+    visitorsBridge.setMemoryBounded(conf.memoryBounded());
+    visitorsBridge.setSymbolTableEnabled(conf.symbolTableEnabled());
+    visitorsBridge.setBytecodeIndexDirectory(conf.bytecodeIndexDirectory());
+    if (conf.analysisCacheDirectory() != null) {
+      visitorsBridge.setAnalysisCacheFile(new File(conf.analysisCacheDirectory(), analysisCacheFileName));
+    }
     return visitorsBridge;
   }
 
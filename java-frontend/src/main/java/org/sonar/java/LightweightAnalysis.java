@@ -0,0 +1,170 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.java.syntaxtoken.FirstSyntaxTokenFinder;
+import org.sonar.plugins.java.api.tree.AnnotationTree;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.SyntaxTrivia;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tells which files are analyzed lightly: very large files and generated ones (parser tables, JAXB or protobuf output...) are parsed,
+ * measured and highlighted, but neither their semantic model nor their symbolic execution are computed, and only the configured rules are executed on them.
+ */
+public class LightweightAnalysis {
+
+  private static final LightweightAnalysis DISABLED = new LightweightAnalysis(0, 0, Collections.<String>emptyList(), Collections.<String>emptyList());
+
+  private final long maxFileSize;
+  private final int maxLines;
+  private final List<String> headerMarkers;
+  private final Set<String> generatedAnnotations;
+  private final Set<String> rules;
+
+  /**
+   * @param maxFileSize size in bytes above which files are analyzed lightly, unlimited when not strictly positive.
+   * @param maxLines number of lines above which files are analyzed lightly, unlimited when not strictly positive.
+   * @param generatedMarkers markers of generated files: names of annotations starting with '@' (e.g. "@Generated"), looked for on the types
+   * declared by the file, or text looked for in the comments preceding the first token of the file (e.g. "DO NOT EDIT").
+   * @param rules keys of the rules executed on files analyzed lightly, with or without their repository.
+   */
+  public LightweightAnalysis(long maxFileSize, int maxLines, Collection<String> generatedMarkers, Collection<String> rules) {
+    this.maxFileSize = Math.max(0, maxFileSize);
+    this.maxLines = Math.max(0, maxLines);
+    ImmutableList.Builder<String> headerMarkersBuilder = ImmutableList.builder();
+    ImmutableSet.Builder<String> annotationsBuilder = ImmutableSet.builder();
+    for (String marker : generatedMarkers) {
+      if (marker.startsWith("@")) {
+        annotationsBuilder.add(marker.substring(1));
+      } else if (!marker.isEmpty()) {
+        headerMarkersBuilder.add(marker);
+      }
+    }
+    this.headerMarkers = headerMarkersBuilder.build();
+    this.generatedAnnotations = annotationsBuilder.build();
+    this.rules = ImmutableSet.copyOf(rules);
+  }
+
+  public static LightweightAnalysis disabled() {
+    return DISABLED;
+  }
+
+  public boolean isDisabled() {
+    return maxFileSize == 0 && maxLines == 0 && headerMarkers.isEmpty() && generatedAnnotations.isEmpty();
+  }
+
+  /**
+   * @return why the file has to be analyzed lightly, null when it is fully analyzed.
+   */
+  @CheckForNull
+  public String reason(File file, CompilationUnitTree tree) {
+    if (isDisabled()) {
+      return null;
+    }
+    long fileSize = file.length();
+    if (maxFileSize > 0 && fileSize > maxFileSize) {
+      return "file size is " + fileSize + " bytes, more than " + maxFileSize;
+    }
+    int lines = tree.eofToken().line();
+    if (maxLines > 0 && lines > maxLines) {
+      return "file has " + lines + " lines, more than " + maxLines;
+    }
+    String annotation = generatedAnnotation(tree);
+    if (annotation != null) {
+      return "file is annotated with @" + annotation;
+    }
+    String headerMarker = headerMarker(tree);
+    if (headerMarker != null) {
+      return "file header contains \"" + headerMarker + "\"";
+    }
+    return null;
+  }
+
+  /**
+   * Rules without key (metrics, highlighting...) are always executed.
+   */
+  public boolean isExecuted(@Nullable RuleKey ruleKey) {
+    return ruleKey == null || rules.contains(ruleKey.rule()) || rules.contains(ruleKey.toString());
+  }
+
+  @CheckForNull
+  private String generatedAnnotation(CompilationUnitTree tree) {
+    if (generatedAnnotations.isEmpty()) {
+      return null;
+    }
+    for (Tree type : tree.types()) {
+      if (type instanceof ClassTree) {
+        for (AnnotationTree annotation : ((ClassTree) type).modifiers().annotations()) {
+          String name = simpleName(annotation.annotationType());
+          if (generatedAnnotations.contains(name)) {
+            return name;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
+  @Nullable
+  private static String simpleName(Tree annotationType) {
+    if (annotationType.is(Tree.Kind.IDENTIFIER)) {
+      return ((IdentifierTree) annotationType).name();
+    } else if (annotationType.is(Tree.Kind.MEMBER_SELECT)) {
+      return ((MemberSelectExpressionTree) annotationType).identifier().name();
+    }
+    return null;
+  }
+
+  @CheckForNull
+  private String headerMarker(CompilationUnitTree tree) {
+    if (headerMarkers.isEmpty()) {
+      return null;
+    }
+    SyntaxToken firstToken = FirstSyntaxTokenFinder.firstSyntaxToken(tree);
+    if (firstToken == null) {
+      return null;
+    }
+    for (SyntaxTrivia trivia : firstToken.trivias()) {
+      for (String headerMarker : headerMarkers) {
+        if (trivia.comment().contains(headerMarker)) {
+          return headerMarker;
+        }
+      }
+    }
+    return null;
+  }
+
+}
@@ -50,7 +50,7 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 
-public class Measurer extends SubscriptionVisitor implements CharsetAwareVisitor {
+public class Measurer extends SubscriptionVisitor implements CharsetAwareVisitor, SyntacticVisitor {
 
   private static final Number[] LIMITS_COMPLEXITY_METHODS = {1, 2, 4, 6, 8, 10, 12};
   private static final Number[] LIMITS_COMPLEXITY_FILES = {0, 5, 10, 20, 30, 60, 90};
@@ -76,7 +76,7 @@ public class Measurer extends SubscriptionVisitor implements CharsetAwareVisitor
     this.noSonarFilter = noSonarFilter;
   }
 
-  public class TestFileMeasurer implements JavaFileScanner {
+  public class TestFileMeasurer implements JavaFileScanner, SyntacticVisitor {
     @Override
     public void scanFile(JavaFileScannerContext context) {
       sonarFile = fs.inputFile(fs.predicates().is(context.getFile()));
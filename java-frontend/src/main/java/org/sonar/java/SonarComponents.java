@@ -64,6 +64,8 @@ public class SonarComponents implements BatchExtension {
   private final JavaClasspath javaClasspath;
   private final List<Checks<JavaCheck>> checks;
   private final List<Checks<JavaCheck>> testChecks;
+  @Nullable
+  private IssueListener issueListener;
 
   public SonarComponents(FileLinesContextFactory fileLinesContextFactory, ResourcePerspectives resourcePerspectives, FileSystem fs,
     JavaClasspath javaClasspath, JavaTestClasspath javaTestClasspath, SensorContext context,
@@ -187,6 +189,10 @@ public class SonarComponents implements BatchExtension {
     return null;
   }
 
+  public void setIssueListener(@Nullable IssueListener issueListener) {
+    this.issueListener = issueListener;
+  }
+
   public void addIssue(File file, JavaCheck check, int line, String message, @Nullable Double cost) {
     reportIssue(new AnalyzerMessage(check, file, line, message, cost != null ? cost.intValue() : 0));
   }
@@ -211,6 +217,9 @@ public class SonarComponents implements BatchExtension {
     } else {
       reportIssueBeforeSQ52(inputPath, key, cost, analyzerMessage.getMessage(), analyzerMessage.getLine());
     }
+    if (issueListener != null) {
+      issueListener.issueReported(analyzerMessage, key);
+    }
   }
 
   @VisibleForTesting
@@ -261,4 +270,12 @@ public class SonarComponents implements BatchExtension {
       return false;
     }
   }
+
+  /**
+   * Notified of each issue reported to SonarQube.
+   */
+  public interface IssueListener {
+    void issueReported(AnalyzerMessage analyzerMessage, RuleKey ruleKey);
+  }
+
 }
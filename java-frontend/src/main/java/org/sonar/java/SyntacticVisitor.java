@@ -0,0 +1,32 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Implementing this interface tells the analysis that the scanner only relies on the syntax tree of the files.
+ * <br />
+ * The semantic model of a file is not computed when none of the scanners executed on it require it, nor the symbol table or symbolic execution.
+ * {@link org.sonar.plugins.java.api.JavaFileScannerContext#getSemanticModel()} is then <code>null</code> and the types of the trees are unknown.
+ */
+@Beta
+public interface SyntacticVisitor {
+}
@@ -0,0 +1,126 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import javax.annotation.CheckForNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maximum time the analysis of a file, and each of its phases, should take. Once exceeded, the expensive parts of the analysis
+ * of the file are skipped. Only the time spent in the phases is accounted for, not the time a file waits for its turn to be visited.
+ */
+public class TimeBudget {
+
+  private static final TimeBudget UNLIMITED = new TimeBudget(0, 0);
+
+  private final long fileBudgetNanos;
+  private final long phaseBudgetNanos;
+
+  /**
+   * @param fileBudgetMillis budget of each file, unlimited when not strictly positive.
+   * @param phaseBudgetMillis budget of each phase of the analysis of a file, unlimited when not strictly positive.
+   */
+  public TimeBudget(long fileBudgetMillis, long phaseBudgetMillis) {
+    this.fileBudgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, fileBudgetMillis));
+    this.phaseBudgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, phaseBudgetMillis));
+  }
+
+  public static TimeBudget unlimited() {
+    return UNLIMITED;
+  }
+
+  public boolean isUnlimited() {
+    return fileBudgetNanos == 0 && phaseBudgetNanos == 0;
+  }
+
+  /**
+   * Timer of a new file.
+   */
+  public Timer start() {
+    return new Timer();
+  }
+
+  /**
+   * Measures the phases of the analysis of a file. A timer is used by one thread at a time.
+   */
+  public class Timer {
+    private long spentNanos;
+    private long phaseStartNanos;
+    private String exceededReason;
+
+    private Timer() {
+    }
+
+    public void startPhase() {
+      phaseStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Adds the time spent since {@link #startPhase()} to the time spent on the file, and checks the budgets.
+     */
+    public void endPhase(String phase) {
+      recordPhase(phase, System.nanoTime() - phaseStartNanos);
+    }
+
+    /**
+     * Adds a phase measured by another thread, before the timer was started, to the time spent on the file, and checks the budgets.
+     */
+    public void recordPhase(String phase, long phaseNanos) {
+      spentNanos += phaseNanos;
+      if (exceededReason != null) {
+        return;
+      }
+      if (phaseBudgetNanos > 0 && phaseNanos > phaseBudgetNanos) {
+        exceededReason = phase + " took " + millis(phaseNanos) + " ms, more than the phase budget of " + millis(phaseBudgetNanos) + " ms";
+      } else if (fileBudgetNanos > 0 && spentNanos > fileBudgetNanos) {
+        exceededReason = "analysis took " + millis(spentNanos) + " ms up to " + phase + ", more than the file budget of " + millis(fileBudgetNanos) + " ms";
+      }
+    }
+
+    /**
+     * Whether the current phase should be interrupted, as it will exceed one of the budgets.
+     */
+    public boolean isPhaseOverBudget() {
+      if (isUnlimited()) {
+        return false;
+      }
+      long phaseNanos = System.nanoTime() - phaseStartNanos;
+      return (phaseBudgetNanos > 0 && phaseNanos > phaseBudgetNanos) || (fileBudgetNanos > 0 && spentNanos + phaseNanos > fileBudgetNanos);
+    }
+
+    public boolean isExceeded() {
+      return exceededReason != null;
+    }
+
+    @CheckForNull
+    public String exceededReason() {
+      return exceededReason;
+    }
+
+    public long spentMillis() {
+      return millis(spentNanos);
+    }
+  }
+
+  private static long millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+}
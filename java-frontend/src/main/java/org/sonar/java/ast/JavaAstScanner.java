@@ -20,13 +20,19 @@
 package org.sonar.java.ast;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.sonar.sslr.api.RecognitionException;
 import com.sonar.sslr.api.typed.ActionParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sonar.java.AnalysisProfiler;
 import org.sonar.java.JavaConfiguration;
+import org.sonar.java.TimeBudget;
 import org.sonar.java.ast.parser.JavaParser;
 import org.sonar.java.model.VisitorsBridge;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -35,16 +41,35 @@ import org.sonar.squidbridge.api.AnalysisException;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 public class JavaAstScanner {
   private static final Logger LOG = LoggerFactory.getLogger(JavaAstScanner.class);
 
+  /**
+   * Number of files handed to the workers ahead of the one being visited, per worker.
+   */
+  private static final int FILES_AHEAD_PER_THREAD = 2;
+
   private final ActionParser<Tree> parser;
   private VisitorsBridge visitor;
+  private int parallelism = 1;
+  private Supplier<ActionParser<Tree>> parserSupplier;
+  private int prefetchedFiles = 0;
+  private Charset charset;
 
   public JavaAstScanner(ActionParser<Tree> parser) {
     this.parser = parser;
@@ -55,20 +80,55 @@ public class JavaAstScanner {
    */
   public JavaAstScanner(JavaAstScanner astScanner) {
     this.parser = astScanner.parser;
+    this.parallelism = astScanner.parallelism;
+    this.parserSupplier = astScanner.parserSupplier;
+    this.prefetchedFiles = astScanner.prefetchedFiles;
+    this.charset = astScanner.charset;
+  }
+
+  /**
+   * Parsing and semantic analysis of files are distributed over <code>parallelism</code> workers, each one owning a parser created by
+   * <code>parserSupplier</code>. Files are still visited by the scanners one at a time, in the order they were provided, so that scanners
+   * do not need to be thread safe and report their issues in the same order as a sequential analysis: only the time spent parsing and computing
+   * the semantic is divided among workers.
+   */
+  public void setParallelism(int parallelism, Supplier<ActionParser<Tree>> parserSupplier) {
+    Preconditions.checkArgument(parallelism > 0, "Parallelism should be strictly positive: " + parallelism);
+    this.parallelism = parallelism;
+    this.parserSupplier = parserSupplier;
+  }
+
+  /**
+   * When files are not analyzed in parallel, up to <code>prefetchedFiles</code> files following the one being analyzed are read and parsed
+   * by two dedicated threads, so that reading and parsing overlap with the semantic analysis and the checks.
+   * 0 means files are read, parsed and analyzed one after the other by the calling thread.
+   */
+  public void setPrefetchedFiles(int prefetchedFiles, Charset charset) {
+    Preconditions.checkArgument(prefetchedFiles >= 0, "Number of prefetched files should be positive: " + prefetchedFiles);
+    this.prefetchedFiles = prefetchedFiles;
+    this.charset = charset;
   }
 
   public void scan(Iterable<File> files) {
+    List<File> filesToScan = Lists.newArrayList(files);
     ProgressReport progressReport = new ProgressReport("Report about progress of Java AST analyzer", TimeUnit.SECONDS.toMillis(10));
-    progressReport.start(Lists.newArrayList(files));
+    progressReport.start(filesToScan);
 
     boolean successfullyCompleted = false;
     try {
-      for (File file : files) {
-        simpleScan(file);
-        progressReport.nextFile();
+      if (parallelism > 1 && filesToScan.size() > 1) {
+        parallelScan(filesToScan, progressReport);
+      } else if (prefetchedFiles > 0 && filesToScan.size() > 1) {
+        pipelinedScan(filesToScan, progressReport);
+      } else {
+        for (File file : filesToScan) {
+          simpleScan(file);
+          progressReport.nextFile();
+        }
       }
       successfullyCompleted = true;
     } finally {
+      visitor.endOfAnalysis();
       if (successfullyCompleted) {
         progressReport.stop();
       } else {
@@ -80,20 +140,242 @@ public class JavaAstScanner {
   private void simpleScan(File file) {
     visitor.setCurrentFile(file);
     try {
-      Tree ast = parser.parse(file);
-      visitor.visitFile(ast);
+      TimeBudget.Timer timer = visitor.timeBudget().start();
+      Tree ast = parse(parser, file, timer);
+      visitor.visitPreparedFile(visitor.prepareFile(file, ast, timer));
     } catch (RecognitionException e) {
+      processRecognitionException(e, file);
+    } catch (Exception e) {
       checkInterrrupted(e);
-      LOG.error("Unable to parse source file : " + file.getAbsolutePath());
-      LOG.error(e.getMessage());
+      throw new AnalysisException(getAnalyisExceptionMessage(file), e);
+    }
+  }
+
+  private Tree parse(ActionParser<Tree> actionParser, File file, TimeBudget.Timer timer) {
+    return parse(actionParser, file, null, timer);
+  }
+
+  /**
+   * @param source content of the file when already read, the file is read otherwise
+   */
+  private Tree parse(ActionParser<Tree> actionParser, File file, @Nullable String source, TimeBudget.Timer timer) {
+    timer.startPhase();
+    Tree tree = parse(actionParser, file, source);
+    timer.endPhase(AnalysisProfiler.PARSE);
+    return tree;
+  }
 
-      parseErrorWalkAndVisit(e, file);
+  private Tree parse(ActionParser<Tree> actionParser, File file, @Nullable String source) {
+    AnalysisProfiler profiler = visitor.profiler();
+    if (!profiler.isEnabled() || !(actionParser instanceof JavaParser)) {
+      return source == null ? actionParser.parse(file) : actionParser.parse(source);
+    }
+    AnalysisProfiler.Sample sample = profiler.start();
+    JavaParser javaParser = (JavaParser) actionParser;
+    Tree tree = source == null ? javaParser.parseWithoutParentLink(file) : javaParser.parseWithoutParentLink(source);
+    profiler.record(AnalysisProfiler.Kind.PHASE, AnalysisProfiler.PARSE, file, sample);
+    sample = profiler.start();
+    JavaParser.createParentLink(tree);
+    profiler.record(AnalysisProfiler.Kind.PHASE, AnalysisProfiler.PARENT_LINKING, file, sample);
+    return tree;
+  }
+
+  private void processRecognitionException(RecognitionException e, File file) {
+    checkInterrrupted(e);
+    LOG.error("Unable to parse source file : " + file.getAbsolutePath());
+    LOG.error(e.getMessage());
+
+    parseErrorWalkAndVisit(e, file);
+  }
+
+  private void parallelScan(List<File> files, ProgressReport progressReport) {
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder().setNameFormat("java-ast-scanner-%d").setDaemon(true).build());
+    ThreadLocal<ActionParser<Tree>> parsers = new ThreadLocal<ActionParser<Tree>>() {
+      @Override
+      protected ActionParser<Tree> initialValue() {
+        return parserSupplier.get();
+      }
+    };
+    try {
+      Iterator<File> filesToSubmit = files.iterator();
+      Deque<PendingFile<VisitorsBridge.PreparedFile>> pendingFiles = new ArrayDeque<>();
+      int maxPendingFiles = parallelism * FILES_AHEAD_PER_THREAD;
+      while (filesToSubmit.hasNext() || !pendingFiles.isEmpty()) {
+        while (filesToSubmit.hasNext() && pendingFiles.size() < maxPendingFiles) {
+          File file = filesToSubmit.next();
+          pendingFiles.add(new PendingFile<>(file, executor.submit(new PrepareFile(file, parsers))));
+        }
+        PendingFile<VisitorsBridge.PreparedFile> pendingFile = pendingFiles.poll();
+        visitor.setCurrentFile(pendingFile.file);
+        VisitorsBridge.PreparedFile preparedFile = get(pendingFile);
+        if (preparedFile != null) {
+          visitPreparedFile(pendingFile.file, preparedFile);
+        }
+        progressReport.nextFile();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Files are read by a first thread and parsed by a second one, while the calling thread computes the semantic and executes the checks.
+   * The number of files read or parsed ahead is bounded, so is the memory held by their content and syntax trees.
+   */
+  private void pipelinedScan(List<File> files, ProgressReport progressReport) {
+    ExecutorService reader = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("java-ast-scanner-reader").setDaemon(true).build());
+    ExecutorService parserExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("java-ast-scanner-parser").setDaemon(true).build());
+    try {
+      Iterator<File> filesToSubmit = files.iterator();
+      Deque<PendingFile<ParsedFile>> pendingFiles = new ArrayDeque<>();
+      while (filesToSubmit.hasNext() || !pendingFiles.isEmpty()) {
+        while (filesToSubmit.hasNext() && pendingFiles.size() < prefetchedFiles) {
+          File file = filesToSubmit.next();
+          Future<String> source = reader.submit(new ReadFile(file));
+          pendingFiles.add(new PendingFile<>(file, parserExecutor.submit(new ParseFile(file, source))));
+        }
+        PendingFile<ParsedFile> pendingFile = pendingFiles.poll();
+        visitor.setCurrentFile(pendingFile.file);
+        ParsedFile parsedFile = get(pendingFile);
+        if (parsedFile != null) {
+          visitPreparedFile(pendingFile.file, parsedFile);
+        }
+        progressReport.nextFile();
+      }
+    } finally {
+      reader.shutdownNow();
+      parserExecutor.shutdownNow();
+    }
+  }
+
+  private void visitPreparedFile(File file, ParsedFile parsedFile) {
+    try {
+      TimeBudget.Timer timer = visitor.timeBudget().start();
+      timer.recordPhase(AnalysisProfiler.PARSE, parsedFile.parseNanos);
+      visitor.visitPreparedFile(visitor.prepareFile(file, parsedFile.tree, timer));
+    } catch (RecognitionException e) {
+      processRecognitionException(e, file);
     } catch (Exception e) {
       checkInterrrupted(e);
       throw new AnalysisException(getAnalyisExceptionMessage(file), e);
     }
   }
 
+  /**
+   * @return result of the work done ahead on the file, or null when it could not be parsed, in which case the parse error has already been processed
+   */
+  @Nullable
+  private <T> T get(PendingFile<T> pendingFile) {
+    File file = pendingFile.file;
+    try {
+      return pendingFile.future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AnalysisException("Analysis cancelled", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RecognitionException) {
+        processRecognitionException((RecognitionException) cause, file);
+        return null;
+      }
+      Throwables.propagateIfInstanceOf(cause, Error.class);
+      Exception exception = cause instanceof Exception ? (Exception) cause : e;
+      checkInterrrupted(exception);
+      throw new AnalysisException(getAnalyisExceptionMessage(file), exception);
+    }
+  }
+
+  private void visitPreparedFile(File file, VisitorsBridge.PreparedFile preparedFile) {
+    try {
+      visitor.visitPreparedFile(preparedFile);
+    } catch (RecognitionException e) {
+      processRecognitionException(e, file);
+    } catch (Exception e) {
+      checkInterrrupted(e);
+      throw new AnalysisException(getAnalyisExceptionMessage(file), e);
+    }
+  }
+
+  private class PrepareFile implements Callable<VisitorsBridge.PreparedFile> {
+    private final File file;
+    private final ThreadLocal<ActionParser<Tree>> parsers;
+
+    PrepareFile(File file, ThreadLocal<ActionParser<Tree>> parsers) {
+      this.file = file;
+      this.parsers = parsers;
+    }
+
+    @Override
+    public VisitorsBridge.PreparedFile call() {
+      TimeBudget.Timer timer = visitor.timeBudget().start();
+      return visitor.prepareFile(file, parse(parsers.get(), file, timer), timer);
+    }
+  }
+
+  private class ReadFile implements Callable<String> {
+    private final File file;
+
+    ReadFile(File file) {
+      this.file = file;
+    }
+
+    @Override
+    public String call() throws IOException {
+      AnalysisProfiler profiler = visitor.profiler();
+      AnalysisProfiler.Sample sample = profiler.start();
+      String source = Files.toString(file, charset);
+      profiler.record(AnalysisProfiler.Kind.PHASE, AnalysisProfiler.READ, file, sample);
+      return source;
+    }
+  }
+
+  private class ParseFile implements Callable<ParsedFile> {
+    private final File file;
+    private final Future<String> source;
+
+    ParseFile(File file, Future<String> source) {
+      this.file = file;
+      this.source = source;
+    }
+
+    @Override
+    public ParsedFile call() throws InterruptedException {
+      String content;
+      try {
+        content = source.get();
+      } catch (ExecutionException e) {
+        throw Throwables.propagate(e.getCause());
+      }
+      long parseStartNanos = System.nanoTime();
+      Tree tree = parse(parser, file, content);
+      return new ParsedFile(tree, System.nanoTime() - parseStartNanos);
+    }
+  }
+
+  /**
+   * The time budget of a parsed file is only started once the file is taken by the calling thread, so that the time it waited in the queue
+   * is not accounted for: only the time spent parsing it is.
+   */
+  private static class ParsedFile {
+    private final Tree tree;
+    private final long parseNanos;
+
+    ParsedFile(Tree tree, long parseNanos) {
+      this.tree = tree;
+      this.parseNanos = parseNanos;
+    }
+  }
+
+  private static class PendingFile<T> {
+    private final File file;
+    private final Future<T> future;
+
+    PendingFile(File file, Future<T> future) {
+      this.file = file;
+      this.future = future;
+    }
+  }
+
   private static void checkInterrrupted(Exception e) {
     Throwable cause = Throwables.getRootCause(e);
     if (cause instanceof InterruptedException || cause instanceof InterruptedIOException) {
@@ -21,6 +21,7 @@ package org.sonar.java.ast.parser;
 
 import com.sonar.sslr.api.GenericTokenType;
 import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.StringUtils;
 import org.sonar.java.ast.api.JavaKeyword;
 import org.sonar.java.ast.api.JavaTokenType;
 import org.sonar.sslr.grammar.GrammarRuleKey;
@@ -349,12 +350,8 @@ public enum JavaLexer implements GrammarRuleKey {
     String[] keywords = JavaKeyword.keywordValues();
     Arrays.sort(keywords);
     ArrayUtils.reverse(keywords);
-    b.rule(KEYWORD).is(
-      b.firstOf(
-        keywords[0],
-        keywords[1],
-        ArrayUtils.subarray(keywords, 2, keywords.length)),
-      b.nextNot(LETTER_OR_DIGIT));
+    // Checked before matching each identifier, including on backtracking: a single pattern is much cheaper than trying each keyword in turn
+    b.rule(KEYWORD).is(b.regexp("(?:" + StringUtils.join(keywords, '|') + ")(?!\\p{javaJavaIdentifierPart})"));
   }
 
   private static void punctuator(LexerlessGrammarBuilder b, GrammarRuleKey ruleKey, String value) {
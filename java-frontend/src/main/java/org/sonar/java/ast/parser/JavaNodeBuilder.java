@@ -33,10 +33,17 @@ import org.sonar.java.model.InternalSyntaxTrivia;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.sslr.grammar.GrammarRuleKey;
 
+import java.util.Collections;
 import java.util.List;
 
 public class JavaNodeBuilder implements NodeBuilder {
 
+  /**
+   * Input for which {@link #lineStartIndexes} have been computed: nodes of a file are built one after the other.
+   */
+  private Input lineStartIndexesInput;
+  private int[] lineStartIndexes;
+
   @Override
   public Object createNonTerminal(GrammarRuleKey ruleKey, Rule rule, List<Object> children, int startIndex, int endIndex) {
     for (Object child : children) {
@@ -52,36 +59,57 @@ public class JavaNodeBuilder implements NodeBuilder {
   @Override
   public Object createTerminal(Input input, int startIndex, int endIndex, List<Trivia> trivias, TokenType type) {
     boolean isEof = GenericTokenType.EOF.equals(type);
-    LineColumnValue lineColumnValue = tokenPosition(input, startIndex, endIndex);
-    return new InternalSyntaxToken(lineColumnValue.line, lineColumnValue.column, lineColumnValue.value,
-      createTrivias(trivias), startIndex, endIndex, isEof);
+    int[] lineAndColumn = input.lineAndColumnAt(startIndex);
+    // text of the token is not copied out of the input, which is shared by all the tokens of the file
+    return new InternalSyntaxToken(lineAndColumn[0], lineAndColumn[1] - 1, input.input(), createTrivias(input, trivias), startIndex, endIndex, isEof);
   }
 
-  private static List<SyntaxTrivia> createTrivias(List<Trivia> trivias) {
-    List<SyntaxTrivia> result = Lists.newArrayList();
+  private List<SyntaxTrivia> createTrivias(Input input, List<Trivia> trivias) {
+    if (trivias.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<SyntaxTrivia> result = Lists.newArrayListWithCapacity(trivias.size());
     for (Trivia trivia : trivias) {
       Token trivialToken = trivia.getToken();
-      result.add(InternalSyntaxTrivia.create(trivialToken.getValue(), trivialToken.getLine(), trivialToken.getColumn()));
+      // comments, such as license headers and javadoc, are not retained as strings but as ranges of the input
+      int startIndex = lineStartIndex(input, trivialToken.getLine()) + trivialToken.getColumn();
+      int endIndex = startIndex + trivialToken.getValue().length();
+      result.add(new InternalSyntaxTrivia(input.input(), startIndex, endIndex, trivialToken.getLine(), trivialToken.getColumn()));
     }
     return result;
   }
 
-  private static LineColumnValue tokenPosition(Input input, int startIndex, int endIndex) {
-    int[] lineAndColumn = input.lineAndColumnAt(startIndex);
-    String value = input.substring(startIndex, endIndex);
-    return new LineColumnValue(lineAndColumn[0], lineAndColumn[1] - 1, value);
+  private int lineStartIndex(Input input, int line) {
+    if (input != lineStartIndexesInput) {
+      lineStartIndexes = lineStartIndexes(input.input());
+      lineStartIndexesInput = input;
+    }
+    return lineStartIndexes[line - 1];
   }
 
-  private static class LineColumnValue {
-    final int line;
-    final int column;
-    final String value;
-
-    private LineColumnValue(int line, int column, String value) {
-      this.line = line;
-      this.column = column;
-      this.value = value;
+  /**
+   * Same definition of lines as {@link Input#lineAndColumnAt(int)}.
+   */
+  private static int[] lineStartIndexes(char[] chars) {
+    int lines = 1;
+    for (int i = 0; i < chars.length; i++) {
+      if (isNewLine(chars, i)) {
+        lines++;
+      }
+    }
+    int[] result = new int[lines];
+    int line = 1;
+    for (int i = 0; i < chars.length; i++) {
+      if (isNewLine(chars, i)) {
+        result[line] = i + 1;
+        line++;
+      }
     }
+    return result;
+  }
+
+  private static boolean isNewLine(char[] chars, int i) {
+    return chars[i] == '\n' || (chars[i] == '\r' && (i + 1 == chars.length || chars[i + 1] != '\n'));
   }
 
 }
@@ -26,6 +26,8 @@ import org.sonar.sslr.grammar.LexerlessGrammarBuilder;
 
 import java.io.File;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 public class JavaParser extends ActionParser<Tree> {
 
@@ -46,24 +48,42 @@ public class JavaParser extends ActionParser<Tree> {
 
   @Override
   public Tree parse(File file) {
-    return createParentLink((JavaTree) super.parse(file));
+    return createParentLink(super.parse(file));
   }
 
   @Override
   public Tree parse(String source) {
-    return createParentLink((JavaTree) super.parse(source));
+    return createParentLink(super.parse(source));
   }
 
-  private static Tree createParentLink(JavaTree parent) {
-    if (!parent.isLeaf()) {
-      for (Tree nextTree : parent.children()) {
-        JavaTree next = (JavaTree) nextTree;
+  /**
+   * Parses the file without linking trees to their parent, which is then up to {@link #createParentLink(Tree)}.
+   */
+  public Tree parseWithoutParentLink(File file) {
+    return super.parse(file);
+  }
+
+  public Tree parseWithoutParentLink(String source) {
+    return super.parse(source);
+  }
+
+  /**
+   * Links every node of the tree to its parent. Nodes are walked with an explicit stack rather than recursively, so that deeply nested
+   * trees, as found in generated code, do not overflow the call stack.
+   */
+  public static Tree createParentLink(Tree tree) {
+    Deque<JavaTree> parents = new ArrayDeque<>();
+    parents.push((JavaTree) tree);
+    while (!parents.isEmpty()) {
+      JavaTree parent = parents.pop();
+      for (int i = 0; i < parent.childCount(); i++) {
+        JavaTree next = (JavaTree) parent.child(i);
         if (next != null) {
           next.setParent(parent);
-          createParentLink(next);
+          parents.push(next);
         }
       }
     }
-    return parent;
+    return tree;
   }
 }
@@ -21,6 +21,7 @@ package org.sonar.java.ast.visitors;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
+import org.sonar.java.model.InternalSyntaxTrivia;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
@@ -32,10 +33,11 @@ import java.util.Set;
 
 public class CommentLinesVisitor extends SubscriptionVisitor {
 
+  private static final String NOSONAR = "NOSONAR";
+
   private Set<Integer> comments = Sets.newHashSet();
   private Set<Integer> noSonarLines = Sets.newHashSet();
   private boolean seenFirstToken;
-  private JavaCommentAnalyser commentAnalyser = new JavaCommentAnalyser();
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
@@ -53,17 +55,7 @@ public class CommentLinesVisitor extends SubscriptionVisitor {
   public void visitToken(SyntaxToken syntaxToken) {
     for (SyntaxTrivia trivia : syntaxToken.trivias()) {
       if (seenFirstToken) {
-        String[] commentLines = commentAnalyser.getContents(trivia.comment())
-            .split("(\r)?\n|\r", -1);
-        int line = trivia.startLine();
-        for (String commentLine : commentLines) {
-          if(commentLine.contains("NOSONAR")) {
-            noSonarLines.add(line);
-          } else if (!commentAnalyser.isBlank(commentLine)) {
-            comments.add(line);
-          }
-          line++;
-        }
+        analyzeComment(((InternalSyntaxTrivia) trivia).commentChars(), trivia.startLine());
       } else {
         seenFirstToken = true;
       }
@@ -71,6 +63,53 @@ public class CommentLinesVisitor extends SubscriptionVisitor {
     seenFirstToken = true;
   }
 
+  /**
+   * Same as splitting the contents of the comment given by {@link JavaCommentAnalyser#getContents(String)} into lines, without copying them.
+   */
+  private void analyzeComment(CharSequence comment, int startLine) {
+    int contentsEnd = comment.charAt(1) == '/' ? comment.length() : (comment.length() - 2);
+    int line = startLine;
+    int lineStart = 2;
+    for (int i = lineStart; i < contentsEnd; i++) {
+      char c = comment.charAt(i);
+      if (c == '\n' || c == '\r') {
+        analyzeCommentLine(comment, lineStart, i, line);
+        if (c == '\r' && i + 1 < contentsEnd && comment.charAt(i + 1) == '\n') {
+          i++;
+        }
+        lineStart = i + 1;
+        line++;
+      }
+    }
+    analyzeCommentLine(comment, lineStart, contentsEnd, line);
+  }
+
+  private void analyzeCommentLine(CharSequence comment, int start, int end, int line) {
+    if (contains(comment, start, end, NOSONAR)) {
+      noSonarLines.add(line);
+    } else if (!JavaCommentAnalyser.isBlank(comment, start, end)) {
+      comments.add(line);
+    }
+  }
+
+  private static boolean contains(CharSequence chars, int start, int end, String searched) {
+    for (int i = start; i <= end - searched.length(); i++) {
+      if (regionMatches(chars, i, searched)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean regionMatches(CharSequence chars, int start, String searched) {
+    for (int j = 0; j < searched.length(); j++) {
+      if (chars.charAt(start + j) != searched.charAt(j)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public Set<Integer> noSonarLines() {
     return noSonarLines;
   }
@@ -83,10 +122,14 @@ public class CommentLinesVisitor extends SubscriptionVisitor {
 
     @Override
     public boolean isBlank(String line) {
+      return isBlank(line, 0, line.length());
+    }
+
+    static boolean isBlank(CharSequence chars, int start, int end) {
       // Implementation of this method was taken from org.sonar.squidbridge.text.Line#isThereBlankComment()
       // TODO Godin: for some languages we use Character.isLetterOrDigit instead of Character.isWhitespace
-      for (int i = 0; i < line.length(); i++) {
-        char character = line.charAt(i);
+      for (int i = start; i < end; i++) {
+        char character = chars.charAt(i);
         if (!Character.isWhitespace(character) && character != '*' && character != '/') {
           return false;
         }
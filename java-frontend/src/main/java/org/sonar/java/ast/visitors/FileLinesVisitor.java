@@ -26,6 +26,8 @@ import com.google.common.io.Files;
 import org.sonar.api.measures.CoreMetrics;
 import org.sonar.api.measures.FileLinesContext;
 import org.sonar.java.SonarComponents;
+import org.sonar.java.SyntacticVisitor;
+import org.sonar.java.model.InternalSyntaxTrivia;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
@@ -39,7 +41,7 @@ import java.util.Set;
 /**
  * Saves information about lines directly into Sonar by using {@link FileLinesContext}.
  */
-public class FileLinesVisitor extends SubscriptionVisitor {
+public class FileLinesVisitor extends SubscriptionVisitor implements SyntacticVisitor {
 
   private final SonarComponents sonarComponents;
   private final Charset charset;
@@ -82,10 +84,9 @@ public class FileLinesVisitor extends SubscriptionVisitor {
   public void visitToken(SyntaxToken syntaxToken) {
     linesOfCode.add(syntaxToken.line());
     for (SyntaxTrivia trivia : syntaxToken.trivias()) {
-      int baseLine = trivia.startLine();
-      String[] lines = trivia.comment().split("(\r)?\n|\r", -1);
-      for (int i = 0; i < lines.length; i++) {
-        linesOfComments.add(baseLine + i);
+      int endLine = ((InternalSyntaxTrivia) trivia).endLine();
+      for (int line = trivia.startLine(); line <= endLine; line++) {
+        linesOfComments.add(line);
       }
     }
   }
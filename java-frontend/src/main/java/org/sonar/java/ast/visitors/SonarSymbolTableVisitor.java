@@ -138,7 +138,7 @@ public class SonarSymbolTableVisitor extends BaseTreeVisitor {
     if (semanticSymbol == null) {
       semanticSymbol = Symbols.unknownSymbol;
     }
-    createSymbol(declaration, semanticSymbol.usages());
+    createSymbol(declaration, semanticModel.getUsages(semanticSymbol));
   }
 
   private void createSymbol(IdentifierTree declaration, List<IdentifierTree> usages) {
@@ -19,6 +19,7 @@
  */
 package org.sonar.java.ast.visitors;
 
+import org.sonar.java.EndOfFileAwareVisitor;
 import org.sonar.java.model.JavaTree;
 import org.sonar.java.resolve.SemanticModel;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -27,10 +28,11 @@ import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import javax.annotation.CheckForNull;
 import java.util.Collection;
 import java.util.List;
 
-public abstract class SubscriptionVisitor implements JavaFileScanner {
+public abstract class SubscriptionVisitor implements JavaFileScanner, EndOfFileAwareVisitor {
 
 
   protected JavaFileScannerContext context;
@@ -59,9 +61,22 @@ public abstract class SubscriptionVisitor implements JavaFileScanner {
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
+    setContext(context);
+    scanTree(context.getTree());
+  }
+
+  void setContext(JavaFileScannerContext context) {
     this.context = context;
     semanticModel = (SemanticModel) context.getSemanticModel();
-    scanTree(context.getTree());
+  }
+
+  /**
+   * Releases the context of the analyzed file. Visitors keeping other per-file state should override this method to release it as well.
+   */
+  @Override
+  public void endOfFile() {
+    context = null;
+    semanticModel = null;
   }
 
   protected void scanTree(Tree tree) {
@@ -108,7 +123,8 @@ public abstract class SubscriptionVisitor implements JavaFileScanner {
   private void visitChildren(Tree tree) {
     JavaTree javaTree = (JavaTree) tree;
     if (!javaTree.isLeaf()) {
-      for (Tree next : javaTree.children()) {
+      for (int i = 0; i < javaTree.childCount(); i++) {
+        Tree next = javaTree.child(i);
         if (next != null) {
           visit(next);
         }
@@ -119,4 +135,13 @@ public abstract class SubscriptionVisitor implements JavaFileScanner {
   public boolean hasSemantic(){
     return semanticModel != null;
   }
+
+  /**
+   * @return the semantic model of the file being visited, null when the file is analyzed without semantic model, or once the end of the
+   * file has been notified.
+   */
+  @CheckForNull
+  protected SemanticModel semanticModel() {
+    return semanticModel;
+  }
 }
@@ -0,0 +1,239 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.ast.visitors;
+
+import com.google.common.collect.ImmutableList;
+import org.sonar.java.AnalysisProfiler;
+import org.sonar.java.model.JavaTree;
+import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.SyntaxTrivia;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Walks the syntax tree of a file once and dispatches nodes, tokens and trivias to all the {@link SubscriptionVisitor}s
+ * subscribed to them, instead of letting each visitor walk the whole tree on its own.
+ * Only visitors relying on the default tree walk of {@link SubscriptionVisitor} can be dispatched to, see {@link #canDispatchTo(JavaFileScanner)}.
+ * When profiling, the time spent in each visitor is measured around each dispatched call, and recorded once per file.
+ */
+public class SubscriptionVisitorsDispatcher implements JavaFileScanner {
+
+  private static final Tree.Kind[] KINDS = Tree.Kind.values();
+  private static final SubscriptionVisitor[] NO_SUBSCRIBER = new SubscriptionVisitor[0];
+
+  private final List<SubscriptionVisitor> visitors;
+  private final AnalysisProfiler profiler;
+  /**
+   * Dispatched visitors wrapped to measure their time, when profiling.
+   */
+  private final List<ProfiledVisitor> profiledVisitors;
+  private final SubscriptionVisitor[][] subscribersByKind = new SubscriptionVisitor[KINDS.length][];
+  private SubscriptionVisitor[] syntaxTokenSubscribers;
+  private boolean[] visitingTokens;
+  private boolean[] visitingTrivias;
+
+  public SubscriptionVisitorsDispatcher(List<SubscriptionVisitor> visitors) {
+    this(visitors, AnalysisProfiler.disabled());
+  }
+
+  public SubscriptionVisitorsDispatcher(List<SubscriptionVisitor> visitors, AnalysisProfiler profiler) {
+    this.visitors = ImmutableList.copyOf(visitors);
+    this.profiler = profiler;
+    ImmutableList.Builder<ProfiledVisitor> profiled = ImmutableList.builder();
+    if (profiler.isEnabled()) {
+      for (SubscriptionVisitor visitor : this.visitors) {
+        profiled.add(new ProfiledVisitor(visitor));
+      }
+    }
+    this.profiledVisitors = profiled.build();
+  }
+
+  /**
+   * A visitor overriding {@link SubscriptionVisitor#scanFile(JavaFileScannerContext)} or {@link SubscriptionVisitor#scanTree(Tree)}
+   * does more than walking the tree and has to be run on its own.
+   */
+  public static boolean canDispatchTo(JavaFileScanner scanner) {
+    if (!(scanner instanceof SubscriptionVisitor)) {
+      return false;
+    }
+    for (Class<?> clazz = scanner.getClass(); clazz != SubscriptionVisitor.class; clazz = clazz.getSuperclass()) {
+      if (declares(clazz, "scanFile", JavaFileScannerContext.class) || declares(clazz, "scanTree", Tree.class)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean declares(Class<?> clazz, String methodName, Class<?> parameterType) {
+    try {
+      clazz.getDeclaredMethod(methodName, parameterType);
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  public List<SubscriptionVisitor> visitors() {
+    return visitors;
+  }
+
+  @Override
+  public void scanFile(JavaFileScannerContext context) {
+    for (SubscriptionVisitor visitor : visitors) {
+      visitor.setContext(context);
+    }
+    indexSubscribers();
+    visit(context.getTree());
+    for (ProfiledVisitor profiledVisitor : profiledVisitors) {
+      profiler.recordWallTime(AnalysisProfiler.Kind.CHECK, profiledVisitor.visitor.getClass().getName(), profiledVisitor.wallTime, 1);
+      profiledVisitor.wallTime = 0;
+    }
+  }
+
+  private void indexSubscribers() {
+    List<List<SubscriptionVisitor>> subscribers = new ArrayList<>(KINDS.length);
+    for (int i = 0; i < KINDS.length; i++) {
+      subscribers.add(new ArrayList<SubscriptionVisitor>());
+    }
+    List<SubscriptionVisitor> tokenSubscribers = new ArrayList<>();
+    List<Boolean> tokens = new ArrayList<>();
+    List<Boolean> trivias = new ArrayList<>();
+    for (int v = 0; v < visitors.size(); v++) {
+      SubscriptionVisitor visitor = profiledVisitors.isEmpty() ? visitors.get(v) : profiledVisitors.get(v);
+      Collection<Tree.Kind> nodesToVisit = visitor.nodesToVisit();
+      boolean visitToken = nodesToVisit.contains(Tree.Kind.TOKEN);
+      boolean visitTrivia = nodesToVisit.contains(Tree.Kind.TRIVIA);
+      if (visitToken || visitTrivia) {
+        tokenSubscribers.add(visitor);
+        tokens.add(visitToken);
+        trivias.add(visitTrivia);
+      }
+      for (Tree.Kind kind : nodesToVisit) {
+        List<SubscriptionVisitor> kindSubscribers = subscribers.get(kind.ordinal());
+        if (!kindSubscribers.contains(visitor)) {
+          kindSubscribers.add(visitor);
+        }
+      }
+    }
+    for (int i = 0; i < KINDS.length; i++) {
+      List<SubscriptionVisitor> kindSubscribers = subscribers.get(i);
+      subscribersByKind[i] = kindSubscribers.isEmpty() ? NO_SUBSCRIBER : kindSubscribers.toArray(new SubscriptionVisitor[kindSubscribers.size()]);
+    }
+    syntaxTokenSubscribers = tokenSubscribers.toArray(new SubscriptionVisitor[tokenSubscribers.size()]);
+    visitingTokens = new boolean[tokens.size()];
+    visitingTrivias = new boolean[trivias.size()];
+    for (int i = 0; i < syntaxTokenSubscribers.length; i++) {
+      visitingTokens[i] = tokens.get(i);
+      visitingTrivias[i] = trivias.get(i);
+    }
+  }
+
+  private void visit(Tree tree) {
+    Tree.Kind kind = tree.kind();
+    if (kind == Tree.Kind.TOKEN) {
+      if (syntaxTokenSubscribers.length > 0) {
+        visitSyntaxToken((SyntaxToken) tree);
+      }
+      return;
+    }
+    SubscriptionVisitor[] subscribers = kind == null ? NO_SUBSCRIBER : subscribersByKind[kind.ordinal()];
+    for (SubscriptionVisitor subscriber : subscribers) {
+      subscriber.visitNode(tree);
+    }
+    visitChildren(tree);
+    for (SubscriptionVisitor subscriber : subscribers) {
+      subscriber.leaveNode(tree);
+    }
+  }
+
+  private void visitSyntaxToken(SyntaxToken syntaxToken) {
+    for (int i = 0; i < syntaxTokenSubscribers.length; i++) {
+      SubscriptionVisitor subscriber = syntaxTokenSubscribers[i];
+      if (visitingTokens[i]) {
+        subscriber.visitToken(syntaxToken);
+      }
+      if (visitingTrivias[i]) {
+        for (SyntaxTrivia syntaxTrivia : syntaxToken.trivias()) {
+          subscriber.visitTrivia(syntaxTrivia);
+        }
+      }
+    }
+  }
+
+  private void visitChildren(Tree tree) {
+    JavaTree javaTree = (JavaTree) tree;
+    if (!javaTree.isLeaf()) {
+      for (int i = 0; i < javaTree.childCount(); i++) {
+        Tree next = javaTree.child(i);
+        if (next != null) {
+          visit(next);
+        }
+      }
+    }
+  }
+
+  private static class ProfiledVisitor extends SubscriptionVisitor {
+    private final SubscriptionVisitor visitor;
+    private long wallTime;
+
+    ProfiledVisitor(SubscriptionVisitor visitor) {
+      this.visitor = visitor;
+    }
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+      return visitor.nodesToVisit();
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      long start = System.nanoTime();
+      visitor.visitNode(tree);
+      wallTime += System.nanoTime() - start;
+    }
+
+    @Override
+    public void leaveNode(Tree tree) {
+      long start = System.nanoTime();
+      visitor.leaveNode(tree);
+      wallTime += System.nanoTime() - start;
+    }
+
+    @Override
+    public void visitToken(SyntaxToken syntaxToken) {
+      long start = System.nanoTime();
+      visitor.visitToken(syntaxToken);
+      wallTime += System.nanoTime() - start;
+    }
+
+    @Override
+    public void visitTrivia(SyntaxTrivia syntaxTrivia) {
+      long start = System.nanoTime();
+      visitor.visitTrivia(syntaxTrivia);
+      wallTime += System.nanoTime() - start;
+    }
+  }
+
+}
@@ -27,7 +27,9 @@ import com.google.common.collect.Lists;
 import com.google.common.io.Files;
 import org.sonar.api.source.Highlightable;
 import org.sonar.java.SonarComponents;
+import org.sonar.java.SyntacticVisitor;
 import org.sonar.java.ast.api.JavaKeyword;
+import org.sonar.java.model.InternalSyntaxTrivia;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.AnnotationTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
@@ -45,7 +47,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public class SyntaxHighlighterVisitor extends SubscriptionVisitor {
+public class SyntaxHighlighterVisitor extends SubscriptionVisitor implements SyntacticVisitor {
 
   private final SonarComponents sonarComponents;
   private final Map<Tree.Kind, String> typesByKind;
@@ -158,7 +160,7 @@ public class SyntaxHighlighterVisitor extends SubscriptionVisitor {
   }
 
   private int end(SyntaxTrivia trivia) {
-    return getOffset(trivia.startLine(), trivia.column()) + trivia.comment().length();
+    return getOffset(trivia.startLine(), trivia.column()) + ((InternalSyntaxTrivia) trivia).commentLength();
   }
 
   private static List<Integer> startLines(File file, Charset charset) {
@@ -0,0 +1,45 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+
+public final class ClassFiles {
+
+  private ClassFiles() {
+    // only static methods
+  }
+
+  /**
+   * Class file stripped from method bodies and debug information: what remains is what is needed to complete symbols.
+   * Bytecode which can not be read is returned unchanged.
+   */
+  public static byte[] signature(byte[] bytecode) {
+    try {
+      ClassWriter classWriter = new ClassWriter(0);
+      new ClassReader(bytecode).accept(classWriter, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+      return classWriter.toByteArray();
+    } catch (RuntimeException e) {
+      return bytecode;
+    }
+  }
+
+}
@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Collection;
 
 class FileSystemLoader implements Loader {
 
@@ -71,6 +72,11 @@ class FileSystemLoader implements Loader {
     }
   }
 
+  @Override
+  public Collection<String> classNames() {
+    return null;
+  }
+
   @Override
   public void close() {
     baseDir = null;
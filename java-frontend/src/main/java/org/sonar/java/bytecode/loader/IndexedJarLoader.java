@@ -0,0 +1,275 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode.loader;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.apache.commons.io.IOUtils;
+import org.sonar.java.bytecode.ClassFiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the classes of a jar through an index persisted between analyses, next to the indexes of other jars.
+ * The index holds the names of all the classes of the jar, and the bytecode of the classes loaded so far, stripped from method bodies
+ * and debug information: each class is inflated from the jar once, and is then read from the index by subsequent analyses.
+ * The index is discarded when the size or the last modification date of the jar change.
+ * <p/>
+ * The index only saves reading the jar: listing its entries and inflating its classes. Symbols are still built by parsing the stored bytecode,
+ * which costs about the same as parsing the original class files, since their code is skipped anyway (see
+ * <code>org.sonar.java.benchmarks.BytecodeIndexBenchmark</code>).
+ * <p/>
+ * As their methods have no code, classes provided by this loader can only be read, not defined.
+ */
+class IndexedJarLoader implements Loader {
+
+  private static final Logger LOG = LoggerFactory.getLogger(IndexedJarLoader.class);
+
+  private static final int MAGIC = 0x4a494458;
+  private static final int VERSION = 1;
+  private static final String CLASS_SUFFIX = ".class";
+
+  private final File jar;
+  private final File indexFile;
+  private final URL jarUrl;
+  private final Set<String> classNames = Sets.newHashSet();
+  private final Map<String, byte[]> classes = Maps.newHashMap();
+  private final boolean mappedJar;
+  private Loader jarLoader;
+  private boolean modified;
+  private boolean closed;
+
+  /**
+   * @throws IllegalStateException if jar can not be read
+   */
+  public IndexedJarLoader(File jar, File indexDirectory) {
+    this(jar, indexDirectory, false);
+  }
+
+  /**
+   * @param mappedJar whether classes missing from the index are read by mapping the jar in memory (see {@link MappedJarLoader}),
+   * rather than through {@link java.util.jar.JarFile}
+   * @throws IllegalStateException if jar can not be read
+   */
+  public IndexedJarLoader(File jar, File indexDirectory, boolean mappedJar) {
+    this.jar = jar;
+    this.mappedJar = mappedJar;
+    this.indexFile = new File(indexDirectory, jar.getName() + "-" + Integer.toHexString(jar.getAbsolutePath().hashCode()) + ".idx");
+    try {
+      jarUrl = new URL("jar", "", -1, jar.getAbsolutePath() + "!/");
+    } catch (MalformedURLException e) {
+      throw new IllegalStateException("Unable to open " + jar.getAbsolutePath(), e);
+    }
+    if (!readIndex()) {
+      classNames.addAll(jarLoader().classNames());
+      modified = true;
+    }
+  }
+
+  @Override
+  public URL findResource(String name) {
+    Preconditions.checkState(!closed, "Loader closed");
+    if (!name.endsWith(CLASS_SUFFIX)) {
+      return jarLoader().findResource(name);
+    }
+    if (!classNames.contains(name)) {
+      return null;
+    }
+    try {
+      return new URL(jarUrl, name, new ClassHandler(name));
+    } catch (MalformedURLException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public byte[] loadBytes(String name) {
+    Preconditions.checkState(!closed, "Loader closed");
+    if (!name.endsWith(CLASS_SUFFIX)) {
+      return jarLoader().loadBytes(name);
+    }
+    byte[] bytes = classes.get(name);
+    if (bytes == null) {
+      if (!classNames.contains(name)) {
+        return new byte[0];
+      }
+      bytes = jarLoader().loadBytes(name);
+      if (bytes.length == 0) {
+        return bytes;
+      }
+      bytes = ClassFiles.signature(bytes);
+      classes.put(name, bytes);
+      modified = true;
+    }
+    return bytes;
+  }
+
+  @Override
+  public Collection<String> classNames() {
+    return Collections.unmodifiableSet(classNames);
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (modified) {
+      writeIndex();
+    }
+    if (jarLoader != null) {
+      jarLoader.close();
+    }
+  }
+
+  private Loader jarLoader() {
+    if (jarLoader == null) {
+      jarLoader = mappedJar ? MappedJarLoader.create(jar) : new JarLoader(jar);
+    }
+    return jarLoader;
+  }
+
+  private boolean readIndex() {
+    if (!indexFile.isFile()) {
+      return false;
+    }
+    DataInputStream in = null;
+    try {
+      in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+      if (in.readInt() != MAGIC || in.readInt() != VERSION || !jar.getAbsolutePath().equals(in.readUTF())
+        || in.readLong() != jar.length() || in.readLong() != jar.lastModified()) {
+        return false;
+      }
+      int namesCount = in.readInt();
+      for (int i = 0; i < namesCount; i++) {
+        classNames.add(in.readUTF());
+      }
+      int classesCount = in.readInt();
+      for (int i = 0; i < classesCount; i++) {
+        String name = in.readUTF();
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        classes.put(name, bytes);
+      }
+      return true;
+    } catch (IOException e) {
+      LOG.debug("Unable to read index " + indexFile.getAbsolutePath(), e);
+      classNames.clear();
+      classes.clear();
+      return false;
+    } finally {
+      IOUtils.closeQuietly(in);
+    }
+  }
+
+  /**
+   * Index is written to a temporary file first, then moved atomically when the file system allows it,
+   * so that concurrent analyses never read a partially written index, nor miss it while it is replaced.
+   */
+  private void writeIndex() {
+    File directory = indexFile.getParentFile();
+    DataOutputStream out = null;
+    File tempFile = null;
+    try {
+      if (!directory.isDirectory() && !directory.mkdirs()) {
+        throw new IOException("Unable to create directory " + directory.getAbsolutePath());
+      }
+      tempFile = File.createTempFile(indexFile.getName(), ".tmp", directory);
+      out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeUTF(jar.getAbsolutePath());
+      out.writeLong(jar.length());
+      out.writeLong(jar.lastModified());
+      out.writeInt(classNames.size());
+      for (String name : classNames) {
+        out.writeUTF(name);
+      }
+      out.writeInt(classes.size());
+      for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+        out.writeUTF(entry.getKey());
+        out.writeInt(entry.getValue().length);
+        out.write(entry.getValue());
+      }
+      out.close();
+      try {
+        Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      LOG.warn("Unable to write index of " + jar.getAbsolutePath() + ": " + e.getMessage());
+    } finally {
+      IOUtils.closeQuietly(out);
+      if (tempFile != null && tempFile.exists() && !tempFile.delete()) {
+        tempFile.deleteOnExit();
+      }
+    }
+  }
+
+  private class ClassHandler extends URLStreamHandler {
+
+    private final String name;
+
+    ClassHandler(String name) {
+      this.name = name;
+    }
+
+    @Override
+    protected URLConnection openConnection(URL u) throws IOException {
+      return new URLConnection(u) {
+        @Override
+        public void connect() throws IOException {
+          // nop
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+          return new ByteArrayInputStream(loadBytes(name));
+        }
+      };
+    }
+  }
+
+}
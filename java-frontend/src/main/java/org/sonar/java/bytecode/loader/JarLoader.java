@@ -19,6 +19,7 @@
  */
 package org.sonar.java.bytecode.loader;
 
+import com.google.common.collect.Lists;
 import org.apache.commons.io.IOUtils;
 
 import java.io.File;
@@ -28,6 +29,8 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.util.Enumeration;
+import java.util.List;
 import java.util.jar.JarFile;
 import java.util.zip.ZipEntry;
 
@@ -83,6 +86,19 @@ class JarLoader implements Loader {
     }
   }
 
+  @Override
+  public List<String> classNames() {
+    List<String> result = Lists.newArrayList();
+    Enumeration<? extends ZipEntry> entries = jarFile.entries();
+    while (entries.hasMoreElements()) {
+      String name = entries.nextElement().getName();
+      if (name.endsWith(".class")) {
+        result.add(name);
+      }
+    }
+    return result;
+  }
+
   @Override
   public void close() {
     try {
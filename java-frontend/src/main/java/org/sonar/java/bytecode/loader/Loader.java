@@ -19,7 +19,10 @@
  */
 package org.sonar.java.bytecode.loader;
 
+import javax.annotation.CheckForNull;
+
 import java.net.URL;
+import java.util.Collection;
 
 /**
  * Specifies resource loading behavior.
@@ -46,6 +49,14 @@ interface Loader {
    */
   byte[] loadBytes(String name);
 
+  /**
+   * Names of all the class files this loader provides, if they can be listed without scanning a file system.
+   *
+   * @return the names of the class files, or <tt>null</tt> if they can not be listed
+   */
+  @CheckForNull
+  Collection<String> classNames();
+
   /**
    * Closes this loader, so that it can no longer be used to load new resources.
    * If loader is already closed, then invoking this method has no effect.
@@ -0,0 +1,325 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode.loader;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Loads the resources of a jar by mapping it in memory. The central directory of the jar is read once into a flat hash index,
+ * and entries are copied or inflated straight from the mapped file, without going through {@link java.util.jar.JarFile} and its streams.
+ * Only plain zip archives are supported: jars in the ZIP64 format, spanning several files or encrypted are loaded by {@link JarLoader},
+ * see {@link #create(File)}.
+ * As a mapping outlives {@link #close()}, this loader is only used by class loaders living as long as the analysis, see
+ * {@link SquidClassLoader#SquidClassLoader(java.util.List, java.io.File, boolean)}.
+ */
+class MappedJarLoader implements Loader {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MappedJarLoader.class);
+
+  private static final int END_SIGNATURE = 0x06054b50;
+  private static final int END_SIZE = 22;
+  private static final int CENTRAL_SIGNATURE = 0x02014b50;
+  private static final int CENTRAL_HEADER_SIZE = 46;
+  private static final int LOCAL_SIGNATURE = 0x04034b50;
+  private static final int LOCAL_HEADER_SIZE = 30;
+  private static final int STORED = 0;
+  private static final int DEFLATED = 8;
+  private static final int ENCRYPTED_FLAG = 1;
+
+  private final File jar;
+  private final URL jarUrl;
+  private ByteBuffer buffer;
+
+  private final String[] names;
+  private final int[] methods;
+  private final int[] compressedSizes;
+  private final int[] sizes;
+  private final int[] localHeaderOffsets;
+  /**
+   * Open addressing hash table of the indexes of the entries, shifted by one so that 0 marks an empty slot.
+   */
+  private final int[] table;
+
+  /**
+   * @throws IOException if the jar can not be read or is not a plain zip archive
+   */
+  MappedJarLoader(File jar) throws IOException {
+    this.jar = jar;
+    this.jarUrl = new URL("jar", "", -1, jar.getAbsolutePath() + "!/");
+    try (RandomAccessFile file = new RandomAccessFile(jar, "r"); FileChannel channel = file.getChannel()) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Archive too large");
+      }
+      MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      buffer = mappedBuffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+    int end = endOfCentralDirectory(buffer);
+    int entries = unsignedShort(buffer, end + 10);
+    int centralDirectoryOffset = buffer.getInt(end + 16);
+    if (unsignedShort(buffer, end + 4) != 0 || entries == 0xFFFF || centralDirectoryOffset < 0 || centralDirectoryOffset >= end) {
+      throw new IOException("Unsupported archive format");
+    }
+    names = new String[entries];
+    methods = new int[entries];
+    compressedSizes = new int[entries];
+    sizes = new int[entries];
+    localHeaderOffsets = new int[entries];
+    table = new int[tableSize(entries)];
+    readCentralDirectory(centralDirectoryOffset, entries);
+  }
+
+  /**
+   * Loader of the given jar, relying on {@link JarLoader} when the jar can not be mapped.
+   * @throws IllegalStateException if the jar can not be read at all
+   */
+  static Loader create(File jar) {
+    try {
+      return new MappedJarLoader(jar);
+    } catch (IOException e) {
+      LOG.debug("Unable to map " + jar.getAbsolutePath() + ": " + e.getMessage());
+      return new JarLoader(jar);
+    }
+  }
+
+  private static int endOfCentralDirectory(ByteBuffer buffer) throws IOException {
+    int limit = buffer.limit();
+    // the end record is followed by a comment of at most 65535 bytes
+    for (int position = limit - END_SIZE; position >= 0 && position >= limit - END_SIZE - 0xFFFF; position--) {
+      if (buffer.getInt(position) == END_SIGNATURE) {
+        return position;
+      }
+    }
+    throw new IOException("End of central directory not found");
+  }
+
+  private void readCentralDirectory(int offset, int entries) throws IOException {
+    int position = offset;
+    for (int i = 0; i < entries; i++) {
+      if (buffer.getInt(position) != CENTRAL_SIGNATURE || (unsignedShort(buffer, position + 8) & ENCRYPTED_FLAG) != 0) {
+        throw new IOException("Unsupported central directory entry");
+      }
+      int nameLength = unsignedShort(buffer, position + 28);
+      int extraLength = unsignedShort(buffer, position + 30);
+      int commentLength = unsignedShort(buffer, position + 32);
+      methods[i] = unsignedShort(buffer, position + 10);
+      compressedSizes[i] = buffer.getInt(position + 20);
+      sizes[i] = buffer.getInt(position + 24);
+      localHeaderOffsets[i] = buffer.getInt(position + 42);
+      if (compressedSizes[i] < 0 || sizes[i] < 0 || localHeaderOffsets[i] < 0) {
+        throw new IOException("Unsupported archive format");
+      }
+      names[i] = string(position + CENTRAL_HEADER_SIZE, nameLength);
+      put(i);
+      position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+    }
+  }
+
+  private String string(int position, int length) {
+    byte[] bytes = new byte[length];
+    ByteBuffer slice = buffer.duplicate();
+    slice.position(position);
+    slice.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int tableSize(int entries) {
+    int size = 2;
+    while (size < entries * 2) {
+      size <<= 1;
+    }
+    return size;
+  }
+
+  private static int slot(String name, int mask) {
+    int hash = name.hashCode();
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  private void put(int entry) {
+    int mask = table.length - 1;
+    int slot = slot(names[entry], mask);
+    while (table[slot] != 0) {
+      if (names[table[slot] - 1].equals(names[entry])) {
+        // first entry of a name wins, as with JarFile
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = entry + 1;
+  }
+
+  private int indexOf(String name) {
+    int mask = table.length - 1;
+    int slot = slot(name, mask);
+    while (table[slot] != 0) {
+      int entry = table[slot] - 1;
+      if (names[entry].equals(name)) {
+        return entry;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  @Override
+  public URL findResource(String name) {
+    Preconditions.checkState(buffer != null, "Loader closed");
+    if (indexOf(name) < 0) {
+      return null;
+    }
+    try {
+      return new URL(jarUrl, name, new EntryHandler(name));
+    } catch (MalformedURLException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public byte[] loadBytes(String name) {
+    ByteBuffer mapped = buffer;
+    Preconditions.checkState(mapped != null, "Loader closed");
+    int entry = indexOf(name);
+    if (entry < 0) {
+      return new byte[0];
+    }
+    try {
+      return read(mapped, entry);
+    } catch (IOException | DataFormatException | IndexOutOfBoundsException e) {
+      LOG.debug("Unable to read " + name + " from " + jar.getAbsolutePath(), e);
+      return new byte[0];
+    }
+  }
+
+  private byte[] read(ByteBuffer mapped, int entry) throws IOException, DataFormatException {
+    int offset = localHeaderOffsets[entry];
+    if (mapped.getInt(offset) != LOCAL_SIGNATURE) {
+      throw new IOException("Invalid local header");
+    }
+    int dataOffset = offset + LOCAL_HEADER_SIZE + unsignedShort(mapped, offset + 26) + unsignedShort(mapped, offset + 28);
+    byte[] bytes = new byte[sizes[entry]];
+    if (methods[entry] == STORED) {
+      copy(mapped, dataOffset, bytes, bytes.length);
+    } else if (methods[entry] == DEFLATED) {
+      // an extra byte is expected by the inflater when there is no zlib header
+      byte[] compressed = new byte[compressedSizes[entry] + 1];
+      copy(mapped, dataOffset, compressed, compressedSizes[entry]);
+      Inflater inflater = new Inflater(true);
+      try {
+        inflater.setInput(compressed);
+        int length = 0;
+        while (length < bytes.length && !inflater.finished()) {
+          int inflated = inflater.inflate(bytes, length, bytes.length - length);
+          if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+            throw new IOException("Truncated entry");
+          }
+          length += inflated;
+        }
+      } finally {
+        inflater.end();
+      }
+    } else {
+      throw new IOException("Unsupported compression method " + methods[entry]);
+    }
+    return bytes;
+  }
+
+  private static void copy(ByteBuffer mapped, int offset, byte[] destination, int length) {
+    ByteBuffer source = mapped.duplicate();
+    source.position(offset);
+    source.get(destination, 0, length);
+  }
+
+  private static int unsignedShort(ByteBuffer buffer, int position) {
+    return buffer.getShort(position) & 0xFFFF;
+  }
+
+  @Override
+  public Collection<String> classNames() {
+    ImmutableList.Builder<String> result = ImmutableList.builder();
+    for (String name : names) {
+      if (name.endsWith(".class")) {
+        result.add(name);
+      }
+    }
+    return result.build();
+  }
+
+  /**
+   * Drops the only reference to the mapped buffer: there is no public API to unmap it, so the mapping itself is only released
+   * once the buffer is garbage collected. Until then, the jar can not be deleted or replaced on Windows.
+   * Resources found before closing can no longer be read.
+   */
+  @Override
+  public void close() {
+    buffer = null;
+  }
+
+  private class EntryHandler extends URLStreamHandler {
+
+    private final String name;
+
+    EntryHandler(String name) {
+      this.name = name;
+    }
+
+    @Override
+    protected URLConnection openConnection(URL u) throws IOException {
+      return new URLConnection(u) {
+        @Override
+        public void connect() throws IOException {
+          // nop
+        }
+
+        @Override
+        public int getContentLength() {
+          int entry = indexOf(name);
+          return entry < 0 ? -1 : sizes[entry];
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+          return new ByteArrayInputStream(loadBytes(name));
+        }
+      };
+    }
+  }
+
+}
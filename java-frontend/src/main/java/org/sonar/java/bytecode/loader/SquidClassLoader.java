@@ -19,28 +19,73 @@
  */
 package org.sonar.java.bytecode.loader;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
 import org.apache.commons.lang.ArrayUtils;
 
+import javax.annotation.Nullable;
+
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Class loader, which is able to load classes from a list of JAR files and directories.
+ * <p/>
+ * Class files are looked up through an index of the class files of all the jars, so that finding a class, or finding out that it is missing,
+ * does not require to probe every jar. Only the directories preceding the jar providing a class, if any, are probed.
  */
 public class SquidClassLoader extends ClassLoader implements Closeable {
 
+  private static final String CLASS_SUFFIX = ".class";
+
   private final List<Loader> loaders;
+  /**
+   * First loader providing each class file, among the loaders able to list their class files.
+   */
+  private final Map<String, Loader> loadersByClassName = Maps.newHashMap();
+  /**
+   * Loaders to probe, in order, for the class files provided by a given indexed loader.
+   */
+  private final Map<Loader, List<Loader>> lookups = new IdentityHashMap<>();
+  /**
+   * Loaders to probe for class files which are not indexed.
+   */
+  private final List<Loader> unindexedLoaders;
 
   /**
    * @param files ordered list of files and directories from which to load classes and resources
    */
   public SquidClassLoader(List<File> files) {
+    this(files, null);
+  }
+
+  /**
+   * @param files ordered list of files and directories from which to load classes and resources
+   * @param indexDirectory if not null, directory where the indexes of the jars are persisted (see {@link IndexedJarLoader}),
+   * in which case classes loaded from jars have no code and can only be read as resources
+   */
+  public SquidClassLoader(List<File> files, @Nullable File indexDirectory) {
+    this(files, indexDirectory, false);
+  }
+
+  /**
+   * @param files ordered list of files and directories from which to load classes and resources
+   * @param indexDirectory if not null, directory where the indexes of the jars are persisted (see {@link IndexedJarLoader}),
+   * in which case classes loaded from jars have no code and can only be read as resources
+   * @param mappedJars whether jars are mapped in memory (see {@link MappedJarLoader}) rather than read through {@link java.util.jar.JarFile}.
+   * Mappings are only released once garbage collected, not when the class loader is closed: only class loaders living as long as the analysis
+   * should map their jars.
+   */
+  public SquidClassLoader(List<File> files, @Nullable File indexDirectory, boolean mappedJars) {
     super(null);
     loaders = new ArrayList<>();
     for (File file : files) {
@@ -48,16 +93,46 @@ public class SquidClassLoader extends ClassLoader implements Closeable {
         if (file.isDirectory()) {
           loaders.add(new FileSystemLoader(file));
         } else if (file.getName().endsWith(".jar")) {
-          loaders.add(new JarLoader(file));
+          loaders.add(jarLoader(file, indexDirectory, mappedJars));
+        }
+      }
+    }
+    ImmutableList.Builder<Loader> precedingLoaders = ImmutableList.builder();
+    for (Loader loader : loaders) {
+      Collection<String> classNames = loader.classNames();
+      if (classNames == null) {
+        precedingLoaders.add(loader);
+      } else {
+        for (String className : classNames) {
+          if (!loadersByClassName.containsKey(className)) {
+            loadersByClassName.put(className, loader);
+          }
         }
+        lookups.put(loader, ImmutableList.<Loader>builder().addAll(precedingLoaders.build()).add(loader).build());
       }
     }
+    unindexedLoaders = precedingLoaders.build();
+  }
+
+  private static Loader jarLoader(File jar, @Nullable File indexDirectory, boolean mappedJars) {
+    if (indexDirectory != null) {
+      return new IndexedJarLoader(jar, indexDirectory, mappedJars);
+    }
+    return mappedJars ? MappedJarLoader.create(jar) : new JarLoader(jar);
+  }
+
+  private List<Loader> loadersFor(String name) {
+    if (!name.endsWith(CLASS_SUFFIX)) {
+      return loaders;
+    }
+    Loader loader = loadersByClassName.get(name);
+    return loader == null ? unindexedLoaders : lookups.get(loader);
   }
 
   @Override
   protected Class findClass(String name) throws ClassNotFoundException {
-    String resourceName = name.replace('.', '/') + ".class";
-    for (Loader loader : loaders) {
+    String resourceName = name.replace('.', '/') + CLASS_SUFFIX;
+    for (Loader loader : loadersFor(resourceName)) {
       byte[] classBytes = loader.loadBytes(resourceName);
       if (ArrayUtils.isNotEmpty(classBytes)) {
         // TODO Godin: definePackage ?
@@ -69,7 +144,7 @@ public class SquidClassLoader extends ClassLoader implements Closeable {
 
   @Override
   public URL findResource(String name) {
-    for (Loader loader : loaders) {
+    for (Loader loader : loadersFor(name)) {
       URL url = loader.findResource(name);
       if (url != null) {
         return url;
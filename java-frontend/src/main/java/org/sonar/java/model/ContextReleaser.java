@@ -0,0 +1,77 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Used by {@link VisitorsBridge} at the end of a file for the scanners which are not {@link org.sonar.java.EndOfFileAwareVisitor}, such as the
+ * checks extending {@link org.sonar.plugins.java.api.tree.BaseTreeVisitor}: their fields referencing the scanner context or the semantic model
+ * of the file are set to null, so that neither the tree nor the semantic model of the file remain reachable from them.
+ * Final fields, and other fields referencing trees, are left untouched. Exception handlers are not released, as they report the parsing errors
+ * of a file once it has been visited.
+ */
+class ContextReleaser {
+
+  private final Map<Class<?>, List<Field>> contextFieldsByClass = new HashMap<>();
+
+  void release(JavaFileScanner scanner) {
+    for (Field field : contextFields(scanner.getClass())) {
+      try {
+        field.set(scanner, null);
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException("Unable to release " + field, e);
+      }
+    }
+  }
+
+  private List<Field> contextFields(Class<?> clazz) {
+    List<Field> fields = contextFieldsByClass.get(clazz);
+    if (fields == null) {
+      fields = new ArrayList<>();
+      for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+        for (Field field : c.getDeclaredFields()) {
+          if (isContextField(field)) {
+            field.setAccessible(true);
+            fields.add(field);
+          }
+        }
+      }
+      contextFieldsByClass.put(clazz, fields);
+    }
+    return fields;
+  }
+
+  private static boolean isContextField(Field field) {
+    int modifiers = field.getModifiers();
+    return !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)
+      && (JavaFileScannerContext.class.isAssignableFrom(field.getType()) || SemanticModel.class.isAssignableFrom(field.getType()));
+  }
+
+}
@@ -25,20 +25,39 @@ import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.TreeVisitor;
 import org.sonar.sslr.grammar.GrammarRuleKey;
 
+import javax.annotation.Nullable;
 import java.util.List;
 
 public class InternalSyntaxToken extends JavaTree implements SyntaxToken {
 
+  /**
+   * Texts of tokens made of a single ASCII character, such as most punctuators, shared by all tokens.
+   */
+  private static final String[] SINGLE_CHARACTER_TEXTS = new String[128];
+
+  static {
+    for (char c = 0; c < SINGLE_CHARACTER_TEXTS.length; c++) {
+      SINGLE_CHARACTER_TEXTS[c] = String.valueOf(c);
+    }
+  }
+
   private List<SyntaxTrivia> trivias;
   private int startIndex;
   private int endIndex;
   private final int line;
   private final int column;
-  private final String value;
+  /**
+   * Characters of the whole file, shared by all its tokens, from which the text of the token is materialized.
+   */
+  @Nullable
+  private final char[] source;
+  @Nullable
+  private String value;
   private final boolean isEOF;
 
   protected InternalSyntaxToken(InternalSyntaxToken internalSyntaxToken) {
     super(null);
+    this.source = internalSyntaxToken.source;
     this.value = internalSyntaxToken.value;
     this.line = internalSyntaxToken.line;
     this.column = internalSyntaxToken.column;
@@ -50,6 +69,7 @@ public class InternalSyntaxToken extends JavaTree implements SyntaxToken {
 
   public InternalSyntaxToken(int line, int column, String value, List<SyntaxTrivia> trivias, int startIndex, int endIndex, boolean isEOF) {
     super(null);
+    this.source = null;
     this.value = value;
     this.line = line;
     this.column = column;
@@ -59,13 +79,40 @@ public class InternalSyntaxToken extends JavaTree implements SyntaxToken {
     this.isEOF = isEOF;
   }
 
+  /**
+   * Creates a token whose text is the range from <code>startIndex</code> to <code>endIndex</code> of <code>source</code>, which is only
+   * materialized when requested.
+   */
+  public InternalSyntaxToken(int line, int column, char[] source, List<SyntaxTrivia> trivias, int startIndex, int endIndex, boolean isEOF) {
+    super(null);
+    this.source = source;
+    this.line = line;
+    this.column = column;
+    this.trivias = trivias;
+    this.startIndex = startIndex;
+    this.endIndex = endIndex;
+    this.isEOF = isEOF;
+  }
+
   public int fromIndex() {
     return startIndex;
   }
 
   @Override
   public String text() {
-    return value;
+    String text = value;
+    if (text == null) {
+      text = text(source, startIndex, endIndex);
+      value = text;
+    }
+    return text;
+  }
+
+  private static String text(char[] source, int startIndex, int endIndex) {
+    if (endIndex - startIndex == 1 && source[startIndex] < SINGLE_CHARACTER_TEXTS.length) {
+      return SINGLE_CHARACTER_TEXTS[source[startIndex]];
+    }
+    return new String(source, startIndex, endIndex - startIndex);
   }
 
   @Override
@@ -23,22 +23,84 @@ import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.TreeVisitor;
 
+import javax.annotation.Nullable;
+import java.nio.CharBuffer;
+
 public class InternalSyntaxTrivia extends JavaTree implements SyntaxTrivia {
 
-  private final String comment;
+  /**
+   * Characters of the whole file, shared by all its tokens and trivias, from which the comment is materialized.
+   */
+  @Nullable
+  private final char[] source;
+  private final int startIndex;
+  private final int endIndex;
+  @Nullable
+  private String comment;
   private final int startLine;
   private final int column;
 
   public InternalSyntaxTrivia(String comment, int startLine, int column) {
     super(null);
+    this.source = null;
+    this.startIndex = 0;
+    this.endIndex = comment.length();
     this.comment = comment;
     this.startLine = startLine;
     this.column = column;
   }
 
+  /**
+   * Creates a trivia whose comment is the range from <code>startIndex</code> to <code>endIndex</code> of <code>source</code>, which is only
+   * materialized when requested.
+   */
+  public InternalSyntaxTrivia(char[] source, int startIndex, int endIndex, int startLine, int column) {
+    super(null);
+    this.source = source;
+    this.startIndex = startIndex;
+    this.endIndex = endIndex;
+    this.startLine = startLine;
+    this.column = column;
+  }
+
   @Override
   public String comment() {
-    return comment;
+    String text = comment;
+    if (text == null) {
+      text = new String(source, startIndex, endIndex - startIndex);
+      comment = text;
+    }
+    return text;
+  }
+
+  /**
+   * Characters of the comment, read from the source of the file when the comment has not been materialized.
+   */
+  public CharSequence commentChars() {
+    String text = comment;
+    if (text == null) {
+      return CharBuffer.wrap(source, startIndex, endIndex - startIndex);
+    }
+    return text;
+  }
+
+  public int commentLength() {
+    return endIndex - startIndex;
+  }
+
+  /**
+   * Line of the end of the comment, computed without materializing it.
+   */
+  public int endLine() {
+    CharSequence chars = commentChars();
+    int line = startLine;
+    for (int i = 0; i < chars.length(); i++) {
+      char c = chars.charAt(i);
+      if (c == '\n' || (c == '\r' && (i + 1 == chars.length() || chars.charAt(i + 1) != '\n'))) {
+        line++;
+      }
+    }
+    return line;
   }
 
   @Override
@@ -61,6 +61,12 @@ public abstract class JavaTree implements Tree {
 
   protected GrammarRuleKey grammarRuleKey;
 
+  /**
+   * Children as returned by {@link #children()}, computed on first indexed access.
+   */
+  @Nullable
+  private Tree[] childrenArray;
+
   public JavaTree(GrammarRuleKey grammarRuleKey) {
     this.grammarRuleKey = grammarRuleKey;
   }
@@ -104,6 +110,34 @@ public abstract class JavaTree implements Tree {
     return false;
   }
 
+  /**
+   * Number of children of this node, including {@code null} ones, as returned by {@link #children()}: 0 for leaves.
+   * Unlike {@link #children()}, indexed access to children does not allocate anything once the tree is complete,
+   * so it should be preferred by walkers. It should not be used before the tree is complete, i.e. during parsing.
+   */
+  public int childCount() {
+    return isLeaf() ? 0 : childrenArray().length;
+  }
+
+  /**
+   * Child of this node at the given index, which may be {@code null}.
+   *
+   * @see #childCount()
+   */
+  @Nullable
+  public Tree child(int index) {
+    return childrenArray()[index];
+  }
+
+  private Tree[] childrenArray() {
+    Tree[] result = childrenArray;
+    if (result == null) {
+      result = Iterables.toArray(children(), Tree.class);
+      childrenArray = result;
+    }
+    return result;
+  }
+
   public GrammarRuleKey getGrammarRuleKey() {
     return grammarRuleKey;
   }
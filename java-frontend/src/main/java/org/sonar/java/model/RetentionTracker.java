@@ -0,0 +1,161 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import com.google.common.collect.Multimap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Used by the memory bounded mode of {@link VisitorsBridge}: once the scanners have been notified of the end of a file, looks for the syntax trees,
+ * scanner contexts and semantic models still referenced by their fields. As trees are linked to their parent, any of them keeps the whole tree
+ * of a file reachable. Each retaining field is logged once, and the number of nodes of the tree of each retained file is recorded.
+ * Only the fields of the scanners themselves are inspected, as well as the first element of the collections, maps and arrays they reference.
+ */
+class RetentionTracker {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RetentionTracker.class);
+
+  private final Map<Class<?>, List<Field>> fieldsByClass = new HashMap<>();
+  private final Set<String> retainingFields = new HashSet<>();
+  private int retainedFiles = 0;
+  private long retainedNodes = 0;
+
+  /**
+   * @return the number of nodes of the tree of the file which remain reachable from the scanners, 0 when the file has been released.
+   */
+  int fileDone(File file, Tree tree, Iterable<JavaFileScanner> scanners) {
+    boolean retained = false;
+    for (JavaFileScanner scanner : scanners) {
+      for (Field field : fields(scanner.getClass())) {
+        if (retainsTree(value(field, scanner))) {
+          retained = true;
+          String fieldName = scanner.getClass().getName() + "." + field.getName();
+          if (retainingFields.add(fieldName)) {
+            LOG.warn("Syntax tree of " + file.getAbsolutePath() + " is retained by " + fieldName + " after the end of its analysis");
+          }
+        }
+      }
+    }
+    if (!retained) {
+      return 0;
+    }
+    int nodes = nodes(tree);
+    retainedFiles++;
+    retainedNodes += nodes;
+    LOG.debug("{} nodes of the syntax tree of {} are retained after the end of its analysis", nodes, file.getAbsolutePath());
+    return nodes;
+  }
+
+  void logSummary() {
+    if (retainedFiles > 0) {
+      LOG.warn(retainingFields.size() + " fields of the checks retained the syntax trees of " + retainedFiles + " files (" + retainedNodes + " nodes) "
+        + "after the end of their analysis");
+    }
+  }
+
+  private List<Field> fields(Class<?> clazz) {
+    List<Field> fields = fieldsByClass.get(clazz);
+    if (fields == null) {
+      fields = new ArrayList<>();
+      for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+        for (Field field : c.getDeclaredFields()) {
+          if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+            field.setAccessible(true);
+            fields.add(field);
+          }
+        }
+      }
+      fieldsByClass.put(clazz, fields);
+    }
+    return fields;
+  }
+
+  @Nullable
+  private static Object value(Field field, Object object) {
+    try {
+      return field.get(object);
+    } catch (IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  private static boolean retainsTree(@Nullable Object value) {
+    if (value instanceof Tree || value instanceof JavaFileScannerContext || value instanceof SemanticModel) {
+      return true;
+    } else if (value instanceof Iterable) {
+      return retainsTree(first((Iterable<?>) value));
+    } else if (value instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      return retainsTree(first(map.keySet())) || retainsTree(first(map.values()));
+    } else if (value instanceof Multimap) {
+      Multimap<?, ?> multimap = (Multimap<?, ?>) value;
+      return retainsTree(first(multimap.keySet())) || retainsTree(first(multimap.values()));
+    } else if (value instanceof Object[]) {
+      Object[] array = (Object[]) value;
+      return array.length > 0 && retainsTree(array[0]);
+    }
+    return false;
+  }
+
+  @Nullable
+  private static Object first(Iterable<?> iterable) {
+    Iterator<?> iterator = iterable.iterator();
+    Object first = iterator.hasNext() ? iterator.next() : null;
+    // elements are not inspected recursively, nested collections are not considered as retaining trees
+    return first instanceof Tree || !(first instanceof Iterable || first instanceof Map || first instanceof Multimap || first instanceof Object[]) ? first : null;
+  }
+
+  private static int nodes(Tree tree) {
+    int nodes = 0;
+    Deque<Tree> stack = new ArrayDeque<>();
+    stack.push(tree);
+    while (!stack.isEmpty()) {
+      JavaTree node = (JavaTree) stack.pop();
+      nodes++;
+      for (int i = 0; i < node.childCount(); i++) {
+        Tree child = node.child(i);
+        if (child != null) {
+          stack.push(child);
+        }
+      }
+    }
+    return nodes;
+  }
+
+}
@@ -25,12 +25,24 @@ import com.google.common.collect.Lists;
 import com.sonar.sslr.api.RecognitionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.java.AnalysisCache;
+import org.sonar.java.AnalysisProfiler;
 import org.sonar.java.CharsetAwareVisitor;
+import org.sonar.java.CrossFileVisitor;
+import org.sonar.java.EndOfFileAwareVisitor;
 import org.sonar.java.JavaVersionAwareVisitor;
+import org.sonar.java.LightweightAnalysis;
 import org.sonar.java.SonarComponents;
+import org.sonar.java.SyntacticVisitor;
+import org.sonar.java.TimeBudget;
 import org.sonar.java.ast.visitors.SonarSymbolTableVisitor;
+import org.sonar.java.ast.visitors.SubscriptionVisitor;
+import org.sonar.java.ast.visitors.SubscriptionVisitorsDispatcher;
 import org.sonar.java.resolve.SemanticModel;
+import org.sonar.java.resolve.SharedSymbols;
 import org.sonar.java.se.SymbolicExecutionVisitor;
+import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.JavaVersion;
@@ -44,6 +56,8 @@ import java.io.File;
 import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public class VisitorsBridge {
 
@@ -53,9 +67,24 @@ public class VisitorsBridge {
   private List<JavaFileScanner> executableScanners;
   private final SonarComponents sonarComponents;
   private final boolean symbolicExecutionEnabled;
+  private boolean symbolTableEnabled = true;
+  private boolean semanticModelRequired;
   private SemanticModel semanticModel;
   private List<File> projectClasspath;
+  private SharedSymbols sharedSymbols;
+  private File bytecodeIndexDirectory;
+  private File analysisCacheFile;
+  private Charset charset;
+  private AnalysisCache analysisCache;
+  private Map<String, JavaCheck> cachedChecks;
+  private List<JavaFileScanner> uncachedScanners;
+  private LightweightAnalysis lightweightAnalysis = LightweightAnalysis.disabled();
+  private List<JavaFileScanner> lightweightScanners;
   private boolean analyseAccessors;
+  private AnalysisProfiler profiler = AnalysisProfiler.disabled();
+  private TimeBudget timeBudget = TimeBudget.unlimited();
+  private RetentionTracker retentionTracker;
+  private final ContextReleaser contextReleaser = new ContextReleaser();
   protected File currentFile;
   protected JavaVersion javaVersion;
 
@@ -77,17 +106,54 @@ public class VisitorsBridge {
       }
     }
     this.scanners = scannersBuilder.build();
-    this.executableScanners = scanners;
+    this.executableScanners = executableScanners(scanners, null, profiler);
     this.sonarComponents = sonarComponents;
     this.projectClasspath = projectClasspath;
     this.symbolicExecutionEnabled = symbolicExecutionEnabled;
+    this.semanticModelRequired = requiresSemanticModel();
   }
 
   public void setAnalyseAccessors(boolean analyseAccessors) {
     this.analyseAccessors = analyseAccessors;
   }
 
+  /**
+   * The symbol table of the files, used to navigate the code, relies on their semantic model.
+   */
+  public void setSymbolTableEnabled(boolean symbolTableEnabled) {
+    this.symbolTableEnabled = symbolTableEnabled;
+    this.semanticModelRequired = requiresSemanticModel();
+  }
+
+  /**
+   * The semantic model is only computed when a scanner, the symbol table or symbolic execution relies on it: scanners which do not
+   * implement {@link SyntacticVisitor} are assumed to require it.
+   */
+  private boolean requiresSemanticModel() {
+    if (symbolicExecutionEnabled || (symbolTableEnabled && sonarComponents != null)) {
+      return true;
+    }
+    for (JavaFileScanner scanner : scanners) {
+      if (!(scanner instanceof SyntacticVisitor)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public void setBytecodeIndexDirectory(@Nullable File bytecodeIndexDirectory) {
+    this.bytecodeIndexDirectory = bytecodeIndexDirectory;
+  }
+
+  /**
+   * Issues raised by checks are replayed from this file for the files which have not changed since the previous analysis.
+   */
+  public void setAnalysisCacheFile(@Nullable File analysisCacheFile) {
+    this.analysisCacheFile = analysisCacheFile;
+  }
+
   public void setCharset(Charset charset) {
+    this.charset = charset;
     for (JavaFileScanner scanner : scanners) {
       if (scanner instanceof CharsetAwareVisitor) {
         ((CharsetAwareVisitor) scanner).setCharset(charset);
@@ -97,49 +163,266 @@ public class VisitorsBridge {
 
   public void setJavaVersion(JavaVersion javaVersion) {
     this.javaVersion = javaVersion;
-    this.executableScanners = executableScanners(scanners, javaVersion);
+    this.executableScanners = executableScanners(scanners, javaVersion, profiler);
+  }
+
+  /**
+   * When profiling, scanners are executed one by one so that each of them is measured.
+   */
+  public void setProfiler(AnalysisProfiler profiler) {
+    this.profiler = profiler;
+    this.executableScanners = executableScanners(scanners, javaVersion, profiler);
+  }
+
+  public AnalysisProfiler profiler() {
+    return profiler;
+  }
+
+  /**
+   * Files exceeding the budget are analyzed without symbolic execution nor semantic model.
+   */
+  public void setTimeBudget(TimeBudget timeBudget) {
+    this.timeBudget = timeBudget;
+  }
+
+  public TimeBudget timeBudget() {
+    return timeBudget;
+  }
+
+  /**
+   * Files analyzed lightly are only visited by the scanners which are not rules, and by the rules executed on such files.
+   */
+  public void setLightweightAnalysis(LightweightAnalysis lightweightAnalysis) {
+    this.lightweightAnalysis = lightweightAnalysis;
+    this.lightweightScanners = null;
+  }
+
+  /**
+   * In memory bounded mode, the scanners still referencing the tree of a file once notified of its end are logged, as well as the size of the trees they retain.
+   */
+  public void setMemoryBounded(boolean memoryBounded) {
+    this.retentionTracker = memoryBounded ? new RetentionTracker() : null;
   }
 
   public void visitFile(@Nullable Tree parsedTree) {
-    semanticModel = null;
+    visitPreparedFile(prepareFile(currentFile, parsedTree));
+  }
+
+  public PreparedFile prepareFile(File file, @Nullable Tree parsedTree) {
+    return prepareFile(file, parsedTree, timeBudget.start());
+  }
+
+  /**
+   * Computes everything which only depends on the file itself (the tree and its semantic model).
+   * Scanners are not involved, so files can be prepared concurrently while another one is being visited.
+   * @param timer timer of the file, which may already account for its parsing.
+   */
+  public PreparedFile prepareFile(File file, @Nullable Tree parsedTree, TimeBudget.Timer timer) {
     CompilationUnitTree tree = new JavaTree.CompilationUnitTreeImpl(null, Lists.<ImportClauseTree>newArrayList(), Lists.<Tree>newArrayList(), null);
     boolean fileParsed = parsedTree != null;
+    SemanticModel model = null;
+    Exception semanticError = null;
+    String lightweightReason = null;
     if (fileParsed && parsedTree.is(Tree.Kind.COMPILATION_UNIT)) {
       tree = (CompilationUnitTree) parsedTree;
-      if (isNotJavaLangOrSerializable(PackageUtils.packageName(tree.packageDeclaration(), "/"))) {
+      lightweightReason = lightweightAnalysis.reason(file, tree);
+      // a file already over budget once parsed is analyzed without semantic model
+      if (semanticModelRequired && lightweightReason == null && !timer.isExceeded()
+        && isNotJavaLangOrSerializable(file, PackageUtils.packageName(tree.packageDeclaration(), "/"))) {
+        AnalysisProfiler.Sample sample = profiler.start();
+        timer.startPhase();
         try {
-          semanticModel = SemanticModel.createFor(tree, getProjectClasspath());
+          model = SemanticModel.createFor(tree, getSharedSymbols());
         } catch (Exception e) {
-          LOG.error("Unable to create symbol table for : " + currentFile.getAbsolutePath(), e);
-          return;
+          semanticError = e;
         }
-        createSonarSymbolTable(tree);
+        timer.endPhase(AnalysisProfiler.SEMANTIC);
+        profiler.record(AnalysisProfiler.Kind.PHASE, AnalysisProfiler.SEMANTIC, file, sample);
       } else {
         SemanticModel.handleMissingTypes(tree);
       }
     }
-    JavaFileScannerContext javaFileScannerContext = createScannerContext(tree, semanticModel, analyseAccessors, sonarComponents, fileParsed);
-    // Symbolic execution checks
-    if (symbolicExecutionEnabled && isNotJavaLangOrSerializable(PackageUtils.packageName(tree.packageDeclaration(), "/"))) {
-      new SymbolicExecutionVisitor().scanFile(javaFileScannerContext);
+    return new PreparedFile(file, tree, fileParsed, model, semanticError, lightweightReason, timer);
+  }
+
+  public void visitPreparedFile(PreparedFile preparedFile) {
+    currentFile = preparedFile.file;
+    semanticModel = preparedFile.semanticModel;
+    if (preparedFile.semanticError != null) {
+      LOG.error("Unable to create symbol table for : " + currentFile.getAbsolutePath(), preparedFile.semanticError);
+      endOfFile(preparedFile.tree);
+      return;
+    }
+    if (semanticModel != null) {
+      semanticModel.startVisit();
+    }
+    CompilationUnitTree tree = preparedFile.tree;
+    TimeBudget.Timer timer = preparedFile.timer;
+    boolean lightweight = preparedFile.lightweightReason != null;
+    if (lightweight) {
+      LOG.info("Lightweight analysis of " + currentFile.getAbsolutePath() + ": " + preparedFile.lightweightReason
+        + ", semantic analysis, symbolic execution and most rules are skipped");
+      profiler.recordLightweightFile(currentFile, preparedFile.lightweightReason);
+    }
+    if (semanticModel != null && symbolTableEnabled && sonarComponents != null && !timer.isExceeded()) {
+      AnalysisProfiler.Sample sample = profiler.start();
+      timer.startPhase();
+      createSonarSymbolTable(tree);
+      timer.endPhase(AnalysisProfiler.SYMBOL_TABLE);
+      profiler.record(AnalysisProfiler.Kind.PHASE, AnalysisProfiler.SYMBOL_TABLE, currentFile, sample);
+    }
+    boolean overBudget = timer.isExceeded();
+    if (overBudget) {
+      reportOverBudget(timer, "symbolic execution and checks relying on the semantic model are skipped");
+    }
+    JavaFileScannerContext javaFileScannerContext = createScannerContext(tree, overBudget ? null : semanticModel, analyseAccessors, sonarComponents, preparedFile.fileParsed);
+    boolean issuesReplayed = false;
+    AnalysisCache.Recorder recorder = null;
+    String contentHash = isCacheable(preparedFile) ? AnalysisCache.contentHash(currentFile) : null;
+    if (contentHash != null) {
+      AnalysisCache cache = getAnalysisCache();
+      issuesReplayed = cache.replay(currentFile, contentHash, sonarComponents, cachedChecks);
+      if (!issuesReplayed) {
+        recorder = cache.record(currentFile, contentHash);
+        sonarComponents.setIssueListener(recorder);
+      }
+    }
+    try {
+      // Symbolic execution checks
+      if (!issuesReplayed && !overBudget && !lightweight && symbolicExecutionEnabled
+        && isNotJavaLangOrSerializable(currentFile, PackageUtils.packageName(tree.packageDeclaration(), "/"))) {
+        executeSymbolicExecution(javaFileScannerContext, timer);
+      }
+      for (JavaFileScanner scanner : scannersToExecute(issuesReplayed, lightweight)) {
+        AnalysisProfiler.Sample sample = profiler.start();
+        scanner.scanFile(javaFileScannerContext);
+        if (scanner instanceof SubscriptionVisitorsDispatcher) {
+          profiler.record(AnalysisProfiler.Kind.PHASE, AnalysisProfiler.DISPATCHED_CHECKS, currentFile, sample);
+        } else {
+          profiler.record(AnalysisProfiler.Kind.CHECK, scanner.getClass().getName(), currentFile, sample);
+        }
+      }
+    } finally {
+      if (recorder != null) {
+        sonarComponents.setIssueListener(null);
+      }
     }
-    for (JavaFileScanner scanner : executableScanners) {
-      scanner.scanFile(javaFileScannerContext);
+    if (recorder != null && !timer.isExceeded()) {
+      recorder.done(semanticModel.loadedProjectClasses(), semanticModel.missingProjectClasses());
     }
     if (semanticModel != null) {
       // Close class loader after all the checks.
       semanticModel.done();
     }
+    endOfFile(tree);
   }
 
-  private static List<JavaFileScanner> executableScanners(List<JavaFileScanner> scanners, JavaVersion javaVersion) {
-    ImmutableList.Builder<JavaFileScanner> results = ImmutableList.builder();
+  /**
+   * Lets the scanners release the file, so that neither its tree nor its semantic model remain reachable while the next file is analyzed.
+   */
+  private void endOfFile(CompilationUnitTree tree) {
+    semanticModel = null;
+    for (JavaFileScanner scanner : scanners) {
+      if (scanner instanceof EndOfFileAwareVisitor) {
+        ((EndOfFileAwareVisitor) scanner).endOfFile();
+      } else if (!(scanner instanceof AstScannerExceptionHandler)) {
+        // exception handlers report the parsing errors of the file on its context once it has been visited
+        contextReleaser.release(scanner);
+      }
+    }
+    if (retentionTracker != null) {
+      retentionTracker.fileDone(currentFile, tree, scanners);
+    }
+  }
+
+  private void executeSymbolicExecution(JavaFileScannerContext javaFileScannerContext, TimeBudget.Timer timer) {
+    AnalysisProfiler.Sample sample = profiler.start();
+    timer.startPhase();
+    new SymbolicExecutionVisitor(profiler, timer).scanFile(javaFileScannerContext);
+    timer.endPhase(AnalysisProfiler.SYMBOLIC_EXECUTION);
+    profiler.record(AnalysisProfiler.Kind.PHASE, AnalysisProfiler.SYMBOLIC_EXECUTION, currentFile, sample);
+    if (timer.isExceeded()) {
+      reportOverBudget(timer, "symbolic execution has been interrupted");
+    }
+  }
+
+  private void reportOverBudget(TimeBudget.Timer timer, String consequence) {
+    String reason = timer.exceededReason();
+    LOG.warn("Time budget exceeded for " + currentFile.getAbsolutePath() + ": " + reason + ", " + consequence);
+    profiler.recordFileOverBudget(currentFile, reason + ", " + consequence);
+  }
+
+  private List<JavaFileScanner> scannersToExecute(boolean issuesReplayed, boolean lightweight) {
+    if (issuesReplayed) {
+      return uncachedScanners;
+    } else if (lightweight) {
+      return getLightweightScanners();
+    }
+    return executableScanners;
+  }
+
+  private List<JavaFileScanner> getLightweightScanners() {
+    if (lightweightScanners == null) {
+      List<JavaFileScanner> selectedScanners = Lists.newArrayList();
+      for (JavaFileScanner scanner : scanners) {
+        if (lightweightAnalysis.isExecuted(sonarComponents == null ? null : sonarComponents.getRuleKey(scanner))) {
+          selectedScanners.add(scanner);
+        }
+      }
+      lightweightScanners = executableScanners(selectedScanners, javaVersion, profiler);
+    }
+    return lightweightScanners;
+  }
+
+  private boolean isCacheable(PreparedFile preparedFile) {
+    return analysisCacheFile != null && sonarComponents != null && preparedFile.fileParsed && preparedFile.semanticModel != null && !preparedFile.timer.isExceeded();
+  }
+
+  /**
+   * Issues of the checks which only depend on the file they analyze are cached, the other scanners are always executed.
+   */
+  private AnalysisCache getAnalysisCache() {
+    if (analysisCache == null) {
+      cachedChecks = new TreeMap<>();
+      List<JavaFileScanner> otherScanners = Lists.newArrayList();
+      for (JavaFileScanner scanner : scanners) {
+        RuleKey ruleKey = scanner instanceof CrossFileVisitor ? null : sonarComponents.getRuleKey(scanner);
+        if (ruleKey == null) {
+          otherScanners.add(scanner);
+        } else {
+          cachedChecks.put(ruleKey.toString(), scanner);
+        }
+      }
+      uncachedScanners = executableScanners(otherScanners, javaVersion, profiler);
+      analysisCache = AnalysisCache.load(analysisCacheFile, AnalysisCache.fingerprint(cachedChecks, projectClasspath, javaVersion, charset), projectClasspath);
+    }
+    return analysisCache;
+  }
+
+  /**
+   * Scanners compatible with the java version, if any. Subscription visitors which only rely on the default tree walk are grouped
+   * behind a single {@link SubscriptionVisitorsDispatcher}, taking the place of the first of them, so that the tree is walked once for all of them.
+   */
+  private static List<JavaFileScanner> executableScanners(List<JavaFileScanner> scanners, @Nullable JavaVersion javaVersion, AnalysisProfiler profiler) {
+    List<JavaFileScanner> results = Lists.newArrayList();
+    List<SubscriptionVisitor> dispatchedVisitors = Lists.newArrayList();
+    int dispatcherIndex = -1;
     for (JavaFileScanner scanner : scanners) {
-      if (!(scanner instanceof JavaVersionAwareVisitor) || ((JavaVersionAwareVisitor) scanner).isCompatibleWithJavaVersion(javaVersion)) {
-        results.add(scanner);
+      if (javaVersion == null || !(scanner instanceof JavaVersionAwareVisitor) || ((JavaVersionAwareVisitor) scanner).isCompatibleWithJavaVersion(javaVersion)) {
+        if (SubscriptionVisitorsDispatcher.canDispatchTo(scanner)) {
+          if (dispatchedVisitors.isEmpty()) {
+            dispatcherIndex = results.size();
+          }
+          dispatchedVisitors.add((SubscriptionVisitor) scanner);
+        } else {
+          results.add(scanner);
+        }
       }
     }
-    return results.build();
+    if (!dispatchedVisitors.isEmpty()) {
+      results.add(dispatcherIndex, new SubscriptionVisitorsDispatcher(dispatchedVisitors, profiler));
+    }
+    return ImmutableList.copyOf(results);
   }
 
   protected JavaFileScannerContext createScannerContext(
@@ -154,8 +437,8 @@ public class VisitorsBridge {
       fileParsed);
   }
 
-  private boolean isNotJavaLangOrSerializable(String packageName) {
-    String name = currentFile.getName();
+  private static boolean isNotJavaLangOrSerializable(File file, String packageName) {
+    String name = file.getName();
     return !(inJavaLang(packageName) || isAnnotation(packageName, name) || isSerializable(packageName, name));
   }
 
@@ -171,17 +454,36 @@ public class VisitorsBridge {
     return "java/lang".equals(packageName);
   }
 
-  private List<File> getProjectClasspath() {
-    return projectClasspath;
+  /**
+   * Symbols of the libraries of the classpath, loaded once for all the files and released by {@link #endOfAnalysis()}.
+   * Files can be prepared concurrently, hence the synchronization.
+   */
+  private synchronized SharedSymbols getSharedSymbols() {
+    if (sharedSymbols == null) {
+      sharedSymbols = new SharedSymbols(projectClasspath, bytecodeIndexDirectory);
+    }
+    return sharedSymbols;
   }
 
-  private void createSonarSymbolTable(CompilationUnitTree tree) {
-    if (sonarComponents != null) {
-      SonarSymbolTableVisitor symVisitor = new SonarSymbolTableVisitor(sonarComponents.symbolizableFor(currentFile), semanticModel);
-      symVisitor.visitCompilationUnit(tree);
+  public synchronized void endOfAnalysis() {
+    if (retentionTracker != null) {
+      retentionTracker.logSummary();
+    }
+    if (analysisCache != null) {
+      analysisCache.save();
+      analysisCache = null;
+    }
+    if (sharedSymbols != null) {
+      sharedSymbols.done();
+      sharedSymbols = null;
     }
   }
 
+  private void createSonarSymbolTable(CompilationUnitTree tree) {
+    SonarSymbolTableVisitor symVisitor = new SonarSymbolTableVisitor(sonarComponents.symbolizableFor(currentFile), semanticModel);
+    symVisitor.visitCompilationUnit(tree);
+  }
+
   public void processRecognitionException(RecognitionException e) {
     for (JavaFileScanner scanner : scanners) {
       if (scanner instanceof AstScannerExceptionHandler) {
@@ -194,4 +496,35 @@ public class VisitorsBridge {
     this.currentFile = currentFile;
   }
 
+  /**
+   * Result of {@link #prepareFile(File, Tree, TimeBudget.Timer)}, to be visited by {@link #visitPreparedFile(PreparedFile)}.
+   */
+  public static final class PreparedFile {
+    private final File file;
+    private final CompilationUnitTree tree;
+    private final boolean fileParsed;
+    @Nullable
+    private final SemanticModel semanticModel;
+    @Nullable
+    private final Exception semanticError;
+    @Nullable
+    private final String lightweightReason;
+    private final TimeBudget.Timer timer;
+
+    private PreparedFile(File file, CompilationUnitTree tree, boolean fileParsed, @Nullable SemanticModel semanticModel, @Nullable Exception semanticError,
+      @Nullable String lightweightReason, TimeBudget.Timer timer) {
+      this.file = file;
+      this.tree = tree;
+      this.fileParsed = fileParsed;
+      this.semanticModel = semanticModel;
+      this.semanticError = semanticError;
+      this.lightweightReason = lightweightReason;
+      this.timer = timer;
+    }
+
+    public File file() {
+      return file;
+    }
+  }
+
 }
@@ -91,6 +91,16 @@ public class IdentifierTreeImpl extends AbstractTypedTree implements IdentifierT
     return Iterables.concat(annotations, Collections.singletonList(nameToken));
   }
 
+  @Override
+  public int childCount() {
+    return annotations.size() + 1;
+  }
+
+  @Override
+  public Tree child(int index) {
+    return index < annotations.size() ? annotations.get(index) : nameToken;
+  }
+
   @Override
   public List<AnnotationTree> annotations() {
     return annotations;
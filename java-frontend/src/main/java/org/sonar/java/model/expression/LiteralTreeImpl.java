@@ -65,4 +65,14 @@ public class LiteralTreeImpl extends AbstractTypedTree implements LiteralTree {
     return Collections.<Tree>singletonList(token);
   }
 
+  @Override
+  public int childCount() {
+    return 1;
+  }
+
+  @Override
+  public Tree child(int index) {
+    return token;
+  }
+
 }
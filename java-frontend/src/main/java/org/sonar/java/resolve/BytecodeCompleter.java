@@ -29,15 +29,19 @@ import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.java.bytecode.ClassLoaderBuilder;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
 
 import javax.annotation.Nullable;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class BytecodeCompleter implements JavaSymbol.Completer {
 
@@ -57,12 +61,71 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
    */
   private final Map<String, JavaSymbol.TypeJavaSymbol> classes = new HashMap<>();
   private final Map<String, JavaSymbol.PackageJavaSymbol> packages = new HashMap<>();
+  /**
+   * Flat names of the classes loaded from the classpath of this completer, when other classes are loaded by a shared completer.
+   */
+  private final Set<String> loadedClasses = new HashSet<>();
+  /**
+   * Full names of the classes found missing from the classpath, which is not expected to change during the analysis.
+   */
+  private final Set<String> missingClasses = new HashSet<>();
 
   private ClassLoader classLoader;
 
+  /**
+   * Completer of the shared symbols, to which are delegated the classes not found in the classpath of this completer.
+   * Completers of shared symbols themselves delegate the classes of the JDK to the completer of the bootstrap symbols.
+   */
+  @Nullable
+  private final BytecodeCompleter sharedCompleter;
+  private final boolean shared;
+  private final boolean bootstrap;
+  @Nullable
+  private final File indexDirectory;
+  /**
+   * Names of the class files of the directories of this completer, when other classes are loaded by a shared completer.
+   */
+  private final Set<String> directoryClassFiles;
+
   public BytecodeCompleter(List<File> projectClasspath, ParametrizedTypeCache parametrizedTypeCache) {
+    this(projectClasspath, parametrizedTypeCache, null, false, false, null, Collections.<String>emptySet());
+  }
+
+  /**
+   * Completer of the classes of the given directories, other classes being loaded by the given shared completer.
+   * @param directoryClassFiles names of the class files of the directories, see {@link SharedSymbols#classFiles(List)}
+   */
+  BytecodeCompleter(List<File> directories, ParametrizedTypeCache parametrizedTypeCache, BytecodeCompleter sharedCompleter, Set<String> directoryClassFiles) {
+    this(directories, parametrizedTypeCache, sharedCompleter, false, false, null, directoryClassFiles);
+  }
+
+  private BytecodeCompleter(List<File> projectClasspath, ParametrizedTypeCache parametrizedTypeCache, @Nullable BytecodeCompleter sharedCompleter, boolean shared,
+    boolean bootstrap, @Nullable File indexDirectory, Set<String> directoryClassFiles) {
     this.projectClasspath = projectClasspath;
     this.parametrizedTypeCache = parametrizedTypeCache;
+    this.sharedCompleter = sharedCompleter;
+    this.shared = shared;
+    this.bootstrap = bootstrap;
+    this.indexDirectory = indexDirectory;
+    this.directoryClassFiles = directoryClassFiles;
+  }
+
+  /**
+   * Completer of symbols shared between files: its symbols can be loaded and completed concurrently.
+   * When an index directory is provided, classes of jars are read through indexes persisted in this directory.
+   * @param bootstrapCompleter completer of the classes of the JDK, see {@link #bootstrapCompleter(ParametrizedTypeCache)}
+   */
+  static BytecodeCompleter sharedCompleter(List<File> libraries, ParametrizedTypeCache parametrizedTypeCache, @Nullable File indexDirectory,
+    BytecodeCompleter bootstrapCompleter) {
+    return new BytecodeCompleter(libraries, parametrizedTypeCache, bootstrapCompleter, true, false, indexDirectory, Collections.<String>emptySet());
+  }
+
+  /**
+   * Completer of the classes found by the bootstrap class loader, i.e. the classes of the JDK, which do not depend on the classpath of the analysis.
+   * Its symbols are shared by all the analyses of the JVM.
+   */
+  static BytecodeCompleter bootstrapCompleter(ParametrizedTypeCache parametrizedTypeCache) {
+    return new BytecodeCompleter(Collections.<File>emptyList(), parametrizedTypeCache, null, true, true, null, Collections.<String>emptySet());
   }
 
   public void init(Symbols symbols) {
@@ -77,7 +140,7 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
   }
 
   @Override
-  public void complete(JavaSymbol symbol) {
+  public synchronized void complete(JavaSymbol symbol) {
     LOG.debug("Completing symbol : " + symbol.name);
     //complete outer class to set flags for inner class properly.
     if (symbol.owner.isKind(JavaSymbol.TYP)) {
@@ -87,23 +150,44 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
     JavaSymbol.TypeJavaSymbol classSymbol = getClassSymbol(bytecodeName);
     Preconditions.checkState(classSymbol == symbol);
 
+    ClassReader classReader = classReader(bytecodeName);
+    if (classReader != null) {
+      // only the header of the class is read here: fields and methods are read on demand, see completeMembers
+      classReader.accept(
+          new BytecodeVisitor(this, symbols, classSymbol, parametrizedTypeCache, false),
+          ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+      classSymbol.membersCompleter = this;
+    }
+  }
+
+  /**
+   * Reads the fields and methods of a class, whose header has been read by {@link #complete(JavaSymbol)}.
+   * Most classes of the classpath are only needed for their supertypes, so their members are read only once queried.
+   */
+  synchronized void completeMembers(JavaSymbol.TypeJavaSymbol symbol) {
+    ClassReader classReader = classReader(formFullName(symbol));
+    if (classReader != null) {
+      classReader.accept(
+          new BytecodeVisitor(this, symbols, symbol, parametrizedTypeCache, true),
+          ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
+    }
+    symbol.members.freeze();
+  }
+
+  @Nullable
+  private ClassReader classReader(String bytecodeName) {
     InputStream inputStream = null;
-    ClassReader classReader = null;
     try {
       inputStream = inputStreamFor(bytecodeName);
-      if(inputStream != null) {
-        classReader = new ClassReader(inputStream);
+      if (inputStream != null) {
+        return new ClassReader(inputStream);
       }
+      return null;
     } catch (IOException e) {
       throw Throwables.propagate(e);
     } finally {
       Closeables.closeQuietly(inputStream);
     }
-    if (classReader != null) {
-      classReader.accept(
-          new BytecodeVisitor(this, symbols, (JavaSymbol.TypeJavaSymbol) symbol, parametrizedTypeCache),
-          ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
-    }
   }
 
   @Nullable
@@ -113,11 +197,37 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
 
   private ClassLoader getClassLoader() {
     if (classLoader == null) {
-      classLoader = ClassLoaderBuilder.create(projectClasspath);
+      if (sharedCompleter != null || indexDirectory != null) {
+        // the loader of the shared completer lives as long as the analysis: its jars are mapped
+        classLoader = new SquidClassLoader(projectClasspath, indexDirectory, shared);
+      } else {
+        classLoader = ClassLoaderBuilder.create(projectClasspath);
+      }
     }
     return classLoader;
   }
 
+  /**
+   * Classes which are neither registered from sources nor found in the classpath of this completer are loaded by the shared completer.
+   */
+  private boolean isDelegated(String flatName) {
+    if (sharedCompleter == null || classes.containsKey(flatName)) {
+      return false;
+    }
+    if (shared) {
+      return sharedCompleter.isBootstrapClass(flatName);
+    }
+    // only look into the directories of this completer, which have been listed once for all the files
+    return !directoryClassFiles.contains(Convert.bytecodeName(flatName) + ".class");
+  }
+
+  /**
+   * Whether the class is found by the bootstrap class loader, which takes precedence over the classpath of the analysis.
+   */
+  private synchronized boolean isBootstrapClass(String flatName) {
+    return classes.containsKey(flatName) || getClassLoader().getResource(Convert.bytecodeName(flatName) + ".class") != null;
+  }
+
   public String formFullName(JavaSymbol symbol) {
     return formFullName(symbol.name, symbol.owner);
   }
@@ -146,8 +256,11 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
   JavaSymbol.TypeJavaSymbol getClassSymbol(String bytecodeName, int flags) {
     return getClassSymbol(null, bytecodeName, flags);
   }
-  public JavaSymbol.TypeJavaSymbol getClassSymbol(@Nullable JavaSymbol.TypeJavaSymbol classSymbolOwner, String bytecodeName, int flags) {
+  public synchronized JavaSymbol.TypeJavaSymbol getClassSymbol(@Nullable JavaSymbol.TypeJavaSymbol classSymbolOwner, String bytecodeName, int flags) {
     String flatName = Convert.flatName(bytecodeName);
+    if (classSymbolOwner == null && isDelegated(flatName)) {
+      return sharedCompleter.getClassSymbol(null, bytecodeName, flags);
+    }
     JavaSymbol.TypeJavaSymbol symbol = classes.get(flatName);
     if (symbol == null) {
       String shortName = Convert.shortName(flatName);
@@ -164,6 +277,8 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
         symbol = new JavaSymbol.TypeJavaSymbol(filterBytecodeFlags(flags), Convert.innerClassName(Convert.shortName(owner.getFullyQualifiedName()), shortName), owner);
       } else {
         symbol = new JavaSymbol.TypeJavaSymbol(filterBytecodeFlags(flags), shortName, enterPackage(packageName));
+        symbol.shared = shared;
+        symbol.bootstrap = bootstrap;
       }
       symbol.members = new Scope(symbol);
       symbol.typeParameters = new Scope(symbol);
@@ -178,6 +293,9 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
       }
 
       classes.put(flatName, symbol);
+      if (sharedCompleter != null && !shared) {
+        loadedClasses.add(flatName);
+      }
     }
     return symbol;
   }
@@ -194,17 +312,28 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
    * @return symbol for requested class, if corresponding class file exists, and {@link org.sonar.java.resolve.Resolve.JavaSymbolNotFound} otherwise
    */
   // TODO(Godin): Method name is misleading because of lazy loading.
-  public JavaSymbol loadClass(String fullname) {
+  public synchronized JavaSymbol loadClass(String fullname) {
     JavaSymbol.TypeJavaSymbol symbol = classes.get(fullname);
     if (symbol != null) {
       return symbol;
     }
+    if (missingClasses.contains(fullname)) {
+      return new Resolve.JavaSymbolNotFound();
+    }
+    if (isDelegated(fullname)) {
+      JavaSymbol result = sharedCompleter.loadClass(fullname);
+      if (!shared && result.kind >= JavaSymbol.ERRONEOUS) {
+        missingClasses.add(fullname);
+      }
+      return result;
+    }
 
     // TODO(Godin): pull out conversion of name from the next method to avoid unnecessary conversion afterwards:
     InputStream inputStream = inputStreamFor(fullname);
     String bytecodeName = Convert.bytecodeName(fullname);
 
     if (inputStream == null) {
+      missingClasses.add(fullname);
       return new Resolve.JavaSymbolNotFound();
     }
 
@@ -212,6 +341,7 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
       ClassReader classReader = new ClassReader(inputStream);
       String className = classReader.getClassName();
       if (!className.equals(bytecodeName)) {
+        missingClasses.add(fullname);
         return new Resolve.JavaSymbolNotFound();
       }
     } catch (IOException e) {
@@ -223,18 +353,38 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
     return getClassSymbol(fullname);
   }
 
-  public JavaSymbol.PackageJavaSymbol enterPackage(String fullname) {
+  public synchronized JavaSymbol.PackageJavaSymbol enterPackage(String fullname) {
     if (StringUtils.isBlank(fullname)) {
       return symbols.defaultPackage;
     }
+    if (sharedCompleter != null && !shared) {
+      return sharedCompleter.enterPackage(fullname);
+    }
+    // packages of the shared symbols are not the ones of the bootstrap symbols, so that the classes of the libraries are not entered into bootstrap packages
     JavaSymbol.PackageJavaSymbol result = packages.get(fullname);
     if (result == null) {
       result = new JavaSymbol.PackageJavaSymbol(fullname, symbols.defaultPackage);
+      result.shared = shared;
+      result.bootstrap = bootstrap;
       packages.put(fullname, result);
     }
     return result;
   }
 
+  public Set<String> loadedClasses() {
+    return Collections.unmodifiableSet(loadedClasses);
+  }
+
+  /**
+   * Full names of the classes looked up but not found, neither in the classpath of this completer nor by the shared completer.
+   */
+  public Set<String> missingClasses() {
+    if (sharedCompleter == null || shared) {
+      return Collections.emptySet();
+    }
+    return Collections.unmodifiableSet(missingClasses);
+  }
+
   public void done() {
     if (classLoader != null && classLoader instanceof Closeable) {
       Closeables.closeQuietly((Closeable) classLoader);
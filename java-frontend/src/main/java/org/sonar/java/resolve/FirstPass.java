@@ -107,11 +107,11 @@ public class FirstPass extends BaseTreeVisitor {
       compilationUnitPackage = (JavaSymbol.PackageJavaSymbol) resolve.findIdentInPackage(compilationUnitPackage, packageResolver.packageName, JavaSymbol.PCK);
       semanticModel.associateSymbol(packageName, compilationUnitPackage);
     }
-    compilationUnitPackage.members = new Scope(compilationUnitPackage);
 
     env = new Resolve.Env();
     env.packge = compilationUnitPackage;
-    env.scope = compilationUnitPackage.members;
+    // package symbols are shared between files: the scope of the compilation unit is not stored in the package
+    env.scope = new Scope(compilationUnitPackage);
     env.namedImports = new Scope(compilationUnitPackage);
     env.starImports = resolve.createStarImportScope(compilationUnitPackage);
     env.staticStarImports = resolve.createStaticStarImportScope(compilationUnitPackage);
@@ -62,11 +62,22 @@ public class JavaSymbol implements Symbol {
 
   JavaSymbol owner;
 
-  Completer completer;
+  volatile Completer completer;
 
   JavaType type;
 
   boolean completing = false;
+
+  /**
+   * Shared symbols are loaded once for all the files analyzed against the same classpath (see {@link SharedSymbols}):
+   * they do not record usages, which are read from the semantic model of the file being visited, and must not be modified once completed.
+   * Symbols owned by a shared class or method are shared as well.
+   */
+  boolean shared;
+  /**
+   * Bootstrap symbols (predefined symbols and classes of the JDK) are shared as well, but loaded once for all the analyses of the JVM.
+   */
+  boolean bootstrap;
   private ImmutableList.Builder<IdentifierTree> usagesBuilder;
   private List<IdentifierTree> usages;
 
@@ -77,6 +88,8 @@ public class JavaSymbol implements Symbol {
     this.owner = owner;
     this.symbolMetadata = new SymbolMetadataResolve();
     this.usagesBuilder = ImmutableList.builder();
+    this.shared = owner != null && owner.kind != PCK && owner.shared;
+    this.bootstrap = owner != null && owner.kind != PCK && owner.bootstrap;
   }
 
   /**
@@ -102,12 +115,21 @@ public class JavaSymbol implements Symbol {
   }
 
   public void complete() {
-    if (completer != null) {
-      Completer c = completer;
-      completer = null;
-      completing = true;
-      c.complete(this);
-      completing = false;
+    Completer c = completer;
+    if (c != null) {
+      // shared symbols can be completed concurrently: the completer is released only once completion is over,
+      // so that other threads wait for it instead of reading a partially completed symbol.
+      synchronized (c) {
+        if (completer != null && !completing) {
+          completing = true;
+          try {
+            c.complete(this);
+          } finally {
+            completer = null;
+            completing = false;
+          }
+        }
+      }
     }
   }
 
@@ -252,11 +274,16 @@ public class JavaSymbol implements Symbol {
   }
 
   public void addUsage(IdentifierTree tree) {
-    usagesBuilder.add(tree);
+    if (!shared) {
+      usagesBuilder.add(tree);
+    }
   }
 
   @Override
   public List<IdentifierTree> usages() {
+    if (shared) {
+      return SemanticModel.usagesInVisitedFile(this);
+    }
     if (usages == null) {
       usages = usagesBuilder.build();
     }
@@ -298,6 +325,15 @@ public class JavaSymbol implements Symbol {
 
     private String fullyQualifiedName;
     Scope members;
+    /**
+     * Set once the header of a class read from bytecode is completed, to read its fields and methods when first queried.
+     */
+    volatile BytecodeCompleter membersCompleter;
+    private boolean completingMembers = false;
+    /**
+     * Memoized once this class and all its supertypes are completed, as subtyping is queried over and over for the same types.
+     */
+    private SuperTypeClosure superTypeClosure;
     Scope typeParameters;
     List<JavaType.TypeVariableJavaType> typeVariableTypes;
     ClassTree declaration;
@@ -345,9 +381,28 @@ public class JavaSymbol implements Symbol {
 
     public Scope members() {
       complete();
+      completeMembers();
       return members;
     }
 
+    private void completeMembers() {
+      BytecodeCompleter c = membersCompleter;
+      if (c != null) {
+        // same locking as complete(), so that shared classes are never seen with partially read members
+        synchronized (c) {
+          if (membersCompleter != null && !completingMembers) {
+            completingMembers = true;
+            try {
+              c.completeMembers(this);
+            } finally {
+              membersCompleter = null;
+              completingMembers = false;
+            }
+          }
+        }
+      }
+    }
+
     public Scope typeParameters() {
       complete();
       return typeParameters;
@@ -377,6 +432,43 @@ public class JavaSymbol implements Symbol {
      * @return list of classTypes.
      */
     public Set<JavaType.ClassJavaType> superTypes() {
+      return superTypeClosure().types;
+    }
+
+    /**
+     * @return true if one of the supertypes of this class has the given fully qualified name
+     */
+    boolean superTypesContain(String fullyQualifiedName) {
+      return superTypeClosure().names.contains(fullyQualifiedName);
+    }
+
+    /**
+     * @return true if the given type is the erasure of one of the supertypes of this class
+     */
+    boolean superTypeErasuresContain(JavaType type) {
+      return superTypeClosure().erasures.contains(type);
+    }
+
+    /**
+     * @return true if this class and all its supertypes are completed, so that members inherited by this class are known
+     */
+    boolean isHierarchyCompleted() {
+      return completer == null && superTypeClosure().isCompleted(this);
+    }
+
+    private SuperTypeClosure superTypeClosure() {
+      SuperTypeClosure result = superTypeClosure;
+      if (result == null) {
+        result = new SuperTypeClosure(computeSuperTypes());
+        // supertypes of anonymous classes are only known once their body is scanned, and completion can query supertypes of classes being completed
+        if (!name.isEmpty() && result.isCompleted(this)) {
+          superTypeClosure = result;
+        }
+      }
+      return result;
+    }
+
+    private Set<JavaType.ClassJavaType> computeSuperTypes() {
       ImmutableSet.Builder<JavaType.ClassJavaType> types = ImmutableSet.builder();
       JavaType.ClassJavaType superClassType = (JavaType.ClassJavaType) this.superClass();
       types.addAll(this.interfacesOfType());
@@ -430,6 +522,36 @@ public class JavaSymbol implements Symbol {
     }
   }
 
+  private static final class SuperTypeClosure {
+    private final Set<JavaType.ClassJavaType> types;
+    private final Set<String> names;
+    private final Set<JavaType> erasures;
+
+    SuperTypeClosure(Set<JavaType.ClassJavaType> types) {
+      this.types = types;
+      ImmutableSet.Builder<String> namesBuilder = ImmutableSet.builder();
+      ImmutableSet.Builder<JavaType> erasuresBuilder = ImmutableSet.builder();
+      for (JavaType.ClassJavaType type : types) {
+        namesBuilder.add(type.getSymbol().getFullyQualifiedName());
+        erasuresBuilder.add(type.erasure());
+      }
+      this.names = namesBuilder.build();
+      this.erasures = erasuresBuilder.build();
+    }
+
+    boolean isCompleted(TypeJavaSymbol symbol) {
+      if (symbol.completer != null) {
+        return false;
+      }
+      for (JavaType.ClassJavaType type : types) {
+        if (type.getSymbol().completer != null) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
   /**
    * Represents a field, enum constant, method or constructor parameter, local variable, resource variable or exception parameter.
    */
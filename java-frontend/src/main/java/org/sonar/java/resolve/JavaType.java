@@ -229,7 +229,7 @@ public class JavaType implements Type {
 
     @Override
     public boolean isSubtypeOf(String fullyQualifiedName) {
-      return isTagged(BOT) || is(fullyQualifiedName) || superTypeContains(fullyQualifiedName);
+      return isTagged(BOT) || is(fullyQualifiedName) || symbol.superTypesContain(fullyQualifiedName);
     }
 
     @Override
@@ -242,7 +242,11 @@ public class JavaType implements Type {
       }
       if (superType.isClass()) {
         ClassJavaType superClassType = (ClassJavaType) superType;
-        return this.equals(superClassType) || this.equals(superClassType.erasure()) || superTypeIsSubTypeOf(superClassType);
+        if (!(superClassType instanceof ParametrizedTypeJavaType)) {
+          // a supertype is a subtype of a raw class only through its erasure
+          return this.equals(superClassType) || symbol.superTypeErasuresContain(superClassType);
+        }
+        return this.equals(superClassType.erasure()) || superTypeIsSubTypeOf(superClassType);
       }
       return false;
     }
@@ -255,15 +259,6 @@ public class JavaType implements Type {
       }
       return false;
     }
-
-    private boolean superTypeContains(String fullyQualifiedName) {
-      for (ClassJavaType classType : symbol.superTypes()) {
-        if (classType.is(fullyQualifiedName)) {
-          return true;
-        }
-      }
-      return false;
-    }
   }
 
   public static class ArrayJavaType extends JavaType implements ArrayType {
@@ -23,6 +23,8 @@ import com.google.common.collect.Maps;
 
 import org.sonar.java.resolve.JavaType.WildCardType.BoundType;
 
+import javax.annotation.Nullable;
+
 import java.util.EnumMap;
 import java.util.Map;
 
@@ -31,10 +33,37 @@ public class ParametrizedTypeCache {
   private Map<JavaSymbol, Map<TypeSubstitution, JavaType.ParametrizedTypeJavaType>> typeCache = Maps.newHashMap();
   private Map<JavaType, Map<JavaType.WildCardType.BoundType, JavaType.WildCardType>> wildcardCache = Maps.newHashMap();
 
-  public JavaType getParametrizedTypeType(JavaSymbol.TypeJavaSymbol symbol, TypeSubstitution typeSubstitution) {
+  /**
+   * Cache of the types only made of shared symbols, so that those types are unique across files.
+   * Being used concurrently, all the caches are synchronized.
+   */
+  @Nullable
+  private final ParametrizedTypeCache sharedCache;
+  /**
+   * Whether the shared cache is the one of the bootstrap symbols, which only holds the types made of bootstrap symbols.
+   */
+  private final boolean bootstrapSharedCache;
+
+  public ParametrizedTypeCache() {
+    this(null);
+  }
+
+  public ParametrizedTypeCache(@Nullable ParametrizedTypeCache sharedCache) {
+    this(sharedCache, false);
+  }
+
+  ParametrizedTypeCache(@Nullable ParametrizedTypeCache sharedCache, boolean bootstrapSharedCache) {
+    this.sharedCache = sharedCache;
+    this.bootstrapSharedCache = bootstrapSharedCache;
+  }
+
+  public synchronized JavaType getParametrizedTypeType(JavaSymbol.TypeJavaSymbol symbol, TypeSubstitution typeSubstitution) {
     if (symbol.getType().isUnknown()) {
       return symbol.getType();
     }
+    if (sharedCache != null && isShared(symbol, bootstrapSharedCache) && isShared(typeSubstitution, bootstrapSharedCache)) {
+      return sharedCache.getParametrizedTypeType(symbol, typeSubstitution);
+    }
     if (typeCache.get(symbol) == null) {
       Map<TypeSubstitution, JavaType.ParametrizedTypeJavaType> map = Maps.newHashMap();
       typeCache.put(symbol, map);
@@ -45,7 +74,10 @@ public class ParametrizedTypeCache {
     return typeCache.get(symbol).get(typeSubstitution);
   }
 
-  public JavaType getWildcardType(JavaType bound, BoundType boundType) {
+  public synchronized JavaType getWildcardType(JavaType bound, BoundType boundType) {
+    if (sharedCache != null && isShared(bound, bootstrapSharedCache)) {
+      return sharedCache.getWildcardType(bound, boundType);
+    }
     Map<JavaType.WildCardType.BoundType, JavaType.WildCardType> map = wildcardCache.get(bound);
     if (map == null) {
       map = new EnumMap<>(JavaType.WildCardType.BoundType.class);
@@ -59,4 +91,35 @@ public class ParametrizedTypeCache {
     return wildcardType;
   }
 
+  private static boolean isShared(@Nullable TypeSubstitution typeSubstitution, boolean bootstrap) {
+    if (typeSubstitution == null) {
+      return true;
+    }
+    for (Map.Entry<JavaType.TypeVariableJavaType, JavaType> entry : typeSubstitution.substitutionEntries()) {
+      if (!isShared(entry.getKey(), bootstrap) || !isShared(entry.getValue(), bootstrap)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean isShared(JavaType type) {
+    return isShared(type, false);
+  }
+
+  private static boolean isShared(JavaType type, boolean bootstrap) {
+    if (type instanceof JavaType.ParametrizedTypeJavaType) {
+      return isShared(type.symbol, bootstrap) && isShared(((JavaType.ParametrizedTypeJavaType) type).typeSubstitution, bootstrap);
+    } else if (type instanceof JavaType.ArrayJavaType) {
+      return isShared(((JavaType.ArrayJavaType) type).elementType, bootstrap);
+    } else if (type instanceof JavaType.WildCardType) {
+      return isShared(((JavaType.WildCardType) type).bound, bootstrap);
+    }
+    return isShared(type.symbol, bootstrap);
+  }
+
+  private static boolean isShared(JavaSymbol symbol, boolean bootstrap) {
+    return bootstrap ? symbol.bootstrap : symbol.shared;
+  }
+
 }
@@ -0,0 +1,160 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.resolve;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of the resolutions of members of types, as the same members are resolved over and over, typically by chained invocations.
+ * Resolutions which do not depend on the environment (i.e. only public members of public types were checked for accessibility)
+ * and are only made of shared symbols are cached once for all the files.
+ */
+class ResolutionCache {
+
+  private final Map<Key, Resolve.Resolution> resolutions = Maps.newHashMap();
+
+  /**
+   * Cache of the resolutions only made of shared symbols, being used concurrently.
+   */
+  @Nullable
+  private final ResolutionCache sharedCache;
+
+  ResolutionCache() {
+    this(null);
+  }
+
+  ResolutionCache(@Nullable ResolutionCache sharedCache) {
+    this.sharedCache = sharedCache;
+  }
+
+  @CheckForNull
+  synchronized Resolve.Resolution get(Key key, Resolve.Env env) {
+    Resolve.Resolution resolution = null;
+    if (sharedCache != null && key.isShared()) {
+      resolution = sharedCache.get(key);
+    }
+    if (resolution == null) {
+      resolution = resolutions.get(key);
+    }
+    if (resolution == null) {
+      resolution = resolutions.get(key.in(env));
+    }
+    // resolutions are updated by callers
+    return resolution == null ? null : resolution.copy();
+  }
+
+  @CheckForNull
+  private synchronized Resolve.Resolution get(Key key) {
+    return resolutions.get(key);
+  }
+
+  synchronized void put(Key key, Resolve.Env env, Resolve.Resolution resolution, boolean dependsOnEnv) {
+    if (dependsOnEnv) {
+      resolutions.put(key.in(env), resolution.copy());
+    } else if (sharedCache != null && key.isShared() && isShared(resolution)) {
+      sharedCache.put(key, resolution.copy());
+    } else {
+      resolutions.put(key, resolution.copy());
+    }
+  }
+
+  private synchronized void put(Key key, Resolve.Resolution resolution) {
+    resolutions.put(key, resolution);
+  }
+
+  private static boolean isShared(Resolve.Resolution resolution) {
+    return resolution.symbol().kind < JavaSymbol.ERRONEOUS && resolution.symbol().shared && ParametrizedTypeCache.isShared(resolution.type());
+  }
+
+  /**
+   * Type in which a member is resolved, with its name, kind and the types of the arguments for methods.
+   * When the resolution depends on the environment, the key includes the class and package from which the member is resolved.
+   */
+  static class Key {
+    private final JavaType site;
+    private final String name;
+    private final int kind;
+    private final List<JavaType> argTypes;
+    private final List<JavaType> typeParams;
+    @Nullable
+    private final JavaSymbol.TypeJavaSymbol enclosingClass;
+    @Nullable
+    private final JavaSymbol.PackageJavaSymbol packge;
+
+    Key(JavaType site, String name, int kind, List<JavaType> argTypes, List<JavaType> typeParams) {
+      this(site, name, kind, ImmutableList.copyOf(argTypes), ImmutableList.copyOf(typeParams), null, null);
+    }
+
+    private Key(JavaType site, String name, int kind, List<JavaType> argTypes, List<JavaType> typeParams,
+      @Nullable JavaSymbol.TypeJavaSymbol enclosingClass, @Nullable JavaSymbol.PackageJavaSymbol packge) {
+      this.site = site;
+      this.name = name;
+      this.kind = kind;
+      this.argTypes = argTypes;
+      this.typeParams = typeParams;
+      this.enclosingClass = enclosingClass;
+      this.packge = packge;
+    }
+
+    Key in(Resolve.Env env) {
+      return new Key(site, name, kind, argTypes, typeParams, env.enclosingClass, env.packge);
+    }
+
+    boolean isShared() {
+      if (!ParametrizedTypeCache.isShared(site)) {
+        return false;
+      }
+      for (JavaType type : Iterables.concat(argTypes, typeParams)) {
+        if (!ParametrizedTypeCache.isShared(type)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return site.equals(other.site) && name.equals(other.name) && kind == other.kind && argTypes.equals(other.argTypes) && typeParams.equals(other.typeParams)
+        && enclosingClass == other.enclosingClass && packge == other.packge;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(site, name, kind, argTypes, typeParams, enclosingClass, packge);
+    }
+  }
+
+}
@@ -24,6 +24,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 
 import org.sonar.plugins.java.api.semantic.Type;
+import org.sonar.plugins.java.api.tree.Tree;
 
 import javax.annotation.Nullable;
 
@@ -52,11 +53,21 @@ public class Resolve {
   private final ParametrizedTypeCache parametrizedTypeCache;
   private final Types types = new Types();
   private final Symbols symbols;
+  private final ResolutionCache resolutionCache;
+  /**
+   * Set when the accessibility of a member is checked for a non public member or type, i.e. when the resolution depends on the environment.
+   */
+  private boolean accessDependsOnEnv;
 
   public Resolve(Symbols symbols, BytecodeCompleter bytecodeCompleter, ParametrizedTypeCache parametrizedTypeCache) {
+    this(symbols, bytecodeCompleter, parametrizedTypeCache, new ResolutionCache());
+  }
+
+  Resolve(Symbols symbols, BytecodeCompleter bytecodeCompleter, ParametrizedTypeCache parametrizedTypeCache, ResolutionCache resolutionCache) {
     this.symbols = symbols;
     this.bytecodeCompleter = bytecodeCompleter;
     this.parametrizedTypeCache = parametrizedTypeCache;
+    this.resolutionCache = resolutionCache;
   }
 
   @Nullable
@@ -274,8 +285,7 @@ public class Resolve {
       }
     }
     //java.lang
-    JavaSymbol.PackageJavaSymbol javaLang = bytecodeCompleter.enterPackage("java.lang");
-    for (JavaSymbol symbol : javaLang.completedMembers().lookup(name)) {
+    for (JavaSymbol symbol : symbols.javaLangPackage.completedMembers().lookup(name)) {
       if (symbol.kind == JavaSymbol.TYP) {
         return symbol;
       }
@@ -344,6 +354,23 @@ public class Resolve {
    * @param kind subset of {@link JavaSymbol#VAR}, {@link JavaSymbol#TYP}
    */
   public Resolution findIdentInType(Env env, JavaSymbol.TypeJavaSymbol site, String name, int kind) {
+    if (!isCacheable(site)) {
+      return findIdentInTypeUncached(env, site, name, kind);
+    }
+    ResolutionCache.Key key = new ResolutionCache.Key(site.type, name, kind, ImmutableList.<JavaType>of(), ImmutableList.<JavaType>of());
+    Resolution resolution = resolutionCache.get(key, env);
+    if (resolution == null) {
+      // resolutions are nested when completing classes: the enclosing resolution keeps depending on the checks done so far
+      boolean outerAccessDependsOnEnv = accessDependsOnEnv;
+      accessDependsOnEnv = false;
+      resolution = findIdentInTypeUncached(env, site, name, kind);
+      resolutionCache.put(key, env, resolution, accessDependsOnEnv);
+      accessDependsOnEnv |= outerAccessDependsOnEnv;
+    }
+    return resolution;
+  }
+
+  private Resolution findIdentInTypeUncached(Env env, JavaSymbol.TypeJavaSymbol site, String name, int kind) {
     Resolution bestSoFar = unresolved();
     Resolution resolution;
     JavaSymbol symbol;
@@ -375,7 +402,9 @@ public class Resolve {
     Resolution bestSoFar = unresolved();
     Env env1 = env;
     while (env1.outer != null) {
-      Resolution res = findMethod(env1, env1.enclosingClass.getType(), name, argTypes, typeParamTypes);
+      // enclosing classes are the classes of the file: their methods are looked up directly, without the resolution cache
+      JavaType enclosingType = env1.enclosingClass.getType();
+      Resolution res = findMethod(env1, enclosingType, enclosingType, name, argTypes, typeParamTypes);
       if (res.symbol.kind < JavaSymbol.ERRONEOUS) {
         // symbol exists
         return res;
@@ -395,11 +424,31 @@ public class Resolve {
   }
 
   public Resolution findMethod(Env env, JavaType site, String name, List<JavaType> argTypes) {
-    return findMethod(env, site, site, name, argTypes, ImmutableList.<JavaType>of(), false);
+    return findMethod(env, site, name, argTypes, ImmutableList.<JavaType>of());
   }
 
   public Resolution findMethod(Env env, JavaType site, String name, List<JavaType> argTypes, List<JavaType> typeParams) {
-    return findMethod(env, site, site, name, argTypes, typeParams, false);
+    if (!isCacheable(site.symbol)) {
+      return findMethod(env, site, site, name, argTypes, typeParams, false);
+    }
+    ResolutionCache.Key key = new ResolutionCache.Key(site, name, JavaSymbol.MTH, argTypes, typeParams);
+    Resolution resolution = resolutionCache.get(key, env);
+    if (resolution == null) {
+      boolean outerAccessDependsOnEnv = accessDependsOnEnv;
+      accessDependsOnEnv = false;
+      resolution = findMethod(env, site, site, name, argTypes, typeParams, false);
+      resolutionCache.put(key, env, resolution, accessDependsOnEnv);
+      accessDependsOnEnv |= outerAccessDependsOnEnv;
+    }
+    return resolution;
+  }
+
+  /**
+   * Members are only known once the hierarchy of the site is completed,
+   * and supertypes of anonymous classes are only set once their body has been visited.
+   */
+  private static boolean isCacheable(@Nullable JavaSymbol.TypeJavaSymbol site) {
+    return site != null && !site.name.isEmpty() && site.isHierarchyCompleted();
   }
 
   private Resolution findMethod(Env env, JavaType callSite, JavaType site, String name, List<JavaType> argTypes, List<JavaType> typeParams) {
@@ -701,7 +750,10 @@ public class Resolve {
    * <p/>
    * Symbol is accessible only if not overridden by another symbol. If overridden, then strictly speaking it is not a member.
    */
-  private static boolean isAccessible(Env env, JavaSymbol.TypeJavaSymbol site, JavaSymbol symbol) {
+  private boolean isAccessible(Env env, JavaSymbol.TypeJavaSymbol site, JavaSymbol symbol) {
+    if ((symbol.flags() & Flags.ACCESS_FLAGS) != Flags.PUBLIC || (site.flags() & Flags.ACCESS_FLAGS) != Flags.PUBLIC) {
+      accessDependsOnEnv = true;
+    }
     switch (symbol.flags() & Flags.ACCESS_FLAGS) {
       case Flags.PRIVATE:
         //if enclosing class is null, we are checking accessibility for imports so we return false.
@@ -796,6 +848,12 @@ public class Resolve {
       return new Resolution(symbol);
     }
 
+    Resolution copy() {
+      Resolution copy = new Resolution(symbol);
+      copy.type = type;
+      return copy;
+    }
+
     JavaSymbol symbol() {
       return symbol;
     }
@@ -836,6 +894,12 @@ public class Resolve {
     Scope starImports;
     Scope staticStarImports;
 
+    /**
+     * Tree with which this environment is associated in the semantic model, if any, see {@link SemanticModel#associateEnv(Tree, Env)}.
+     */
+    @Nullable
+    Tree tree;
+
     public Env dup() {
       Env env = new Env();
       env.next = this;
@@ -19,23 +19,34 @@
  */
 package org.sonar.java.resolve;
 
-import com.google.common.collect.ArrayListMultimap;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents an area of visibility.
+ * <p/>
+ * Scopes exist for every class, method and block, so symbols are kept in an open addressing table of names,
+ * which is only allocated once a symbol is entered, each name being associated to the list of symbols of this name.
  */
 public class Scope {
 
+  private static final int INITIAL_CAPACITY = 8;
+
   final JavaSymbol owner;
   final Scope next;
 
-  protected ArrayListMultimap<String, JavaSymbol> symbols = ArrayListMultimap.create();
-  private final List<JavaSymbol> scopeSymbols = new ArrayList<>();
+  private String[] names;
+  private List<JavaSymbol>[] symbols;
+  private int size;
+  private List<JavaSymbol> scopeSymbols = Collections.emptyList();
+  private boolean frozen;
 
   public Scope(JavaSymbol owner) {
     this.owner = owner;
@@ -48,23 +59,136 @@ public class Scope {
   }
 
   public void enter(JavaSymbol symbol) {
-    symbols.put(symbol.name, symbol);
+    Preconditions.checkState(!frozen, "Scope of %s is frozen", owner);
+    if (names == null) {
+      allocate(INITIAL_CAPACITY);
+    } else if (2 * (size + 1) > names.length) {
+      // keep the table at most half full
+      rehash();
+    }
+    int index = indexOf(symbol.name);
+    List<JavaSymbol> namedSymbols = symbols[index];
+    if (namedSymbols == null) {
+      names[index] = symbol.name;
+      symbols[index] = ImmutableList.of(symbol);
+      size++;
+    } else if (namedSymbols instanceof ArrayList) {
+      namedSymbols.add(symbol);
+    } else {
+      // overloads are appended to a mutable list, exposed read only
+      namedSymbols = new ArrayList<>(namedSymbols);
+      namedSymbols.add(symbol);
+      symbols[index] = namedSymbols;
+    }
+    if (scopeSymbols.isEmpty()) {
+      scopeSymbols = new ArrayList<>();
+    }
     scopeSymbols.add(symbol);
   }
 
   public List<JavaSymbol> lookup(String name) {
     Scope scope = this;
-    while (scope != null && !scope.symbols.containsKey(name)) {
+    while (scope != null) {
+      List<JavaSymbol> result = scope.get(name);
+      if (result != null) {
+        return result;
+      }
       scope = scope.next;
     }
-    return scope == null ? ImmutableList.<JavaSymbol>of() : scope.symbols.get(name);
+    return ImmutableList.of();
   }
 
   public List<JavaSymbol> scopeSymbols() {
     return scopeSymbols;
   }
 
-  public static class StarImportScope extends Scope {
+  /**
+   * Scopes of the classes completed from bytecode are no longer modified, which allows to release the space reserved for new symbols.
+   */
+  void freeze() {
+    frozen = true;
+    if (scopeSymbols instanceof ArrayList) {
+      ((ArrayList<JavaSymbol>) scopeSymbols).trimToSize();
+    }
+    if (symbols != null) {
+      for (int i = 0; i < symbols.length; i++) {
+        if (symbols[i] instanceof ArrayList) {
+          symbols[i] = ImmutableList.copyOf(symbols[i]);
+        }
+      }
+    }
+  }
+
+  private List<JavaSymbol> get(String name) {
+    if (names == null) {
+      return null;
+    }
+    List<JavaSymbol> result = symbols[indexOf(name)];
+    return result instanceof ArrayList ? Collections.unmodifiableList(result) : result;
+  }
+
+  /**
+   * Linear probing: index of the given name, or of the empty slot where it should be entered.
+   */
+  private int indexOf(String name) {
+    int mask = names.length - 1;
+    int index = name.hashCode() & mask;
+    while (names[index] != null && !name.equals(names[index])) {
+      index = (index + 1) & mask;
+    }
+    return index;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void allocate(int capacity) {
+    names = new String[capacity];
+    symbols = new List[capacity];
+  }
+
+  private void rehash() {
+    String[] oldNames = names;
+    List<JavaSymbol>[] oldSymbols = symbols;
+    allocate(oldNames.length * 2);
+    for (int i = 0; i < oldNames.length; i++) {
+      if (oldNames[i] != null) {
+        int index = indexOf(oldNames[i]);
+        names[index] = oldNames[i];
+        symbols[index] = oldSymbols[i];
+      }
+    }
+  }
+
+  /**
+   * Lookups of star imports are cached by name, as every simple name which is not declared in the file is looked up in all the imported packages.
+   */
+  private abstract static class CachingScope extends Scope {
+
+    private final Map<String, List<JavaSymbol>> lookups = new ConcurrentHashMap<>();
+
+    CachingScope(JavaSymbol owner) {
+      super(owner);
+    }
+
+    @Override
+    public void enter(JavaSymbol symbol) {
+      super.enter(symbol);
+      lookups.clear();
+    }
+
+    @Override
+    public List<JavaSymbol> lookup(String name) {
+      List<JavaSymbol> result = lookups.get(name);
+      if (result == null) {
+        result = ImmutableList.copyOf(lookupInSites(name));
+        lookups.put(name, result);
+      }
+      return result;
+    }
+
+    abstract List<JavaSymbol> lookupInSites(String name);
+  }
+
+  public static class StarImportScope extends CachingScope {
 
     private final BytecodeCompleter bytecodeCompleter;
 
@@ -74,9 +198,9 @@ public class Scope {
     }
 
     @Override
-    public List<JavaSymbol> lookup(String name) {
+    List<JavaSymbol> lookupInSites(String name) {
       List<JavaSymbol> symbolsList = Lists.newArrayList();
-      for (JavaSymbol site : symbols.values()) {
+      for (JavaSymbol site : scopeSymbols()) {
         JavaSymbol symbol = bytecodeCompleter.loadClass(bytecodeCompleter.formFullName(name, site));
         if (symbol.kind < JavaSymbol.ERRONEOUS) {
           symbolsList.add(symbol);
@@ -86,7 +210,7 @@ public class Scope {
     }
   }
 
-  public static class StaticStarImportScope extends Scope {
+  public static class StaticStarImportScope extends CachingScope {
 
     private final BytecodeCompleter bytecodeCompleter;
 
@@ -96,9 +220,9 @@ public class Scope {
     }
 
     @Override
-    public List<JavaSymbol> lookup(String name) {
+    List<JavaSymbol> lookupInSites(String name) {
       List<JavaSymbol> symbolsList = Lists.newArrayList();
-      for (JavaSymbol site : symbols.values()) {
+      for (JavaSymbol site : scopeSymbols()) {
         // site is a package, try to load referenced type.
         if ((site.kind & JavaSymbol.PCK) != 0) {
           JavaSymbol symbol = bytecodeCompleter.loadClass(bytecodeCompleter.formFullName(name, site));
@@ -21,11 +21,7 @@ package org.sonar.java.resolve;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
+import com.google.common.collect.ImmutableList;
 import org.sonar.java.model.AbstractTypedTree;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
@@ -38,26 +34,53 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class SemanticModel {
 
-  private final BiMap<Tree, Symbol> symbolsTree = HashBiMap.create();
-  private Multimap<Symbol, IdentifierTree> usagesTree = HashMultimap.create();
+  /**
+   * Semantic model of the file whose scanners are executed by the current thread, which holds the usages of the symbols shared between files.
+   */
+  private static final ThreadLocal<SemanticModel> VISITED_MODEL = new ThreadLocal<>();
+
+  /**
+   * Trees and symbols are only equal to themselves: identity maps avoid hashing entries, and the inverse mappings are kept separately.
+   */
+  private final Map<Tree, Symbol> symbolsTree = new IdentityHashMap<>();
+  private final Map<Symbol, Tree> treesSymbol = new IdentityHashMap<>();
+  private final Map<Symbol, Set<IdentifierTree>> usagesTree = new IdentityHashMap<>();
 
-  private final Map<Symbol, Resolve.Env> symbolEnvs = Maps.newHashMap();
-  private final BiMap<Tree, Resolve.Env> envs = HashBiMap.create();
+  private final Map<Symbol, Resolve.Env> symbolEnvs = new IdentityHashMap<>();
+  private final Map<Tree, Resolve.Env> envs = new IdentityHashMap<>();
   private BytecodeCompleter bytecodeCompleter;
 
   public static SemanticModel createFor(CompilationUnitTree tree, List<File> projectClasspath) {
     ParametrizedTypeCache parametrizedTypeCache = new ParametrizedTypeCache();
     BytecodeCompleter bytecodeCompleter = new BytecodeCompleter(projectClasspath, parametrizedTypeCache);
-    Symbols symbols = new Symbols(bytecodeCompleter);
+    return createFor(tree, new Symbols(bytecodeCompleter), bytecodeCompleter, parametrizedTypeCache, new ResolutionCache());
+  }
+
+  /**
+   * Semantic model of the given tree, relying on symbols shared with other files for the libraries of the classpath.
+   */
+  public static SemanticModel createFor(CompilationUnitTree tree, SharedSymbols sharedSymbols) {
+    ParametrizedTypeCache parametrizedTypeCache = new ParametrizedTypeCache(sharedSymbols.parametrizedTypeCache);
+    BytecodeCompleter bytecodeCompleter = new BytecodeCompleter(sharedSymbols.directories, parametrizedTypeCache, sharedSymbols.bytecodeCompleter,
+      sharedSymbols.directoryClassFiles);
+    bytecodeCompleter.init(sharedSymbols.symbols);
+    return createFor(tree, sharedSymbols.symbols, bytecodeCompleter, parametrizedTypeCache, new ResolutionCache(sharedSymbols.resolutionCache));
+  }
+
+  private static SemanticModel createFor(CompilationUnitTree tree, Symbols symbols, BytecodeCompleter bytecodeCompleter, ParametrizedTypeCache parametrizedTypeCache,
+    ResolutionCache resolutionCache) {
     SemanticModel semanticModel = new SemanticModel();
     semanticModel.bytecodeCompleter = bytecodeCompleter;
     try {
-      Resolve resolve = new Resolve(symbols, bytecodeCompleter, parametrizedTypeCache);
+      Resolve resolve = new Resolve(symbols, bytecodeCompleter, parametrizedTypeCache, resolutionCache);
       TypeAndReferenceSolver typeAndReferenceSolver = new TypeAndReferenceSolver(semanticModel, symbols, resolve, parametrizedTypeCache);
       new FirstPass(semanticModel, symbols, resolve, parametrizedTypeCache, typeAndReferenceSolver).visitCompilationUnit(tree);
       typeAndReferenceSolver.visitCompilationUnit(tree);
@@ -68,10 +91,45 @@ public class SemanticModel {
     return semanticModel;
   }
 
+  /**
+   * To be called before the scanners are executed on the file of this model, by the thread executing them:
+   * until {@link #done()}, {@link Symbol#usages()} of the symbols shared between files returns their usages in this file.
+   */
+  public void startVisit() {
+    VISITED_MODEL.set(this);
+  }
+
   public void done(){
+    if (VISITED_MODEL.get() == this) {
+      VISITED_MODEL.remove();
+    }
     bytecodeCompleter.done();
   }
 
+  /**
+   * Usages in the file being visited by the current thread (see {@link #startVisit()}), empty when no file is being visited.
+   */
+  static List<IdentifierTree> usagesInVisitedFile(Symbol symbol) {
+    SemanticModel visitedModel = VISITED_MODEL.get();
+    return visitedModel == null ? ImmutableList.<IdentifierTree>of() : visitedModel.getUsages(symbol);
+  }
+
+  /**
+   * Flat names of the classes loaded from the directories of the classpath (i.e. compiled classes of the project) to compute this model,
+   * when it relies on {@link SharedSymbols} for the libraries.
+   */
+  public Set<String> loadedProjectClasses() {
+    return bytecodeCompleter.loadedClasses();
+  }
+
+  /**
+   * Names of the classes looked up to compute this model which were not found, and which would change it if added to the project,
+   * when it relies on {@link SharedSymbols} for the libraries.
+   */
+  public Set<String> missingProjectClasses() {
+    return bytecodeCompleter.missingClasses();
+  }
+
   /**
    * Handles missing types in Syntax Tree to prevent NPE in subsequent steps of analysis.
    */
@@ -112,11 +170,13 @@ public class SemanticModel {
   }
 
   public void associateEnv(Tree tree, Resolve.Env env) {
+    Preconditions.checkArgument(env.tree == null || env.tree == tree, "value already present: %s", env);
     envs.put(tree, env);
+    env.tree = tree;
   }
 
   public Tree getTree(Resolve.Env env) {
-    return envs.inverse().get(env);
+    return env.tree;
   }
 
   public Resolve.Env getEnv(Tree tree) {
@@ -135,7 +195,13 @@ public class SemanticModel {
 
   public void associateSymbol(Tree tree, Symbol symbol) {
     Preconditions.checkNotNull(symbol);
-    symbolsTree.put(tree, symbol);
+    Tree symbolTree = treesSymbol.get(symbol);
+    Preconditions.checkArgument(symbolTree == null || symbolTree == tree, "value already present: %s", symbol);
+    Symbol previous = symbolsTree.put(tree, symbol);
+    if (previous != null) {
+      treesSymbol.remove(previous);
+    }
+    treesSymbol.put(symbol, tree);
   }
 
   @Nullable
@@ -145,12 +211,25 @@ public class SemanticModel {
 
   @Nullable
   public Tree getTree(Symbol symbol) {
-    return symbolsTree.inverse().get(symbol);
+    return treesSymbol.get(symbol);
   }
 
-
   public void associateReference(IdentifierTree tree, Symbol symbol) {
-    usagesTree.put(symbol, tree);
+    Set<IdentifierTree> usages = usagesTree.get(symbol);
+    if (usages == null) {
+      // trees are compared by identity, a linked set keeps usages in order without duplicates
+      usages = new LinkedHashSet<>();
+      usagesTree.put(symbol, usages);
+    }
+    usages.add(tree);
+  }
+
+  /**
+   * Usages of the symbol in this file, also available for symbols shared between files when this file is not being visited.
+   */
+  public List<IdentifierTree> getUsages(Symbol symbol) {
+    Set<IdentifierTree> usages = usagesTree.get(symbol);
+    return usages == null ? ImmutableList.<IdentifierTree>of() : ImmutableList.copyOf(usages);
   }
 
   @VisibleForTesting
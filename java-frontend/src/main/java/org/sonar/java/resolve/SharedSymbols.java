@@ -0,0 +1,163 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.resolve;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Symbols loaded from the libraries of a classpath, shared by all the files analyzed against this classpath, so that library classes
+ * are read and completed once per analysis rather than once per file.
+ * Classes found in the directories of the classpath (i.e. compiled classes of the project itself) are still loaded for each file,
+ * as they may refer to classes of the file being analyzed, which have to be resolved to their source symbols. Classes found both in a jar
+ * and a directory are loaded from the first of them in the classpath.
+ * Predefined symbols and classes of the JDK do not depend on the classpath: they are loaded once for the JVM, see {@link Bootstrap}.
+ */
+public class SharedSymbols {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SharedSymbols.class);
+
+  /**
+   * Bootstrap symbols, shared by all the analyses of the JVM, whatever their classpath. They are initialized on first use.
+   */
+  private static final class Bootstrap {
+    private static final ParametrizedTypeCache PARAMETRIZED_TYPE_CACHE = new ParametrizedTypeCache();
+    private static final BytecodeCompleter COMPLETER = BytecodeCompleter.bootstrapCompleter(PARAMETRIZED_TYPE_CACHE);
+    private static final Symbols SYMBOLS = new Symbols(COMPLETER);
+
+    private Bootstrap() {
+    }
+  }
+
+  final List<File> directories;
+  final Set<String> directoryClassFiles;
+  final ParametrizedTypeCache parametrizedTypeCache;
+  final ResolutionCache resolutionCache = new ResolutionCache();
+  final BytecodeCompleter bytecodeCompleter;
+  final Symbols symbols;
+
+  public SharedSymbols(List<File> projectClasspath) {
+    this(projectClasspath, null);
+  }
+
+  /**
+   * @param indexDirectory if not null, directory where indexes of the classes of the jars are persisted between analyses
+   */
+  public SharedSymbols(List<File> projectClasspath, @Nullable File indexDirectory) {
+    ImmutableList.Builder<File> directoriesBuilder = ImmutableList.builder();
+    ImmutableList.Builder<File> librariesBuilder = ImmutableList.builder();
+    for (File file : projectClasspath) {
+      if (file.isDirectory()) {
+        directoriesBuilder.add(file);
+      } else {
+        librariesBuilder.add(file);
+      }
+    }
+    directories = directoriesBuilder.build();
+    directoryClassFiles = classFiles(projectClasspath);
+    parametrizedTypeCache = new ParametrizedTypeCache(Bootstrap.PARAMETRIZED_TYPE_CACHE, true);
+    bytecodeCompleter = BytecodeCompleter.sharedCompleter(librariesBuilder.build(), parametrizedTypeCache, indexDirectory, Bootstrap.COMPLETER);
+    symbols = Bootstrap.SYMBOLS;
+    bytecodeCompleter.init(symbols);
+  }
+
+  /**
+   * Names of the class files of the directories, relative to them, so that each file does not have to probe the directories
+   * for every class it refers to. As classes are looked up in the order of the classpath, class files also found in a jar
+   * preceding their directory are left out: they are loaded from the jar by the shared completer.
+   */
+  static Set<String> classFiles(List<File> classpath) {
+    final ImmutableSet.Builder<String> result = ImmutableSet.builder();
+    final Set<String> jarClassFiles = new HashSet<>();
+    int lastDirectory = -1;
+    for (int i = 0; i < classpath.size(); i++) {
+      if (classpath.get(i).isDirectory()) {
+        lastDirectory = i;
+      }
+    }
+    for (int i = 0; i <= lastDirectory; i++) {
+      File file = classpath.get(i);
+      if (file.isDirectory()) {
+        addClassFiles(file, jarClassFiles, result);
+      } else if (file.isFile()) {
+        addJarClassFiles(file, jarClassFiles);
+      }
+    }
+    return result.build();
+  }
+
+  private static void addClassFiles(File directory, final Set<String> jarClassFiles, final ImmutableSet.Builder<String> result) {
+    final Path root = directory.toPath();
+    try {
+      Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+          String name = root.relativize(file).toString().replace(File.separatorChar, '/');
+          if (name.endsWith(".class") && !jarClassFiles.contains(name)) {
+            result.add(name);
+          }
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    } catch (IOException e) {
+      LOG.warn("Unable to list the classes of " + directory.getAbsolutePath() + ": " + e.getMessage());
+    }
+  }
+
+  private static void addJarClassFiles(File jar, Set<String> jarClassFiles) {
+    try (ZipFile zipFile = new ZipFile(jar)) {
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        String name = entries.nextElement().getName();
+        if (name.endsWith(".class")) {
+          jarClassFiles.add(name);
+        }
+      }
+    } catch (IOException e) {
+      LOG.warn("Unable to list the classes of " + jar.getAbsolutePath() + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Releases the libraries. Shared symbols should not be used anymore afterwards, unlike bootstrap symbols.
+   */
+  public void done() {
+    bytecodeCompleter.done();
+  }
+
+}
@@ -20,7 +20,7 @@
 package org.sonar.java.resolve;
 
 import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableList;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
 
@@ -29,12 +29,19 @@ import java.util.Map.Entry;
 
 /**
  * Predefined symbols.
+ * Once created, predefined symbols are not modified anymore: they can be shared by the files and threads of all the analyses,
+ * see {@link SharedSymbols}.
  */
 public class Symbols {
 
   static final JavaSymbol.PackageJavaSymbol rootPackage;
   final JavaSymbol.PackageJavaSymbol defaultPackage;
 
+  /**
+   * Package of the classes which are implicitly imported.
+   */
+  final JavaSymbol.PackageJavaSymbol javaLangPackage;
+
   /**
    * Owns all predefined symbols (builtin types, operators).
    */
@@ -108,6 +115,8 @@ public class Symbols {
         return true;
       }
     };
+    unknownSymbol.shared = true;
+    unknownSymbol.bootstrap = true;
     unknownSymbol.members = new Scope(unknownSymbol) {
       @Override
       public void enter(JavaSymbol symbol) {
@@ -142,13 +151,19 @@ public class Symbols {
 
   public Symbols(BytecodeCompleter bytecodeCompleter) {
     defaultPackage = new JavaSymbol.PackageJavaSymbol("", rootPackage);
+    defaultPackage.shared = true;
+    defaultPackage.bootstrap = true;
 
     predefClass = new JavaSymbol.TypeJavaSymbol(Flags.PUBLIC, "", rootPackage);
+    predefClass.shared = true;
+    predefClass.bootstrap = true;
     predefClass.members = new Scope(predefClass);
     ((JavaType.ClassJavaType) predefClass.type).interfaces = ImmutableList.of();
 
     // TODO should have type "noType":
     noSymbol = new JavaSymbol.TypeJavaSymbol(0, "", rootPackage);
+    noSymbol.shared = true;
+    noSymbol.bootstrap = true;
 
     methodClass = new JavaSymbol.TypeJavaSymbol(Flags.PUBLIC, "", noSymbol);
 
@@ -167,10 +182,10 @@ public class Symbols {
     bytecodeCompleter.init(this);
 
     // predefined types for java lang
-    JavaSymbol.PackageJavaSymbol javalang = bytecodeCompleter.enterPackage("java.lang");
+    javaLangPackage = bytecodeCompleter.enterPackage("java.lang");
     // define a star import scope to let resolve types to java.lang when needed.
-    javalang.members = new Scope.StarImportScope(javalang, bytecodeCompleter);
-    javalang.members.enter(javalang);
+    javaLangPackage.members = new Scope.StarImportScope(javaLangPackage, bytecodeCompleter);
+    javaLangPackage.members.enter(javaLangPackage);
 
     objectType = bytecodeCompleter.loadClass("java.lang.Object").type;
     classType = bytecodeCompleter.loadClass("java.lang.Class").type;
@@ -183,15 +198,16 @@ public class Symbols {
     unboundedWildcard = new JavaType.WildCardType(objectType, JavaType.WildCardType.BoundType.UNBOUNDED);
 
     // Associate boxed types
-    boxedTypes = HashBiMap.create();
-    boxedTypes.put(byteType, bytecodeCompleter.loadClass("java.lang.Byte").type);
-    boxedTypes.put(charType, bytecodeCompleter.loadClass("java.lang.Character").type);
-    boxedTypes.put(shortType, bytecodeCompleter.loadClass("java.lang.Short").type);
-    boxedTypes.put(intType, bytecodeCompleter.loadClass("java.lang.Integer").type);
-    boxedTypes.put(longType, bytecodeCompleter.loadClass("java.lang.Long").type);
-    boxedTypes.put(floatType, bytecodeCompleter.loadClass("java.lang.Float").type);
-    boxedTypes.put(doubleType, bytecodeCompleter.loadClass("java.lang.Double").type);
-    boxedTypes.put(booleanType, bytecodeCompleter.loadClass("java.lang.Boolean").type);
+    boxedTypes = ImmutableBiMap.<JavaType, JavaType>builder()
+      .put(byteType, bytecodeCompleter.loadClass("java.lang.Byte").type)
+      .put(charType, bytecodeCompleter.loadClass("java.lang.Character").type)
+      .put(shortType, bytecodeCompleter.loadClass("java.lang.Short").type)
+      .put(intType, bytecodeCompleter.loadClass("java.lang.Integer").type)
+      .put(longType, bytecodeCompleter.loadClass("java.lang.Long").type)
+      .put(floatType, bytecodeCompleter.loadClass("java.lang.Float").type)
+      .put(doubleType, bytecodeCompleter.loadClass("java.lang.Double").type)
+      .put(booleanType, bytecodeCompleter.loadClass("java.lang.Boolean").type)
+      .build();
 
     for (Entry<JavaType, JavaType> entry : boxedTypes.entrySet()) {
       entry.getKey().primitiveWrapperType = entry.getValue();
@@ -205,9 +221,11 @@ public class Symbols {
     arrayClassType.interfaces = ImmutableList.of(cloneableType, serializableType);
     arrayClass.members = new Scope(arrayClass);
     arrayClass.members().enter(new JavaSymbol.VariableJavaSymbol(Flags.PUBLIC | Flags.FINAL, "length", intType, arrayClass));
+    arrayClass.members.freeze();
     // TODO arrayClass implements clone() method
 
     enterOperators();
+    predefClass.members.freeze();
   }
 
   /**
@@ -215,7 +233,10 @@ public class Symbols {
    */
   private JavaType initType(int tag, String name) {
     JavaSymbol.TypeJavaSymbol symbol = new JavaSymbol.TypeJavaSymbol(Flags.PUBLIC, name, rootPackage);
+    symbol.shared = true;
+    symbol.bootstrap = true;
     symbol.members = new Scope(symbol);
+    symbol.members.freeze();
     predefClass.members.enter(symbol);
     ((JavaType.ClassJavaType) symbol.type).interfaces = ImmutableList.of();
     symbol.type.tag = tag;
@@ -19,6 +19,7 @@
  */
 package org.sonar.java.se;
 
+import org.sonar.java.AnalysisProfiler;
 import org.sonar.java.model.DefaultJavaFileScannerContext;
 import org.sonar.java.se.checks.SECheck;
 import org.sonar.java.se.constraint.ConstraintManager;
@@ -32,21 +33,32 @@ public class CheckerDispatcher implements CheckerContext {
   private final ExplodedGraphWalker explodedGraphWalker;
   private final JavaFileScannerContext context;
   private final List<SECheck> checks;
+  private final AnalysisProfiler profiler;
   private Tree syntaxNode;
   private int currentCheckerIndex = 0;
   private boolean transition = false;
 
   public CheckerDispatcher(ExplodedGraphWalker explodedGraphWalker, JavaFileScannerContext context, List<SECheck> checks) {
+    this(explodedGraphWalker, context, checks, AnalysisProfiler.disabled());
+  }
+
+  /**
+   * Checks are executed for each program point, so only their wall time is profiled. It includes the transitions they trigger.
+   */
+  public CheckerDispatcher(ExplodedGraphWalker explodedGraphWalker, JavaFileScannerContext context, List<SECheck> checks, AnalysisProfiler profiler) {
     this.explodedGraphWalker = explodedGraphWalker;
     this.context = context;
     this.checks = checks;
+    this.profiler = profiler;
   }
 
   public boolean executeCheckPreStatement(Tree syntaxNode) {
     this.syntaxNode = syntaxNode;
     ProgramState ps;
     for (SECheck checker : checks) {
+      AnalysisProfiler.Sample sample = profiler.startWallClock();
       ps = checker.checkPreStatement(this, syntaxNode);
+      record(checker, sample);
       if (ps == null) {
         return false;
       }
@@ -60,7 +72,9 @@ public class CheckerDispatcher implements CheckerContext {
     this.syntaxNode = syntaxNode;
     ProgramState ps;
     for (SECheck checker : checks) {
+      AnalysisProfiler.Sample sample = profiler.startWallClock();
       ps = checker.checkPostStatement(this, syntaxNode);
+      record(checker, sample);
       if (ps == null) {
         throw new IllegalStateException("Post statement processing is not allowed to generate a sink yet!");
       }
@@ -71,7 +85,10 @@ public class CheckerDispatcher implements CheckerContext {
   private void executePost() {
     this.transition = false;
     if (currentCheckerIndex < checks.size()) {
-      explodedGraphWalker.programState = checks.get(currentCheckerIndex).checkPostStatement(this, syntaxNode);
+      SECheck checker = checks.get(currentCheckerIndex);
+      AnalysisProfiler.Sample sample = profiler.startWallClock();
+      explodedGraphWalker.programState = checker.checkPostStatement(this, syntaxNode);
+      record(checker, sample);
     } else {
       if (explodedGraphWalker.programPosition.i< explodedGraphWalker.programPosition.block.elements().size()) {
         explodedGraphWalker.clearStack(explodedGraphWalker.programPosition.block.elements().get(explodedGraphWalker.programPosition.i));
@@ -120,16 +137,24 @@ public class CheckerDispatcher implements CheckerContext {
 
   public void executeCheckEndOfExecution() {
     for (SECheck checker : checks) {
+      AnalysisProfiler.Sample sample = profiler.startWallClock();
       checker.checkEndOfExecution(this);
+      record(checker, sample);
     }
   }
 
   public void executeCheckEndOfExecutionPath(ConstraintManager constraintManager) {
     for (SECheck checker : checks) {
+      AnalysisProfiler.Sample sample = profiler.startWallClock();
       checker.checkEndOfExecutionPath(this, constraintManager);
+      record(checker, sample);
     }
   }
 
+  private void record(SECheck checker, AnalysisProfiler.Sample sample) {
+    profiler.record(AnalysisProfiler.Kind.SE_CHECK, checker.getClass().getName(), null, sample);
+  }
+
   public void init() {
     for (SECheck checker : checks) {
       checker.init();
@@ -29,6 +29,8 @@ import com.google.common.collect.Lists;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sonar.java.AnalysisProfiler;
+import org.sonar.java.TimeBudget;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.cfg.LiveVariables;
 import org.sonar.java.model.JavaTree;
@@ -98,6 +100,7 @@ public class ExplodedGraphWalker extends BaseTreeVisitor {
   private LiveVariables liveVariables;
 
   private CheckerDispatcher checkerDispatcher;
+  private final TimeBudget.Timer timer;
 
   @VisibleForTesting
   int steps;
@@ -124,9 +127,18 @@ public class ExplodedGraphWalker extends BaseTreeVisitor {
   }
 
   public ExplodedGraphWalker(JavaFileScannerContext context) {
+    this(context, AnalysisProfiler.disabled(), TimeBudget.unlimited().start());
+  }
+
+  /**
+   * @param profiler records the time spent in each check, see {@link CheckerDispatcher}.
+   * @param timer the exploration of a method stops as soon as the current phase of the timer is over budget.
+   */
+  public ExplodedGraphWalker(JavaFileScannerContext context, AnalysisProfiler profiler, TimeBudget.Timer timer) {
+    this.timer = timer;
     alwaysTrueOrFalseChecker = new ConditionAlwaysTrueOrFalseCheck();
     this.checkerDispatcher = new CheckerDispatcher(this, context,
-      Lists.<SECheck>newArrayList(alwaysTrueOrFalseChecker, new NullDereferenceCheck(), new UnclosedResourcesCheck(), new LocksNotUnlockedCheck()));
+      Lists.<SECheck>newArrayList(alwaysTrueOrFalseChecker, new NullDereferenceCheck(), new UnclosedResourcesCheck(), new LocksNotUnlockedCheck()), profiler);
   }
 
   @VisibleForTesting
@@ -163,6 +175,9 @@ public class ExplodedGraphWalker extends BaseTreeVisitor {
       if (steps > MAX_STEPS) {
         throw new MaximumStepsReachedException("reached limit of " + MAX_STEPS + " steps for method " + tree.simpleName().name() + " in class " + tree.symbol().owner().name());
       }
+      if (timer.isPhaseOverBudget()) {
+        throw new MaximumStepsReachedException("reached time budget after " + steps + " steps for method " + tree.simpleName().name() + " in class " + tree.symbol().owner().name());
+      }
       // LIFO:
       node = workList.removeFirst();
       programPosition = node.programPoint;
@@ -22,6 +22,8 @@ package org.sonar.java.se;
 import com.google.common.collect.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sonar.java.AnalysisProfiler;
+import org.sonar.java.TimeBudget;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
 import org.sonar.java.se.symbolicvalues.BinaryRelation;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -31,6 +33,21 @@ import java.util.List;
 public class SymbolicExecutionVisitor extends SubscriptionVisitor {
   private static final Logger LOG = LoggerFactory.getLogger(SymbolicExecutionVisitor.class);
 
+  private final AnalysisProfiler profiler;
+  private final TimeBudget.Timer timer;
+
+  public SymbolicExecutionVisitor() {
+    this(AnalysisProfiler.disabled(), TimeBudget.unlimited().start());
+  }
+
+  /**
+   * @param timer methods are not executed anymore once the current phase of the timer is over budget.
+   */
+  public SymbolicExecutionVisitor(AnalysisProfiler profiler, TimeBudget.Timer timer) {
+    this.profiler = profiler;
+    this.timer = timer;
+  }
+
   @Override
   public List<Tree.Kind> nodesToVisit() {
     return Lists.newArrayList(Tree.Kind.METHOD);
@@ -38,8 +55,11 @@ public class SymbolicExecutionVisitor extends SubscriptionVisitor {
 
   @Override
   public void visitNode(Tree tree) {
+    if (timer.isPhaseOverBudget()) {
+      return;
+    }
     try {
-      tree.accept(new ExplodedGraphWalker(context));
+      tree.accept(new ExplodedGraphWalker(context, profiler, timer));
     } catch (ExplodedGraphWalker.MaximumStepsReachedException | ExplodedGraphWalker.ExplodedGraphTooBigException | BinaryRelation.TransitiveRelationExceededException exception) {
       LOG.debug("Could not complete symbolic execution: ", exception);
     }
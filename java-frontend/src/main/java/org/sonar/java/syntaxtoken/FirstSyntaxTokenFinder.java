@@ -37,8 +37,9 @@ public class FirstSyntaxTokenFinder {
     } else if (tree.is(Tree.Kind.TOKEN)) {
       return (SyntaxToken) tree;
     }
-    for (Tree next : ((JavaTree) tree).children()) {
-      SyntaxToken syntaxToken = firstSyntaxToken(next);
+    JavaTree javaTree = (JavaTree) tree;
+    for (int i = 0; i < javaTree.childCount(); i++) {
+      SyntaxToken syntaxToken = firstSyntaxToken(javaTree.child(i));
       if (syntaxToken != null) {
         return syntaxToken;
       }
@@ -19,13 +19,11 @@
  */
 package org.sonar.java.syntaxtoken;
 
-import com.google.common.collect.Lists;
 import org.sonar.java.model.JavaTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
 
 public class LastSyntaxTokenFinder {
 
@@ -39,9 +37,9 @@ public class LastSyntaxTokenFinder {
     } else if (tree.is(Tree.Kind.TOKEN)) {
       return (SyntaxToken) tree;
     }
-    ArrayList<Tree> childrenAsList = Lists.newArrayList(((JavaTree) tree).children());
-    for (Tree next : Lists.reverse(childrenAsList)) {
-      SyntaxToken syntaxToken = lastSyntaxToken(next);
+    JavaTree javaTree = (JavaTree) tree;
+    for (int i = javaTree.childCount() - 1; i >= 0; i--) {
+      SyntaxToken syntaxToken = lastSyntaxToken(javaTree.child(i));
       if (syntaxToken != null) {
         return syntaxToken;
       }
@@ -0,0 +1,234 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.check.RuleProperty;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.java.resolve.SharedSymbols;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class AnalysisCacheTest {
+
+  private static final String RULE_KEY = "squid:S0001";
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private File cacheFile;
+  private File binaries;
+  private File sourceFile;
+  private MyCheck check;
+  private Map<String, JavaCheck> checks;
+  private List<File> classpath;
+
+  @Before
+  public void setUp() throws Exception {
+    cacheFile = new File(temp.getRoot(), "cache/main.cache");
+    binaries = temp.newFolder("binaries");
+    sourceFile = temp.newFile("A.java");
+    Files.write("class A {}", sourceFile, StandardCharsets.UTF_8);
+    check = new MyCheck();
+    checks = ImmutableMap.<String, JavaCheck>of(RULE_KEY, check);
+    classpath = Lists.newArrayList(binaries);
+  }
+
+  @Test
+  public void issues_are_replayed_for_unchanged_files() throws Exception {
+    String contentHash = AnalysisCache.contentHash(sourceFile);
+    AnalysisCache cache = load();
+    assertThat(cache.replay(sourceFile, contentHash, mock(SonarComponents.class), checks)).isFalse();
+    AnalysisCache.Recorder recorder = cache.record(sourceFile, contentHash);
+    AnalyzerMessage analyzerMessage = new AnalyzerMessage(check, sourceFile, new AnalyzerMessage.TextSpan(1, 0, 1, 5), "message", 2);
+    analyzerMessage.secondaryLocations.add(new AnalyzerMessage(check, sourceFile, new AnalyzerMessage.TextSpan(1, 6, 1, 7), null, 0));
+    recorder.issueReported(analyzerMessage, RuleKey.parse(RULE_KEY));
+    recorder.issueReported(new AnalyzerMessage(check, sourceFile, -1, "on file", 0), RuleKey.parse(RULE_KEY));
+    recorder.done(Collections.<String>emptyList(), Collections.<String>emptyList());
+    assertThat(cache.size()).isEqualTo(1);
+    cache.save();
+    assertThat(cacheFile).exists();
+
+    cache = load();
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    assertThat(cache.replay(sourceFile, contentHash, sonarComponents, checks)).isTrue();
+    ArgumentCaptor<AnalyzerMessage> captor = ArgumentCaptor.forClass(AnalyzerMessage.class);
+    verify(sonarComponents, times(2)).reportIssue(captor.capture());
+    AnalyzerMessage replayed = captor.getAllValues().get(0);
+    assertThat(replayed.getCheck()).isSameAs(check);
+    assertThat(replayed.getFile()).isEqualTo(sourceFile);
+    assertThat(replayed.getMessage()).isEqualTo("message");
+    assertThat(replayed.getCost()).isEqualTo(2d);
+    assertThat(replayed.primaryLocation().toString()).isEqualTo("(1:0)-(1:5)");
+    assertThat(replayed.secondaryLocations).hasSize(1);
+    assertThat(replayed.secondaryLocations.get(0).getMessage()).isNull();
+    assertThat(replayed.secondaryLocations.get(0).primaryLocation().toString()).isEqualTo("(1:6)-(1:7)");
+    replayed = captor.getAllValues().get(1);
+    assertThat(replayed.primaryLocation()).isNull();
+    assertThat(replayed.getCost()).isNull();
+    // replayed entries are kept
+    assertThat(cache.size()).isEqualTo(1);
+
+    Files.write("class A { }", sourceFile, StandardCharsets.UTF_8);
+    sonarComponents = mock(SonarComponents.class);
+    assertThat(load().replay(sourceFile, AnalysisCache.contentHash(sourceFile), sonarComponents, checks)).isFalse();
+    verify(sonarComponents, never()).reportIssue(any(AnalyzerMessage.class));
+  }
+
+  @Test
+  public void saved_cache_replaces_previous_one() throws Exception {
+    String contentHash = AnalysisCache.contentHash(sourceFile);
+    AnalysisCache cache = load();
+    cache.record(sourceFile, contentHash).done(Collections.<String>emptyList(), Collections.<String>emptyList());
+    cache.save();
+    assertThat(load().replay(sourceFile, contentHash, mock(SonarComponents.class), checks)).isTrue();
+
+    load().save();
+    assertThat(cacheFile.getParentFile().list()).containsOnly(cacheFile.getName());
+    assertThat(load().replay(sourceFile, contentHash, mock(SonarComponents.class), checks)).isFalse();
+  }
+
+  @Test
+  public void cache_is_discarded_when_fingerprint_changes() throws Exception {
+    String contentHash = AnalysisCache.contentHash(sourceFile);
+    AnalysisCache cache = load();
+    cache.record(sourceFile, contentHash).done(Collections.<String>emptyList(), Collections.<String>emptyList());
+    cache.save();
+    assertThat(load().replay(sourceFile, contentHash, mock(SonarComponents.class), checks)).isTrue();
+
+    String fingerprint = fingerprint();
+    check.max = 4;
+    assertThat(fingerprint()).isNotEqualTo(fingerprint);
+    assertThat(load().replay(sourceFile, contentHash, mock(SonarComponents.class), checks)).isFalse();
+    check.max = 3;
+    assertThat(fingerprint()).isEqualTo(fingerprint);
+    assertThat(AnalysisCache.fingerprint(checks, classpath, new JavaVersionImpl(8), StandardCharsets.UTF_8)).isNotEqualTo(fingerprint);
+    assertThat(AnalysisCache.fingerprint(checks, classpath, new JavaVersionImpl(), StandardCharsets.ISO_8859_1)).isNotEqualTo(fingerprint);
+    assertThat(AnalysisCache.fingerprint(ImmutableMap.<String, JavaCheck>of(), classpath, new JavaVersionImpl(), StandardCharsets.UTF_8)).isNotEqualTo(fingerprint);
+  }
+
+  @Test
+  public void fingerprint_depends_on_class_files_of_checks_when_analyzer_version_is_unknown() throws Exception {
+    assertThat(AnalysisCache.class.getPackage().getImplementationVersion()).isNull();
+    String fingerprint = fingerprint();
+    File classFile = new File("target/test-classes/org/sonar/java/AnalysisCacheTest$MyCheck.class");
+    long lastModified = classFile.lastModified();
+    assertThat(classFile.setLastModified(lastModified - 10000)).isTrue();
+    try {
+      assertThat(fingerprint()).isNotEqualTo(fingerprint);
+    } finally {
+      classFile.setLastModified(lastModified);
+    }
+    assertThat(fingerprint()).isEqualTo(fingerprint);
+  }
+
+  @Test
+  public void entries_depend_on_signature_of_project_classes() throws Exception {
+    File classFile = new File(binaries, "org/sonar/java/AnalysisCacheTest$MyCheck.class");
+    classFile.getParentFile().mkdirs();
+    Files.copy(new File("target/test-classes/org/sonar/java/AnalysisCacheTest$MyCheck.class"), classFile);
+    String contentHash = AnalysisCache.contentHash(sourceFile);
+    AnalysisCache cache = load();
+    cache.record(sourceFile, contentHash).done(Lists.newArrayList("org.sonar.java.AnalysisCacheTest$MyCheck"), Lists.newArrayList("org.sonar.java.Unknown"));
+    cache.save();
+    assertThat(load().replay(sourceFile, contentHash, mock(SonarComponents.class), checks)).isTrue();
+
+    Files.copy(new File("target/test-classes/org/sonar/java/AnalysisCacheTest.class"), classFile);
+    assertThat(load().replay(sourceFile, contentHash, mock(SonarComponents.class), checks)).isFalse();
+  }
+
+  @Test
+  public void entries_depend_on_classes_missing_from_the_project() throws Exception {
+    Files.write("package org.sonar.java; class A { AnalysisCacheTest test; }", sourceFile, StandardCharsets.UTF_8);
+    String contentHash = AnalysisCache.contentHash(sourceFile);
+    SharedSymbols sharedSymbols = new SharedSymbols(classpath);
+    SemanticModel semanticModel = SemanticModel.createFor((CompilationUnitTree) JavaParser.createParser(StandardCharsets.UTF_8).parse(sourceFile), sharedSymbols);
+    semanticModel.done();
+    sharedSymbols.done();
+    assertThat(semanticModel.missingProjectClasses()).contains("org.sonar.java.AnalysisCacheTest");
+    AnalysisCache cache = load();
+    cache.record(sourceFile, contentHash).done(semanticModel.loadedProjectClasses(), semanticModel.missingProjectClasses());
+    cache.save();
+    assertThat(load().replay(sourceFile, contentHash, mock(SonarComponents.class), checks)).isTrue();
+
+    File classFile = new File(binaries, "org/sonar/java/AnalysisCacheTest.class");
+    classFile.getParentFile().mkdirs();
+    Files.copy(new File("target/test-classes/org/sonar/java/AnalysisCacheTest.class"), classFile);
+    assertThat(load().replay(sourceFile, contentHash, mock(SonarComponents.class), checks)).isFalse();
+  }
+
+  @Test
+  public void files_with_issues_on_other_files_are_not_cached() throws Exception {
+    AnalysisCache cache = load();
+    AnalysisCache.Recorder recorder = cache.record(sourceFile, AnalysisCache.contentHash(sourceFile));
+    recorder.issueReported(new AnalyzerMessage(check, temp.getRoot(), -1, "on directory", 0), RuleKey.parse(RULE_KEY));
+    recorder.done(Collections.<String>emptyList(), Collections.<String>emptyList());
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void unreadable_files_are_not_cached() throws Exception {
+    assertThat(AnalysisCache.contentHash(new File(temp.getRoot(), "unknown.java"))).isNull();
+    Files.write("corrupted", cacheFile(), StandardCharsets.UTF_8);
+    assertThat(load().replay(sourceFile, AnalysisCache.contentHash(sourceFile), mock(SonarComponents.class), checks)).isFalse();
+  }
+
+  private File cacheFile() {
+    cacheFile.getParentFile().mkdirs();
+    return cacheFile;
+  }
+
+  private AnalysisCache load() {
+    return AnalysisCache.load(cacheFile, fingerprint(), classpath);
+  }
+
+  private String fingerprint() {
+    return AnalysisCache.fingerprint(checks, classpath, new JavaVersionImpl(), StandardCharsets.UTF_8);
+  }
+
+  private static class MyCheck implements JavaCheck {
+    @RuleProperty(key = "max")
+    int max = 3;
+  }
+
+}
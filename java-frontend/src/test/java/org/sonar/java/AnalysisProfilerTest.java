@@ -0,0 +1,133 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.java.ast.JavaAstScanner;
+import org.sonar.java.ast.visitors.SubscriptionVisitor;
+import org.sonar.java.model.VisitorsBridge;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class AnalysisProfilerTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void disabled_profiler_records_nothing() {
+    AnalysisProfiler profiler = AnalysisProfiler.disabled();
+    assertThat(profiler.isEnabled()).isFalse();
+    profiler.record(AnalysisProfiler.Kind.PHASE, AnalysisProfiler.PARSE, new File("A.java"), profiler.start());
+    assertThat(profiler.stats(AnalysisProfiler.Kind.PHASE)).isEmpty();
+    assertThat(profiler.stats(AnalysisProfiler.Kind.FILE)).isEmpty();
+  }
+
+  @Test
+  public void measures_are_cumulated() throws Exception {
+    AnalysisProfiler profiler = new AnalysisProfiler();
+    File file = new File("A.java");
+    profiler.record(AnalysisProfiler.Kind.CHECK, "fast", file, profiler.start());
+    AnalysisProfiler.Sample sample = profiler.start();
+    byte[][] allocations = new byte[100][];
+    for (int i = 0; i < allocations.length; i++) {
+      allocations[i] = new byte[1000];
+    }
+    Thread.sleep(10);
+    profiler.record(AnalysisProfiler.Kind.CHECK, "slow", file, sample);
+    profiler.record(AnalysisProfiler.Kind.CHECK, "slow", null, profiler.startWallClock());
+
+    List<AnalysisProfiler.Stats> checks = profiler.stats(AnalysisProfiler.Kind.CHECK);
+    assertThat(checks).hasSize(2);
+    AnalysisProfiler.Stats slow = checks.get(0);
+    assertThat(slow.name()).isEqualTo("slow");
+    assertThat(slow.invocations()).isEqualTo(2);
+    assertThat(slow.wallTime()).isGreaterThanOrEqualTo(10000000L);
+    // not measured by the second invocation
+    assertThat(slow.cpuTime()).isEqualTo(-1);
+    assertThat(slow.allocatedBytes()).isEqualTo(-1);
+    AnalysisProfiler.Stats fast = checks.get(1);
+    assertThat(fast.invocations()).isEqualTo(1);
+    assertThat(fast.cpuTime()).isGreaterThanOrEqualTo(0);
+
+    List<AnalysisProfiler.Stats> files = profiler.stats(AnalysisProfiler.Kind.FILE);
+    assertThat(files).hasSize(1);
+    assertThat(files.get(0).name()).isEqualTo(file.getAbsolutePath());
+    assertThat(files.get(0).wallTime()).isGreaterThanOrEqualTo(10000000L);
+    assertThat(files.get(0).allocatedBytes()).isGreaterThanOrEqualTo(100000L);
+  }
+
+  @Test
+  public void phases_and_checks_of_the_analysis_are_profiled() throws Exception {
+    AnalysisProfiler profiler = new AnalysisProfiler();
+    JavaConfiguration conf = new JavaConfiguration(Charsets.UTF_8);
+    conf.setProfiler(profiler);
+    SubscriptionVisitor visitor = new SubscriptionVisitor() {
+      @Override
+      public List<Tree.Kind> nodesToVisit() {
+        return Collections.singletonList(Tree.Kind.METHOD);
+      }
+    };
+    VisitorsBridge visitorsBridge = new VisitorsBridge(Lists.newArrayList(visitor), Lists.<File>newArrayList(), null);
+    visitorsBridge.setProfiler(profiler);
+    JavaAstScanner.scanSingleFileForTests(new File("src/test/files/se/SeEngineTestCase.java"), visitorsBridge, conf);
+
+    List<String> phases = Lists.newArrayList();
+    for (AnalysisProfiler.Stats stats : profiler.stats(AnalysisProfiler.Kind.PHASE)) {
+      phases.add(stats.name());
+    }
+    assertThat(phases).containsOnly(AnalysisProfiler.PARSE, AnalysisProfiler.PARENT_LINKING, AnalysisProfiler.SEMANTIC, AnalysisProfiler.DISPATCHED_CHECKS,
+      AnalysisProfiler.SYMBOLIC_EXECUTION);
+    assertThat(profiler.stats(AnalysisProfiler.Kind.CHECK)).hasSize(1);
+    assertThat(profiler.stats(AnalysisProfiler.Kind.CHECK).get(0).name()).isEqualTo(visitor.getClass().getName());
+    assertThat(profiler.stats(AnalysisProfiler.Kind.SE_CHECK)).isNotEmpty();
+    assertThat(profiler.stats(AnalysisProfiler.Kind.FILE)).hasSize(1);
+
+    File report = new File(temp.getRoot(), "profiling/report.tsv");
+    profiler.writeReport(report);
+    List<String> lines = Files.readLines(report, Charsets.UTF_8);
+    assertThat(lines.get(0)).isEqualTo("kind\tname\tinvocations\twallTimeMs\tcpuTimeMs\tallocatedBytes\tdetail");
+    assertThat(lines.get(1)).startsWith("phase\t");
+    assertThat(lines).hasSize(1 + 5 + 1 + profiler.stats(AnalysisProfiler.Kind.SE_CHECK).size() + 1);
+
+    profiler.recordFileOverBudget(new File("A.java"), "reason");
+    profiler.writeReport(report);
+    lines = Files.readLines(report, Charsets.UTF_8);
+    assertThat(lines.get(lines.size() - 1)).isEqualTo("over_budget\t" + new File("A.java").getAbsolutePath() + "\t\t\t\t\treason");
+
+    profiler.recordLightweightFile(new File("B.java"), "generated");
+    profiler.writeReport(report);
+    lines = Files.readLines(report, Charsets.UTF_8);
+    assertThat(lines.get(lines.size() - 1)).isEqualTo("lightweight\t" + new File("B.java").getAbsolutePath() + "\t\t\t\t\tgenerated");
+    assertThat(profiler.lightweightFiles()).hasSize(1);
+    profiler.logSummary(3);
+  }
+
+}
@@ -23,8 +23,10 @@ import com.google.common.collect.Lists;
 import org.junit.Test;
 import org.sonar.java.ast.JavaAstScanner;
 import org.sonar.java.model.VisitorsBridge;
+import org.sonar.java.model.VisitorsBridgeForTests;
 
 import java.io.File;
+import java.util.Collections;
 
 import static org.fest.assertions.Assertions.assertThat;
 
@@ -82,6 +84,16 @@ public class JavaFilesCacheTest {
     }
   }
 
+  @Test
+  public void suppressWarning_lines_mapping_without_semantic() {
+    JavaFilesCache javaFilesCache = new JavaFilesCache();
+    JavaAstScanner.scanSingleFileForTests(new File("src/test/resources/JavaFilesCacheTestFile.java"), new VisitorsBridgeForTests(Collections.singletonList(javaFilesCache)));
+    assertThat(javaFilesCache.suppressWarningLines.keySet()).hasSize(28);
+    for (Integer line : Lists.newArrayList(23, 24, 25, 26, 27)) {
+      assertThat(javaFilesCache.suppressWarningLines.get(line)).contains("foo", "bar");
+    }
+  }
+
   @Test
   public void suppressWarning_external() {
     JavaFilesCache javaFilesCache = new JavaFilesCache();
@@ -0,0 +1,99 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class LightweightAnalysisTest {
+
+  private static final List<String> NONE = Collections.emptyList();
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void disabled() throws Exception {
+    assertThat(LightweightAnalysis.disabled().isDisabled()).isTrue();
+    assertThat(new LightweightAnalysis(0, -1, ImmutableList.of(""), NONE).isDisabled()).isTrue();
+    assertThat(LightweightAnalysis.disabled().reason(file("class A {}"), parse("class A {}"))).isNull();
+  }
+
+  @Test
+  public void large_files() throws Exception {
+    String code = "class A {\n  int a;\n}\n";
+    File file = file(code);
+    assertThat(new LightweightAnalysis(10, 0, NONE, NONE).reason(file, parse(code))).isEqualTo("file size is 21 bytes, more than 10");
+    assertThat(new LightweightAnalysis(21, 0, NONE, NONE).reason(file, parse(code))).isNull();
+    assertThat(new LightweightAnalysis(0, 3, NONE, NONE).reason(file, parse(code))).isEqualTo("file has 4 lines, more than 3");
+    assertThat(new LightweightAnalysis(0, 4, NONE, NONE).reason(file, parse(code))).isNull();
+  }
+
+  @Test
+  public void generated_files() throws Exception {
+    LightweightAnalysis lightweightAnalysis = new LightweightAnalysis(0, 0, ImmutableList.of("@Generated", "DO NOT EDIT"), NONE);
+    assertThat(reason(lightweightAnalysis, "@javax.annotation.Generated(\"protoc\") class A {}")).isEqualTo("file is annotated with @Generated");
+    assertThat(reason(lightweightAnalysis, "@Generated class A {} class B {}")).isEqualTo("file is annotated with @Generated");
+    assertThat(reason(lightweightAnalysis, "class A {} @Generated class B {}")).isEqualTo("file is annotated with @Generated");
+    assertThat(reason(lightweightAnalysis, "@Deprecated class A {}")).isNull();
+    assertThat(reason(lightweightAnalysis, "/* Generated code, DO NOT EDIT */ package org.foo; class A {}")).isEqualTo("file header contains \"DO NOT EDIT\"");
+    assertThat(reason(lightweightAnalysis, "// DO NOT EDIT\n")).isEqualTo("file header contains \"DO NOT EDIT\"");
+    assertThat(reason(lightweightAnalysis, "class A { /* DO NOT EDIT */ }")).isNull();
+    assertThat(reason(lightweightAnalysis, ";")).isNull();
+  }
+
+  @Test
+  public void executed_rules() {
+    LightweightAnalysis lightweightAnalysis = new LightweightAnalysis(0, 1, NONE, ImmutableList.of("S00100", "squid:S1234"));
+    assertThat(lightweightAnalysis.isExecuted(null)).isTrue();
+    assertThat(lightweightAnalysis.isExecuted(RuleKey.of("squid", "S00100"))).isTrue();
+    assertThat(lightweightAnalysis.isExecuted(RuleKey.of("squid", "S1234"))).isTrue();
+    assertThat(lightweightAnalysis.isExecuted(RuleKey.of("other", "S1234"))).isFalse();
+    assertThat(lightweightAnalysis.isExecuted(RuleKey.of("squid", "S00101"))).isFalse();
+  }
+
+  private String reason(LightweightAnalysis lightweightAnalysis, String code) throws Exception {
+    return lightweightAnalysis.reason(file(code), parse(code));
+  }
+
+  private File file(String code) throws Exception {
+    File file = temporaryFolder.newFile();
+    Files.write(code, file, Charsets.UTF_8);
+    return file;
+  }
+
+  private static CompilationUnitTree parse(String code) {
+    return (CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse(code);
+  }
+
+}
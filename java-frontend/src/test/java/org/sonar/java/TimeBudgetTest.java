@@ -0,0 +1,95 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class TimeBudgetTest {
+
+  @Test
+  public void unlimited_budget_is_never_exceeded() throws Exception {
+    TimeBudget timeBudget = TimeBudget.unlimited();
+    assertThat(timeBudget.isUnlimited()).isTrue();
+    assertThat(new TimeBudget(-1, 0).isUnlimited()).isTrue();
+    TimeBudget.Timer timer = timeBudget.start();
+    timer.startPhase();
+    Thread.sleep(2);
+    assertThat(timer.isPhaseOverBudget()).isFalse();
+    timer.endPhase("parse");
+    assertThat(timer.isExceeded()).isFalse();
+    assertThat(timer.exceededReason()).isNull();
+    assertThat(timer.spentMillis()).isGreaterThanOrEqualTo(2);
+  }
+
+  @Test
+  public void phase_budget() throws Exception {
+    TimeBudget.Timer timer = new TimeBudget(0, 1).start();
+    timer.startPhase();
+    timer.endPhase("parse");
+    assertThat(timer.isExceeded()).isFalse();
+    timer.startPhase();
+    Thread.sleep(5);
+    assertThat(timer.isPhaseOverBudget()).isTrue();
+    timer.endPhase("semantic");
+    assertThat(timer.isExceeded()).isTrue();
+    assertThat(timer.exceededReason()).matches("semantic took \\d+ ms, more than the phase budget of 1 ms");
+    timer.startPhase();
+    assertThat(timer.isPhaseOverBudget()).isFalse();
+    timer.endPhase("symbol table");
+    // first reason is kept
+    assertThat(timer.exceededReason()).startsWith("semantic");
+  }
+
+  @Test
+  public void file_budget_is_cumulated_over_phases() throws Exception {
+    TimeBudget.Timer timer = new TimeBudget(300, 0).start();
+    timer.startPhase();
+    Thread.sleep(200);
+    timer.endPhase("parse");
+    assertThat(timer.isExceeded()).isFalse();
+    // time between phases is not accounted for
+    Thread.sleep(200);
+    timer.startPhase();
+    assertThat(timer.isPhaseOverBudget()).isFalse();
+    Thread.sleep(200);
+    assertThat(timer.isPhaseOverBudget()).isTrue();
+    timer.endPhase("semantic");
+    assertThat(timer.exceededReason()).matches("analysis took \\d+ ms up to semantic, more than the file budget of 300 ms");
+  }
+
+  @Test
+  public void phases_measured_by_other_threads_are_recorded() throws Exception {
+    TimeBudget.Timer timer = new TimeBudget(300, 200).start();
+    timer.recordPhase("parse", TimeUnit.MILLISECONDS.toNanos(150));
+    assertThat(timer.isExceeded()).isFalse();
+    assertThat(timer.spentMillis()).isEqualTo(150);
+    timer.recordPhase("semantic", TimeUnit.MILLISECONDS.toNanos(160));
+    assertThat(timer.exceededReason()).isEqualTo("analysis took 310 ms up to semantic, more than the file budget of 300 ms");
+
+    timer = new TimeBudget(300, 200).start();
+    timer.recordPhase("parse", TimeUnit.MILLISECONDS.toNanos(250));
+    assertThat(timer.exceededReason()).isEqualTo("parse took 250 ms, more than the phase budget of 200 ms");
+  }
+
+}
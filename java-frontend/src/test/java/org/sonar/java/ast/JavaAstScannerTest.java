@@ -20,8 +20,11 @@
 package org.sonar.java.ast;
 
 import com.google.common.base.Charsets;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.sonar.sslr.api.RecognitionException;
 import com.sonar.sslr.api.typed.ActionParser;
 import com.sonar.sslr.api.typed.GrammarBuilder;
@@ -38,7 +41,9 @@ import org.sonar.api.batch.fs.internal.DefaultFileSystem;
 import org.sonar.api.issue.NoSonarFilter;
 import org.sonar.api.resources.Resource;
 import org.sonar.java.Measurer;
+import org.sonar.java.TimeBudget;
 import org.sonar.java.ast.parser.JavaNodeBuilder;
+import org.sonar.java.ast.parser.JavaParser;
 import org.sonar.java.model.InternalSyntaxToken;
 import org.sonar.java.model.JavaTree;
 import org.sonar.java.model.VisitorsBridge;
@@ -53,10 +58,15 @@ import org.sonar.sslr.grammar.LexerlessGrammarBuilder;
 
 import java.io.File;
 import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.Assertions.assertThat;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -161,8 +171,175 @@ public class JavaAstScannerTest {
     scanner.scan(ImmutableList.of(new File("src/test/resources/AstScannerNoParseError.txt")));
   }
 
+  @Test
+  public void parallel_scan_should_visit_files_in_order() {
+    List<File> files = ImmutableList.of(
+      new File("src/test/files/metrics/Accessors.java"),
+      new File("src/test/files/metrics/ClassNames.java"),
+      new File("src/test/files/metrics/Classes.java"),
+      new File("src/test/files/metrics/Comments.java"),
+      new File("src/test/files/metrics/Complexity.java"));
+    final List<File> visitedFiles = Lists.newArrayList();
+    final List<Boolean> withSemantic = Lists.newArrayList();
+    JavaAstScanner scanner = new JavaAstScanner(JavaParser.createParser(Charsets.UTF_8));
+    scanner.setParallelism(3, new Supplier<ActionParser<Tree>>() {
+      @Override
+      public ActionParser<Tree> get() {
+        return JavaParser.createParser(Charsets.UTF_8);
+      }
+    });
+    scanner.setVisitorBridge(new VisitorsBridge(new JavaFileScanner() {
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        visitedFiles.add(context.getFile());
+        withSemantic.add(context.getSemanticModel() != null);
+      }
+    }));
+
+    scanner.scan(files);
+    assertThat(visitedFiles).isEqualTo(files);
+    assertThat(withSemantic).containsOnly(true);
+  }
+
+  @Test
+  public void parallel_scan_should_not_fail_whole_analysis_upon_parse_error() {
+    FakeAuditListener listener = spy(new FakeAuditListener());
+    JavaAstScanner scanner = defaultParallelJavaAstScanner();
+    scanner.setVisitorBridge(new VisitorsBridge(listener));
+
+    scanner.scan(ImmutableList.of(new File("src/test/resources/AstScannerParseError.txt"), new File("src/test/resources/AstScannerNoParseError.txt")));
+    verify(listener).processRecognitionException(Mockito.any(RecognitionException.class));
+    verify(listener, times(2)).scanFile(Mockito.any(JavaFileScannerContext.class));
+  }
+
+  @Test
+  public void parallel_scan_should_propagate_visitor_exception() {
+    JavaAstScanner scanner = defaultParallelJavaAstScanner();
+    scanner.setVisitorBridge(new VisitorsBridge(new CheckThrowingException(new NullPointerException("foo"))));
+
+    thrown.expectMessage("SonarQube is unable to analyze file");
+    thrown.expect(new AnalysisExceptionBaseMatcher(NullPointerException.class, "instanceof AnalysisException with NullPointerException cause"));
+
+    scanner.scan(ImmutableList.of(new File("src/test/resources/AstScannerNoParseError.txt"), new File("src/test/resources/AstScannerNoParseError.txt")));
+  }
+
+  @Test
+  public void parallelism_should_be_strictly_positive() {
+    thrown.expect(IllegalArgumentException.class);
+    defaultJavaAstScanner().setParallelism(0, null);
+  }
+
+  @Test
+  public void pipelined_scan_should_visit_files_in_order() {
+    List<File> files = ImmutableList.of(
+      new File("src/test/files/metrics/Accessors.java"),
+      new File("src/test/files/metrics/ClassNames.java"),
+      new File("src/test/files/metrics/Classes.java"),
+      new File("src/test/files/metrics/Comments.java"),
+      new File("src/test/files/metrics/Complexity.java"));
+    final List<File> visitedFiles = Lists.newArrayList();
+    final List<Boolean> withSemantic = Lists.newArrayList();
+    JavaAstScanner scanner = new JavaAstScanner(JavaParser.createParser(Charsets.UTF_8));
+    scanner.setPrefetchedFiles(2, Charsets.UTF_8);
+    scanner.setVisitorBridge(new VisitorsBridge(new JavaFileScanner() {
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        visitedFiles.add(context.getFile());
+        withSemantic.add(context.getSemanticModel() != null);
+      }
+    }));
+
+    scanner.scan(files);
+    assertThat(visitedFiles).isEqualTo(files);
+    assertThat(withSemantic).containsOnly(true);
+  }
+
+  @Test
+  public void pipelined_scan_should_not_account_for_time_spent_waiting_to_be_visited() {
+    List<File> files = ImmutableList.of(
+      new File("src/test/files/metrics/Accessors.java"),
+      new File("src/test/files/metrics/ClassNames.java"),
+      new File("src/test/files/metrics/Classes.java"));
+    final List<Boolean> withSemantic = Lists.newArrayList();
+    JavaAstScanner scanner = new JavaAstScanner(JavaParser.createParser(Charsets.UTF_8));
+    scanner.setPrefetchedFiles(2, Charsets.UTF_8);
+    VisitorsBridge visitorsBridge = new VisitorsBridge(new JavaFileScanner() {
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        withSemantic.add(context.getSemanticModel() != null);
+        // following files are parsed meanwhile, and wait longer than their budget to be visited
+        Uninterruptibles.sleepUninterruptibly(1500, TimeUnit.MILLISECONDS);
+      }
+    });
+    visitorsBridge.setTimeBudget(new TimeBudget(1000, 0));
+    scanner.setVisitorBridge(visitorsBridge);
+
+    scanner.scan(files);
+    assertThat(withSemantic).containsExactly(true, true, true);
+  }
+
+  @Test
+  public void pipelined_scan_should_not_fail_whole_analysis_upon_parse_error() {
+    FakeAuditListener listener = spy(new FakeAuditListener());
+    JavaAstScanner scanner = defaultPipelinedJavaAstScanner();
+    scanner.setVisitorBridge(new VisitorsBridge(listener));
+
+    scanner.scan(ImmutableList.of(new File("src/test/resources/AstScannerParseError.txt"), new File("src/test/resources/AstScannerNoParseError.txt")));
+    verify(listener).processRecognitionException(Mockito.any(RecognitionException.class));
+    verify(listener, times(2)).scanFile(Mockito.any(JavaFileScannerContext.class));
+  }
+
+  @Test
+  public void pipelined_scan_should_propagate_visitor_exception() {
+    JavaAstScanner scanner = defaultPipelinedJavaAstScanner();
+    scanner.setVisitorBridge(new VisitorsBridge(new CheckThrowingException(new NullPointerException("foo"))));
+
+    thrown.expectMessage("SonarQube is unable to analyze file");
+    thrown.expect(new AnalysisExceptionBaseMatcher(NullPointerException.class, "instanceof AnalysisException with NullPointerException cause"));
+
+    scanner.scan(ImmutableList.of(new File("src/test/resources/AstScannerNoParseError.txt"), new File("src/test/resources/AstScannerNoParseError.txt")));
+  }
+
+  @Test
+  public void pipelined_scan_should_fail_on_unreadable_file() {
+    JavaAstScanner scanner = defaultPipelinedJavaAstScanner();
+    scanner.setVisitorBridge(new VisitorsBridge(new FakeAuditListener()));
+
+    thrown.expectMessage("SonarQube is unable to analyze file : '" + new File("unknown.java").getAbsolutePath() + "'");
+    thrown.expect(AnalysisException.class);
+
+    scanner.scan(ImmutableList.of(new File("src/test/resources/AstScannerNoParseError.txt"), new File("unknown.java")));
+  }
+
+  @Test
+  public void prefetched_files_should_be_positive() {
+    thrown.expect(IllegalArgumentException.class);
+    defaultJavaAstScanner().setPrefetchedFiles(-1, Charsets.UTF_8);
+  }
+
+  private static JavaAstScanner defaultPipelinedJavaAstScanner() {
+    JavaAstScanner scanner = defaultJavaAstScanner();
+    scanner.setPrefetchedFiles(1, Charsets.UTF_8);
+    return scanner;
+  }
+
+  private static JavaAstScanner defaultParallelJavaAstScanner() {
+    JavaAstScanner scanner = defaultJavaAstScanner();
+    scanner.setParallelism(2, new Supplier<ActionParser<Tree>>() {
+      @Override
+      public ActionParser<Tree> get() {
+        return defaultParser();
+      }
+    });
+    return scanner;
+  }
+
   private static JavaAstScanner defaultJavaAstScanner() {
-    return new JavaAstScanner(new ActionParser<Tree>(Charsets.UTF_8, FakeLexer.builder(), FakeGrammar.class, new FakeTreeFactory(), new JavaNodeBuilder(), FakeLexer.ROOT));
+    return new JavaAstScanner(defaultParser());
+  }
+
+  private static ActionParser<Tree> defaultParser() {
+    return new ActionParser<Tree>(Charsets.UTF_8, FakeLexer.builder(), FakeGrammar.class, new FakeTreeFactory(), new JavaNodeBuilder(), FakeLexer.ROOT);
   }
 
   private static class CheckThrowingException implements JavaFileScanner {
@@ -21,10 +21,14 @@ package org.sonar.java.ast.parser;
 
 import com.google.common.base.Charsets;
 import org.junit.Test;
+import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.LiteralTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.VariableTree;
 
 import static org.fest.assertions.Assertions.assertThat;
 import static org.fest.assertions.Fail.fail;
@@ -41,6 +45,23 @@ public class JavaParserTest {
     assertThat(cut.parent()).isNull();
   }
 
+  @Test
+  public void parent_link_should_be_computed_on_deeply_nested_trees() {
+    StringBuilder expression = new StringBuilder("0");
+    for (int i = 0; i < 50000; i++) {
+      expression.append(" + 1");
+    }
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse("class A { int f = " + expression + "; }");
+    VariableTree field = (VariableTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    ExpressionTree leftOperand = field.initializer();
+    while (leftOperand.is(Tree.Kind.PLUS)) {
+      ExpressionTree next = ((BinaryExpressionTree) leftOperand).leftOperand();
+      assertThat(next.parent()).isSameAs(leftOperand);
+      leftOperand = next;
+    }
+    assertThat(((LiteralTree) leftOperand).value()).isEqualTo("0");
+  }
+
   @Test
   public void receiver_type_should_be_parsed() throws Exception {
     try {
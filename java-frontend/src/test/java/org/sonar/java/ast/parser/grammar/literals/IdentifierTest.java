@@ -32,11 +32,17 @@ public class IdentifierTest {
       .matches("foo")
       .matches("bar")
       .matches("enum")
+      .matches("classes")
+      .matches("int_")
+      .matches("do$")
+      .matches("Class")
 
       .notMatches("public")
       .notMatches("final")
 
-      .notMatches("assert");
+      .notMatches("assert")
+      .notMatches("do")
+      .notMatches("instanceof");
   }
 
 }
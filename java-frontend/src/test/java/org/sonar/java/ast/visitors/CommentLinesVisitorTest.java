@@ -0,0 +1,67 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.ast.visitors;
+
+import com.google.common.base.Charsets;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class CommentLinesVisitorTest {
+
+  @Test
+  public void comment_lines() {
+    CommentLinesVisitor visitor = analyze(
+      "/* header */\n" +
+        "class A {\n" +
+        "  // line comment\n" +
+        "  /**\r\n" +
+        "   * javadoc\r\n" +
+        "   *\r" +
+        "   */\n" +
+        "  void f() {} /* NOSONAR */\n" +
+        "  //\n" +
+        "}\n");
+    assertThat(visitor.commentLinesMetric()).isEqualTo(2);
+    assertThat(visitor.noSonarLines()).containsOnly(8);
+  }
+
+  @Test
+  public void nosonar_on_each_line_of_comment() {
+    CommentLinesVisitor visitor = analyze(
+      "class A {\n" +
+        "  /* NOSONAR\n" +
+        "     comment\n" +
+        "     NOSONAR */\n" +
+        "  //NOSONAR\n" +
+        "}\n");
+    assertThat(visitor.commentLinesMetric()).isEqualTo(1);
+    assertThat(visitor.noSonarLines()).containsOnly(2, 4, 5);
+  }
+
+  private static CommentLinesVisitor analyze(String source) {
+    CommentLinesVisitor visitor = new CommentLinesVisitor();
+    visitor.analyzeCommentLines((CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse(source));
+    return visitor;
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.ast.visitors;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.sonar.java.AnalysisProfiler;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.SyntaxTrivia;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SubscriptionVisitorsDispatcherTest {
+
+  private static final String SOURCE = "/* header */ class A {\n" +
+    "  // comment\n" +
+    "  void foo() { int a = 1; class B { void bar() {} } }\n" +
+    "}";
+
+  @Test
+  public void should_dispatch_as_each_visitor_would_walk_the_tree() {
+    CompilationUnitTree tree = (CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse(SOURCE);
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    when(context.getTree()).thenReturn(tree);
+
+    List<RecordingVisitor> standalone = visitors();
+    for (RecordingVisitor visitor : standalone) {
+      visitor.scanFile(context);
+    }
+    List<RecordingVisitor> dispatched = visitors();
+    new SubscriptionVisitorsDispatcher(Lists.<SubscriptionVisitor>newArrayList(dispatched)).scanFile(context);
+
+    for (int i = 0; i < standalone.size(); i++) {
+      assertThat(dispatched.get(i).events).isEqualTo(standalone.get(i).events);
+      assertThat(dispatched.get(i).context).isSameAs(context);
+    }
+    assertThat(dispatched.get(0).events).containsSequence("visit METHOD foo", "visit METHOD bar", "leave METHOD bar", "leave METHOD foo");
+    assertThat(dispatched.get(1).events).contains("token class", "trivia /* header */", "trivia // comment");
+    assertThat(dispatched.get(2).events).contains("visit VARIABLE a", "leave CLASS B");
+  }
+
+  @Test
+  public void dispatched_visitors_keep_the_semantic_model_until_the_end_of_the_file() {
+    CompilationUnitTree tree = (CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse(SOURCE);
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    when(context.getTree()).thenReturn(tree);
+    SemanticModel semanticModel = mock(SemanticModel.class);
+    when(context.getSemanticModel()).thenReturn(semanticModel);
+
+    RecordingVisitor visitor = new RecordingVisitor(Tree.Kind.METHOD);
+    new SubscriptionVisitorsDispatcher(Lists.<SubscriptionVisitor>newArrayList(visitor)).scanFile(context);
+    assertThat(visitor.semanticModel()).isSameAs(semanticModel);
+    assertThat(visitor.hasSemantic()).isTrue();
+
+    visitor.endOfFile();
+    assertThat(visitor.semanticModel()).isNull();
+    assertThat(visitor.hasSemantic()).isFalse();
+  }
+
+  @Test
+  public void time_of_each_dispatched_visitor_is_profiled() {
+    CompilationUnitTree tree = (CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse(SOURCE);
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    when(context.getTree()).thenReturn(tree);
+    AnalysisProfiler profiler = new AnalysisProfiler();
+
+    List<RecordingVisitor> dispatched = ImmutableList.of(new RecordingVisitor(Tree.Kind.METHOD), new RecordingVisitor(Tree.Kind.TOKEN, Tree.Kind.TRIVIA) {
+    });
+    SubscriptionVisitorsDispatcher dispatcher = new SubscriptionVisitorsDispatcher(Lists.<SubscriptionVisitor>newArrayList(dispatched), profiler);
+    dispatcher.scanFile(context);
+    dispatcher.scanFile(context);
+
+    List<RecordingVisitor> standalone = ImmutableList.of(new RecordingVisitor(Tree.Kind.METHOD), new RecordingVisitor(Tree.Kind.TOKEN, Tree.Kind.TRIVIA));
+    for (int i = 0; i < standalone.size(); i++) {
+      standalone.get(i).scanFile(context);
+      standalone.get(i).scanFile(context);
+      assertThat(dispatched.get(i).events).isEqualTo(standalone.get(i).events);
+    }
+    List<String> checks = Lists.newArrayList();
+    for (AnalysisProfiler.Stats stats : profiler.stats(AnalysisProfiler.Kind.CHECK)) {
+      checks.add(stats.name());
+      assertThat(stats.invocations()).isEqualTo(2);
+      assertThat(stats.wallTime()).isGreaterThan(0);
+    }
+    assertThat(checks).containsOnly(dispatched.get(0).getClass().getName(), dispatched.get(1).getClass().getName());
+    assertThat(profiler.stats(AnalysisProfiler.Kind.FILE)).isEmpty();
+  }
+
+  @Test
+  public void should_not_dispatch_to_visitors_walking_the_tree_on_their_own() {
+    assertThat(SubscriptionVisitorsDispatcher.canDispatchTo(new RecordingVisitor(Tree.Kind.METHOD))).isTrue();
+    assertThat(SubscriptionVisitorsDispatcher.canDispatchTo(new RecordingVisitor(Tree.Kind.METHOD) {
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        super.scanFile(context);
+      }
+    })).isFalse();
+    assertThat(SubscriptionVisitorsDispatcher.canDispatchTo(new RecordingVisitor(Tree.Kind.METHOD) {
+      @Override
+      protected void scanTree(Tree tree) {
+        super.scanTree(tree);
+      }
+    })).isFalse();
+    assertThat(SubscriptionVisitorsDispatcher.canDispatchTo(mock(JavaFileScanner.class))).isFalse();
+  }
+
+  private static List<RecordingVisitor> visitors() {
+    return ImmutableList.of(
+      new RecordingVisitor(Tree.Kind.METHOD),
+      new RecordingVisitor(Tree.Kind.TOKEN, Tree.Kind.TRIVIA, Tree.Kind.CLASS),
+      new RecordingVisitor(Tree.Kind.CLASS, Tree.Kind.VARIABLE, Tree.Kind.METHOD));
+  }
+
+  private static class RecordingVisitor extends SubscriptionVisitor {
+    private final List<Tree.Kind> nodesToVisit;
+    private final List<String> events = Lists.newArrayList();
+
+    RecordingVisitor(Tree.Kind... nodesToVisit) {
+      this.nodesToVisit = ImmutableList.copyOf(nodesToVisit);
+    }
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+      return nodesToVisit;
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      events.add("visit " + describe(tree));
+    }
+
+    @Override
+    public void leaveNode(Tree tree) {
+      events.add("leave " + describe(tree));
+    }
+
+    @Override
+    public void visitToken(SyntaxToken syntaxToken) {
+      events.add("token " + syntaxToken.text());
+    }
+
+    @Override
+    public void visitTrivia(SyntaxTrivia syntaxTrivia) {
+      events.add("trivia " + syntaxTrivia.comment());
+    }
+
+    private static String describe(Tree tree) {
+      String name = "";
+      if (tree.is(Tree.Kind.METHOD)) {
+        name = ((MethodTree) tree).simpleName().name();
+      } else if (tree.is(Tree.Kind.CLASS)) {
+        name = ((ClassTree) tree).simpleName().name();
+      } else if (tree.is(Tree.Kind.VARIABLE)) {
+        name = ((VariableTree) tree).simpleName().name();
+      }
+      return tree.kind() + " " + name;
+    }
+  }
+
+}
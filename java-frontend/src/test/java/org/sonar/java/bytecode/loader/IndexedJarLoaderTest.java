@@ -0,0 +1,117 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode.loader;
+
+import com.google.common.io.Files;
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassReader;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Arrays;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class IndexedJarLoaderTest {
+
+  private static final String HELLO_CLASS = "org/sonar/tests/Hello.class";
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @Test
+  public void classes_are_stripped_and_indexed() throws Exception {
+    File jar = copyJar();
+    File indexDirectory = new File(temp.getRoot(), "index");
+    IndexedJarLoader loader = new IndexedJarLoader(jar, indexDirectory);
+
+    assertThat(loader.findResource("notfound.class")).isNull();
+    assertThat(loader.loadBytes("notfound.class")).isEmpty();
+    assertThat(loader.loadBytes("META-INF/MANIFEST.MF")).isNotEmpty();
+
+    URL url = loader.findResource(HELLO_CLASS);
+    assertThat(url.toString()).endsWith("hello.jar!/" + HELLO_CLASS);
+    InputStream is = url.openStream();
+    byte[] bytes;
+    try {
+      bytes = IOUtils.toByteArray(is);
+    } finally {
+      IOUtils.closeQuietly(is);
+    }
+    assertThat(new ClassReader(bytes).getClassName()).isEqualTo("org/sonar/tests/Hello");
+    assertThat(bytes.length).isLessThan(new JarLoader(jar).loadBytes(HELLO_CLASS).length);
+
+    loader.close();
+    File[] indexes = indexDirectory.listFiles();
+    assertThat(indexes).hasSize(1);
+    File index = indexes[0];
+    assertThat(index.getName()).startsWith("hello.jar-").endsWith(".idx");
+
+    // index is read and left untouched
+    assertThat(index.setLastModified(1000L)).isTrue();
+    loader = new IndexedJarLoader(jar, indexDirectory);
+    assertThat(loader.findResource("notfound.class")).isNull();
+    assertThat(loader.loadBytes(HELLO_CLASS)).isEqualTo(bytes);
+    loader.close();
+    assertThat(index.lastModified()).isEqualTo(1000L);
+
+    // index is rebuilt when jar changes
+    assertThat(jar.setLastModified(jar.lastModified() - 10000L)).isTrue();
+    loader = new IndexedJarLoader(jar, indexDirectory);
+    assertThat(loader.loadBytes(HELLO_CLASS)).isEqualTo(bytes);
+    loader.close();
+    assertThat(index.lastModified()).isNotEqualTo(1000L);
+    assertThat(indexDirectory.listFiles()).hasSize(1);
+  }
+
+  @Test
+  public void closed_loader_should_not_be_used() throws Exception {
+    IndexedJarLoader loader = new IndexedJarLoader(copyJar(), temp.getRoot());
+    loader.close();
+    loader.close();
+
+    thrown.expect(IllegalStateException.class);
+    loader.loadBytes(HELLO_CLASS);
+  }
+
+  @Test
+  public void squid_class_loader_should_read_jars_through_indexes() throws Exception {
+    File indexDirectory = temp.newFolder("index");
+    SquidClassLoader classLoader = new SquidClassLoader(Arrays.asList(copyJar()), indexDirectory);
+    assertThat(classLoader.getResource(HELLO_CLASS)).isNotNull();
+    classLoader.close();
+    assertThat(indexDirectory.listFiles()).hasSize(1);
+  }
+
+  private File copyJar() throws Exception {
+    File jar = new File(temp.newFolder("lib"), "hello.jar");
+    Files.copy(new File("src/test/files/bytecode/lib/hello.jar"), jar);
+    return jar;
+  }
+
+}
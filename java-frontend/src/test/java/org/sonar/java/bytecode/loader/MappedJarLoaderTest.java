@@ -0,0 +1,170 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode.loader;
+
+import com.google.common.io.Files;
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Random;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class MappedJarLoaderTest {
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void testFindResource() throws Exception {
+    File jar = new File("src/test/files/bytecode/lib/hello.jar");
+    MappedJarLoader loader = new MappedJarLoader(jar);
+
+    assertThat(loader.findResource("notfound")).isNull();
+
+    URL url = loader.findResource("META-INF/MANIFEST.MF");
+    assertThat(url).isNotNull();
+    assertThat(url.toString()).startsWith("jar:");
+    assertThat(url.toString()).endsWith("hello.jar!/META-INF/MANIFEST.MF");
+
+    InputStream is = url.openStream();
+    try {
+      assertThat(IOUtils.readLines(is)).contains("Manifest-Version: 1.0");
+    } finally {
+      IOUtils.closeQuietly(is);
+    }
+    assertThat(url.openConnection().getContentLength()).isEqualTo(loader.loadBytes("META-INF/MANIFEST.MF").length);
+
+    loader.close();
+
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Loader closed");
+    loader.findResource("META-INF/MANIFEST.MF");
+  }
+
+  @Test
+  public void testLoadBytes() throws Exception {
+    File jar = new File("src/test/files/bytecode/lib/hello.jar");
+    MappedJarLoader loader = new MappedJarLoader(jar);
+
+    assertThat(loader.loadBytes("notfound")).isEmpty();
+
+    byte[] bytes = loader.loadBytes("META-INF/MANIFEST.MF");
+    assertThat(bytes).isNotEmpty();
+    ByteArrayInputStream is = new ByteArrayInputStream(bytes);
+    assertThat(IOUtils.readLines(is)).contains("Manifest-Version: 1.0");
+    assertThat(loader.classNames()).containsOnly("org/sonar/tests/Hello.class");
+
+    loader.close();
+    loader.close();
+
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Loader closed");
+    loader.loadBytes("META-INF/MANIFEST.MF");
+  }
+
+  @Test
+  public void resources_found_before_closing_can_not_be_read_once_closed() throws Exception {
+    MappedJarLoader loader = new MappedJarLoader(new File("src/test/files/bytecode/lib/hello.jar"));
+    URL url = loader.findResource("META-INF/MANIFEST.MF");
+    loader.close();
+
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Loader closed");
+    url.openStream();
+  }
+
+  @Test
+  public void entries_are_read_as_by_jar_file() throws Exception {
+    byte[] content = new byte[100000];
+    new Random(0).nextBytes(content);
+    // half of the content is compressible
+    for (int i = 0; i < content.length / 2; i++) {
+      content[i] = (byte) (i % 7);
+    }
+    File jar = temp.newFile("entries.jar");
+    JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+    try {
+      out.setComment("archive comment");
+      out.putNextEntry(new JarEntry("a/Deflated.class"));
+      out.write(content);
+      out.closeEntry();
+      JarEntry stored = new JarEntry("a/Stored.class");
+      stored.setMethod(ZipEntry.STORED);
+      stored.setSize(content.length);
+      CRC32 crc = new CRC32();
+      crc.update(content);
+      stored.setCrc(crc.getValue());
+      out.putNextEntry(stored);
+      out.write(content);
+      out.closeEntry();
+      out.putNextEntry(new JarEntry("a/"));
+      out.closeEntry();
+      out.putNextEntry(new JarEntry("a/Empty.class"));
+      out.closeEntry();
+    } finally {
+      out.close();
+    }
+    MappedJarLoader loader = new MappedJarLoader(jar);
+    JarLoader jarLoader = new JarLoader(jar);
+    assertThat(loader.loadBytes("a/Deflated.class")).isEqualTo(content);
+    assertThat(loader.loadBytes("a/Stored.class")).isEqualTo(content);
+    assertThat(loader.loadBytes("a/Empty.class")).isEmpty();
+    assertThat(loader.loadBytes("a/Deflated.class")).isEqualTo(jarLoader.loadBytes("a/Deflated.class"));
+    assertThat(loader.classNames()).isEqualTo(jarLoader.classNames());
+    loader.close();
+    jarLoader.close();
+  }
+
+  @Test
+  public void archives_which_can_not_be_mapped_are_read_by_jar_file() throws Exception {
+    File jar = temp.newFile("empty.jar");
+    try {
+      new MappedJarLoader(jar);
+      throw new AssertionError("Empty archive should not be mapped");
+    } catch (IOException e) {
+      assertThat(e.getMessage()).isEqualTo("End of central directory not found");
+    }
+    assertThat(MappedJarLoader.create(new File("src/test/files/bytecode/lib/hello.jar"))).isInstanceOf(MappedJarLoader.class);
+
+    File corruptedJar = new File("src/test/files/bytecode/src/tags/TagName.java");
+    Files.copy(corruptedJar, jar);
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Unable to open " + jar.getAbsolutePath());
+    MappedJarLoader.create(jar);
+  }
+
+}
@@ -118,6 +118,34 @@ public class SquidClassLoaderTest {
     assertThat(Iterators.forEnumeration(classLoader.findResources("notfound"))).hasSize(0);
   }
 
+  @Test
+  public void classes_are_looked_up_in_classpath_order() throws Exception {
+    File jar = new File("src/test/files/bytecode/lib/hello.jar");
+    File dir = new File("src/test/files/bytecode/bin/");
+    classLoader = new SquidClassLoader(Arrays.asList(jar, dir, jar));
+    assertThat(classLoader.findResource("org/sonar/tests/Hello.class").toString()).startsWith("jar:");
+    assertThat(classLoader.findResource("tags/TagName.class").toString()).startsWith("file:");
+    assertThat(classLoader.findResource("tags/Unknown.class")).isNull();
+    assertThat(classLoader.findResource("META-INF/MANIFEST.MF").toString()).startsWith("jar:");
+    assertThat(Iterators.forEnumeration(classLoader.findResources("org/sonar/tests/Hello.class"))).hasSize(2);
+    classLoader.close();
+
+    classLoader = new SquidClassLoader(Arrays.asList(dir, jar));
+    assertThat(classLoader.loadClass("org.sonar.tests.Hello")).isNotNull();
+    assertThat(classLoader.findResource("tags/TagName.class").toString()).startsWith("file:");
+  }
+
+  @Test
+  public void jars_are_only_mapped_when_requested() throws Exception {
+    File jar = new File("src/test/files/bytecode/lib/hello.jar");
+    classLoader = new SquidClassLoader(Arrays.asList(jar));
+    assertThat(classLoader.findResource("org/sonar/tests/Hello.class").openConnection().getClass().getName()).startsWith(JarLoader.class.getName());
+    classLoader.close();
+
+    classLoader = new SquidClassLoader(Arrays.asList(jar), null, true);
+    assertThat(classLoader.findResource("org/sonar/tests/Hello.class").openConnection().getClass().getName()).startsWith(MappedJarLoader.class.getName());
+  }
+
   @Test
   public void closeCanBeCalledMultipleTimes() throws Exception {
     File jar = new File("src/test/files/bytecode/lib/hello.jar");
@@ -0,0 +1,92 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import com.google.common.base.Charsets;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.PrimitiveTypeTree;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.SyntaxTrivia;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InternalSyntaxTokenTest {
+
+  @Test
+  public void text_is_materialized_from_source() {
+    char[] source = "class A {}".toCharArray();
+    InternalSyntaxToken token = new InternalSyntaxToken(1, 6, source, Collections.<SyntaxTrivia>emptyList(), 6, 7, false);
+    assertThat(token.text()).isEqualTo("A");
+    assertThat(token.text()).isSameAs(token.text());
+    assertThat(new InternalSyntaxToken(1, 0, source, Collections.<SyntaxTrivia>emptyList(), 0, 5, false).text()).isEqualTo("class");
+    assertThat(new InternalSyntaxToken(1, 10, source, Collections.<SyntaxTrivia>emptyList(), 10, 10, true).text()).isEmpty();
+  }
+
+  @Test
+  public void single_character_texts_are_shared() {
+    char[] source = "{}{".toCharArray();
+    InternalSyntaxToken first = new InternalSyntaxToken(1, 0, source, Collections.<SyntaxTrivia>emptyList(), 0, 1, false);
+    InternalSyntaxToken last = new InternalSyntaxToken(1, 2, source, Collections.<SyntaxTrivia>emptyList(), 2, 3, false);
+    assertThat(first.text()).isEqualTo("{");
+    assertThat(first.text()).isSameAs(last.text());
+  }
+
+  @Test
+  public void parsed_tokens() {
+    CompilationUnitTree tree = (CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse("// comment\nclass A {\n  int b;\n}");
+    ClassTree classTree = (ClassTree) tree.types().get(0);
+    SyntaxToken classKeyword = classTree.declarationKeyword();
+    assertThat(classKeyword.text()).isEqualTo("class");
+    assertThat(classKeyword.line()).isEqualTo(2);
+    assertThat(classKeyword.column()).isEqualTo(0);
+    assertThat(classKeyword.trivias()).hasSize(1);
+    assertThat(classKeyword.trivias().get(0).comment()).isEqualTo("// comment");
+    assertThat(classTree.simpleName().identifierToken().trivias()).isEmpty();
+    assertThat(classTree.closeBraceToken().line()).isEqualTo(4);
+    assertThat(((JavaTree.CompilationUnitTreeImpl) tree).eofToken().text()).isEmpty();
+  }
+
+  @Test
+  public void parsed_trivias() {
+    CompilationUnitTree tree = (CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse("class A {\r\n  /* first\r\n  */ // second\r\r  int b;\n}");
+    VariableTree field = (VariableTree) ((ClassTree) tree.types().get(0)).members().get(0);
+    List<SyntaxTrivia> trivias = ((PrimitiveTypeTree) field.type()).keyword().trivias();
+    assertThat(trivias).hasSize(2);
+    InternalSyntaxTrivia first = (InternalSyntaxTrivia) trivias.get(0);
+    assertThat(first.startLine()).isEqualTo(2);
+    assertThat(first.endLine()).isEqualTo(3);
+    assertThat(first.commentLength()).isEqualTo(14);
+    assertThat(first.commentChars().toString()).isEqualTo("/* first\r\n  */");
+    assertThat(first.comment()).isEqualTo("/* first\r\n  */");
+    InternalSyntaxTrivia second = (InternalSyntaxTrivia) trivias.get(1);
+    assertThat(second.startLine()).isEqualTo(3);
+    assertThat(second.column()).isEqualTo(5);
+    assertThat(second.endLine()).isEqualTo(3);
+    assertThat(second.comment()).isEqualTo("// second");
+  }
+
+}
@@ -22,6 +22,7 @@ package org.sonar.java.model;
 import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.sonar.sslr.api.typed.ActionParser;
 import org.apache.commons.io.FileUtils;
 import org.junit.Test;
@@ -124,6 +125,27 @@ public class JavaTreeModelTest {
     }
   }
 
+  @Test
+  public void indexed_children() {
+    Tree tree = p.parse("@A class T<U> { int[] f = {1, 2}; @B int m(@C int a) { label: for (String s : strings) { m(a); } return a; } }");
+    assertIndexedChildrenEqualsChildren((JavaTree) tree);
+  }
+
+  private static void assertIndexedChildrenEqualsChildren(JavaTree tree) {
+    if (tree.isLeaf()) {
+      assertThat(tree.childCount()).isEqualTo(0);
+      return;
+    }
+    List<Tree> children = Lists.newArrayList(tree.children());
+    assertThat(tree.childCount()).isEqualTo(children.size());
+    for (int i = 0; i < children.size(); i++) {
+      assertThat(tree.child(i)).isSameAs(children.get(i));
+      if (children.get(i) != null) {
+        assertIndexedChildrenEqualsChildren((JavaTree) children.get(i));
+      }
+    }
+  }
+
   @Test
   public void explicit_generic_invocation() {
     p.parse("class A { void f() { <A>foo(); } }");
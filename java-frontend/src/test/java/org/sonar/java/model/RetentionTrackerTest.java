@@ -0,0 +1,102 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.model;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class RetentionTrackerTest {
+
+  private static final File FILE = new File("Foo.java");
+
+  private final CompilationUnitTree tree = (CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse("class Foo { int a; }");
+
+  @Test
+  public void released_files_retain_nothing() {
+    RetentionTracker tracker = new RetentionTracker();
+    // static fields are not considered
+    ReleasingScanner.lastTree = tree;
+    assertThat(tracker.fileDone(FILE, tree, ImmutableList.<JavaFileScanner>of(new ReleasingScanner()))).isEqualTo(0);
+    tracker.logSummary();
+  }
+
+  @Test
+  public void scanners_keeping_trees_retain_the_whole_file() {
+    RetentionTracker tracker = new RetentionTracker();
+    // all the nodes of the compilation unit, including its tokens, lists and modifiers
+    int nodes = 18;
+    RetainingScanner scanner = new RetainingScanner();
+    scanner.tree = tree.types().get(0);
+    assertThat(tracker.fileDone(FILE, tree, ImmutableList.<JavaFileScanner>of(scanner))).isEqualTo(nodes);
+
+    scanner = new RetainingScanner();
+    scanner.trees = ImmutableList.of(tree);
+    assertThat(tracker.fileDone(FILE, tree, ImmutableList.<JavaFileScanner>of(scanner))).isEqualTo(nodes);
+
+    scanner = new RetainingScanner();
+    scanner.treesByName = ImmutableMap.<String, Tree>of("Foo", tree);
+    assertThat(tracker.fileDone(FILE, tree, ImmutableList.<JavaFileScanner>of(scanner))).isEqualTo(nodes);
+
+    scanner = new RetainingScanner();
+    scanner.array = new Tree[] {tree};
+    assertThat(tracker.fileDone(FILE, tree, ImmutableList.<JavaFileScanner>of(scanner))).isEqualTo(nodes);
+    tracker.logSummary();
+  }
+
+  @Test
+  public void nested_collections_are_not_inspected() {
+    RetentionTracker tracker = new RetentionTracker();
+    RetainingScanner scanner = new RetainingScanner();
+    scanner.trees = ImmutableList.of(ImmutableList.of(tree));
+    assertThat(tracker.fileDone(FILE, tree, ImmutableList.<JavaFileScanner>of(scanner))).isEqualTo(0);
+  }
+
+  private static class ReleasingScanner implements JavaFileScanner {
+    private static Tree lastTree;
+    private JavaFileScannerContext context;
+    private List<String> names = ImmutableList.of("Foo");
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      this.context = context;
+    }
+  }
+
+  private static class RetainingScanner extends ReleasingScanner {
+    private Tree tree;
+    private List<?> trees;
+    private Map<String, Tree> treesByName;
+    private Object[] array;
+  }
+
+}
@@ -24,13 +24,21 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.sonar.sslr.api.RecognitionException;
 import org.junit.Test;
+import org.sonar.java.AnalysisProfiler;
+import org.sonar.java.LightweightAnalysis;
+import org.sonar.java.SyntacticVisitor;
+import org.sonar.java.TimeBudget;
 import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.resolve.SemanticModel;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.Tree.Kind;
+import org.sonar.plugins.java.api.tree.VariableTree;
 
 import javax.annotation.Nullable;
 import java.io.File;
@@ -70,6 +78,198 @@ public class VisitorsBridgeTest {
     checkFile(contstructFileName("org", "foo", "bar", "Foo.java"), "class Foo { arrrrrrgh", visitorsBridgeWithParsingIssue);
   }
 
+  @Test
+  public void files_over_time_budget_are_analyzed_without_semantic() throws Exception {
+    final List<Boolean> semanticModels = Lists.newArrayList();
+    VisitorsBridge visitorsBridge = new VisitorsBridge(Collections.singletonList(new JavaFileScanner() {
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        semanticModels.add(context.getSemanticModel() != null);
+      }
+    }), Lists.<File>newArrayList(), null);
+    AnalysisProfiler profiler = new AnalysisProfiler();
+    visitorsBridge.setProfiler(profiler);
+    File file = new File("Foo.java");
+
+    visitorsBridge.visitPreparedFile(visitorsBridge.prepareFile(file, parse("class Foo { void foo() {} }"), TimeBudget.unlimited().start()));
+    assertThat(semanticModels).containsExactly(true);
+    assertThat(profiler.filesOverBudget()).isEmpty();
+
+    TimeBudget.Timer timer = new TimeBudget(0, 1).start();
+    timer.startPhase();
+    Thread.sleep(5);
+    timer.endPhase("parse");
+    visitorsBridge.visitPreparedFile(visitorsBridge.prepareFile(file, parse("class Foo { void foo() {} }"), timer));
+    assertThat(semanticModels).containsExactly(true, false);
+    assertThat(profiler.filesOverBudget()).hasSize(1);
+    assertThat(profiler.filesOverBudget().get(file.getAbsolutePath())).startsWith("parse took ");
+    // semantic model and symbolic execution are computed once only
+    List<AnalysisProfiler.Stats> phases = profiler.stats(AnalysisProfiler.Kind.PHASE);
+    int checkedPhases = 0;
+    for (AnalysisProfiler.Stats phase : phases) {
+      if (AnalysisProfiler.SYMBOLIC_EXECUTION.equals(phase.name()) || AnalysisProfiler.SEMANTIC.equals(phase.name())) {
+        assertThat(phase.invocations()).isEqualTo(1);
+        checkedPhases++;
+      }
+    }
+    assertThat(checkedPhases).isEqualTo(2);
+  }
+
+  @Test
+  public void lightweight_files_are_analyzed_without_semantic() {
+    final List<Boolean> semanticModels = Lists.newArrayList();
+    VisitorsBridge visitorsBridge = new VisitorsBridge(Collections.singletonList(new JavaFileScanner() {
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        semanticModels.add(context.getSemanticModel() != null);
+      }
+    }), Lists.<File>newArrayList(), null);
+    AnalysisProfiler profiler = new AnalysisProfiler();
+    visitorsBridge.setProfiler(profiler);
+    visitorsBridge.setLightweightAnalysis(new LightweightAnalysis(0, 0, ImmutableList.of("@Generated"), Collections.<String>emptyList()));
+    File file = new File("Foo.java");
+
+    visitorsBridge.visitPreparedFile(visitorsBridge.prepareFile(file, parse("class Foo { }")));
+    visitorsBridge.visitPreparedFile(visitorsBridge.prepareFile(file, parse("@Generated class Foo { }")));
+    assertThat(semanticModels).containsExactly(true, false);
+    assertThat(profiler.lightweightFiles()).hasSize(1);
+    assertThat(profiler.lightweightFiles().get(file.getAbsolutePath())).isEqualTo("file is annotated with @Generated");
+    assertThat(profiler.stats(AnalysisProfiler.Kind.PHASE)).hasSize(2);
+  }
+
+  @Test
+  public void semantic_model_is_only_computed_when_required() {
+    SyntacticScanner syntacticScanner = new SyntacticScanner();
+    checkFile("Foo.java", "class Foo { Object o; }", new VisitorsBridge(Collections.singletonList(syntacticScanner), Lists.<File>newArrayList(), null, false));
+    checkFile("Foo.java", "class Foo { Object o; }", new VisitorsBridge(Collections.singletonList(syntacticScanner), Lists.<File>newArrayList(), null, true));
+    List<JavaFileScanner> scanners = ImmutableList.of(syntacticScanner, new JavaFileScanner() {
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        // requires the semantic model
+      }
+    });
+    checkFile("Foo.java", "class Foo { Object o; }", new VisitorsBridge(scanners, Lists.<File>newArrayList(), null, false));
+    assertThat(syntacticScanner.semanticModels).containsExactly(false, true, true);
+  }
+
+  private static class SyntacticScanner implements JavaFileScanner, SyntacticVisitor {
+    private final List<Boolean> semanticModels = Lists.newArrayList();
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      semanticModels.add(context.getSemanticModel() != null);
+      VariableTree field = (VariableTree) ((ClassTree) context.getTree().types().get(0)).members().get(0);
+      assertThat(field.type().symbolType().isUnknown()).isEqualTo(context.getSemanticModel() == null);
+    }
+  }
+
+  @Test
+  public void scanners_release_files_once_analyzed() {
+    final List<JavaFileScannerContext> contexts = Lists.newArrayList();
+    IssuableSubscriptionVisitor releasingVisitor = new IssuableSubscriptionVisitor() {
+      @Override
+      public List<Kind> nodesToVisit() {
+        return ImmutableList.of(Tree.Kind.CLASS);
+      }
+
+      @Override
+      public void visitNode(Tree tree) {
+        contexts.add(context);
+      }
+    };
+    VisitorsBridge visitorsBridge = new VisitorsBridge(Collections.singletonList(releasingVisitor), Lists.<File>newArrayList(), null);
+    visitorsBridge.setMemoryBounded(true);
+    checkFile("Foo.java", "class Foo { }", visitorsBridge);
+    assertThat(contexts).hasSize(1);
+    assertThat(contexts.get(0)).isNotNull();
+    assertThat(releasingVisitor.hasSemantic()).isFalse();
+    visitorsBridge.endOfAnalysis();
+  }
+
+  @Test
+  public void contexts_kept_by_base_tree_visitors_are_released_once_file_analyzed() {
+    ContextKeepingVisitor visitor = new ContextKeepingVisitor();
+    VisitorsBridge visitorsBridge = new VisitorsBridge(Collections.singletonList(visitor), Lists.<File>newArrayList(), null);
+    checkFile("Foo.java", "class Foo { }", visitorsBridge);
+    assertThat(visitor.classes).isEqualTo(1);
+    assertThat(visitor.context).isNull();
+    assertThat(visitor.semanticModel).isNull();
+    assertThat(visitor.tree).isNotNull();
+  }
+
+  private static class ContextKeepingVisitor extends BaseTreeVisitor implements JavaFileScanner {
+    private JavaFileScannerContext context;
+    private SemanticModel semanticModel;
+    private ClassTree tree;
+    private int classes = 0;
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      this.context = context;
+      semanticModel = (SemanticModel) context.getSemanticModel();
+      scan(context.getTree());
+    }
+
+    @Override
+    public void visitClass(ClassTree tree) {
+      assertThat(context).isNotNull();
+      assertThat(semanticModel).isNotNull();
+      this.tree = tree;
+      classes++;
+      super.visitClass(tree);
+    }
+  }
+
+  @Test
+  public void scanners_are_notified_of_the_end_of_files_without_symbol_table() {
+    final List<String> events = Lists.newArrayList();
+    IssuableSubscriptionVisitor visitor = new IssuableSubscriptionVisitor() {
+      @Override
+      public List<Kind> nodesToVisit() {
+        return ImmutableList.of(Tree.Kind.CLASS);
+      }
+
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        events.add("scan " + context.getFile().getName());
+        super.scanFile(context);
+      }
+
+      @Override
+      public void endOfFile() {
+        events.add("end");
+        super.endOfFile();
+      }
+    };
+    VisitorsBridge visitorsBridge = new VisitorsBridge(Collections.singletonList(visitor), Lists.<File>newArrayList(), null);
+    visitorsBridge.setMemoryBounded(true);
+    checkFile("Foo.java", "class Foo { }", visitorsBridge);
+    CompilationUnitTree tree = parse("class Bar { }");
+    visitorsBridge.prepareFile(new File("Bar.java"), tree);
+    // the semantic model of a tree can not be created twice
+    visitorsBridge.visitPreparedFile(visitorsBridge.prepareFile(new File("Bar.java"), tree));
+    assertThat(events).containsExactly("scan Foo.java", "end", "end");
+    assertThat(visitor.hasSemantic()).isFalse();
+    visitorsBridge.endOfAnalysis();
+  }
+
+  @Test
+  public void scanners_read_usages_of_library_symbols_in_the_visited_file() {
+    final List<Integer> usages = Lists.newArrayList();
+    JavaFileScanner scanner = new JavaFileScanner() {
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        VariableTree field = (VariableTree) ((ClassTree) context.getTree().types().get(0)).members().get(0);
+        usages.add(field.type().symbolType().symbol().usages().size());
+      }
+    };
+    VisitorsBridge visitorsBridge = new VisitorsBridge(Collections.singletonList(scanner), Lists.<File>newArrayList(), null);
+    checkFile("Foo.java", "class Foo { java.util.List a; java.util.List b; }", visitorsBridge);
+    checkFile("Bar.java", "class Bar { java.util.List a; }", visitorsBridge);
+    assertThat(usages).containsExactly(2, 1);
+    visitorsBridge.endOfAnalysis();
+  }
+
   private void checkFile(String filename, String code, VisitorsBridge visitorsBridge) {
     visitorsBridge.setCurrentFile(new File(filename));
     visitorsBridge.visitFile(parse(code));
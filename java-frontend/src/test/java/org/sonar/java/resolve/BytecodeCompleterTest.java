@@ -20,9 +20,11 @@
 package org.sonar.java.resolve;
 
 import com.google.common.collect.Lists;
-
+import com.google.common.io.Files;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.sonar.java.resolve.JavaSymbol.TypeJavaSymbol;
 import org.sonar.java.resolve.targets.Annotations;
 import org.sonar.java.resolve.targets.AnonymousClass;
@@ -43,6 +45,9 @@ import static org.fest.assertions.Fail.fail;
 
 public class BytecodeCompleterTest {
 
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
   //used to load classes in same package
   public BytecodeCompleterPackageVisibility bytecodeCompleterPackageVisibility = new BytecodeCompleterPackageVisibility();
   private BytecodeCompleter bytecodeCompleter;
@@ -82,9 +87,40 @@ public class BytecodeCompleterTest {
     }
   }
 
+  @Test
+  public void missing_classes_are_looked_up_once() throws Exception {
+    File directory = temp.newFolder();
+    BytecodeCompleter completer = new BytecodeCompleter(Lists.newArrayList(directory), new ParametrizedTypeCache());
+    new Symbols(completer);
+    assertThat(completer.loadClass("org.sonar.java.resolve.SharedSymbols").kind).isEqualTo(JavaSymbol.ABSENT);
+    // the classpath is not expected to change during the analysis
+    File classFile = new File(directory, "org/sonar/java/resolve/SharedSymbols.class");
+    Files.createParentDirs(classFile);
+    Files.copy(new File("target/classes/org/sonar/java/resolve/SharedSymbols.class"), classFile);
+    assertThat(completer.loadClass("org.sonar.java.resolve.SharedSymbols").kind).isEqualTo(JavaSymbol.ABSENT);
+    completer = new BytecodeCompleter(Lists.newArrayList(directory), new ParametrizedTypeCache());
+    new Symbols(completer);
+    assertThat(completer.loadClass("org.sonar.java.resolve.SharedSymbols").kind).isEqualTo(JavaSymbol.TYP);
+  }
+
   @Test
   public void annotations() throws Exception {
-    bytecodeCompleter.getClassSymbol(Annotations.class.getName().replace('.', '/')).complete();
+    bytecodeCompleter.getClassSymbol(Annotations.class.getName().replace('.', '/')).members();
+  }
+
+  @Test
+  public void members_are_read_once_queried() throws Exception {
+    JavaSymbol.TypeJavaSymbol symbol = bytecodeCompleter.getClassSymbol(HasInnerClass.class.getName().replace('.', '/'));
+    symbol.complete();
+    assertThat(symbol.membersCompleter).isSameAs(bytecodeCompleter);
+    assertThat(symbol.getSuperclass().fullyQualifiedName()).isEqualTo("java.lang.Object");
+    // only inner classes are read with the header of the class
+    assertThat(symbol.members.lookup("InnerClass")).hasSize(1);
+    assertThat(symbol.members.lookup("<init>")).isEmpty();
+
+    assertThat(symbol.members().lookup("<init>")).hasSize(1);
+    assertThat(symbol.members().lookup("InnerClass")).hasSize(1);
+    assertThat(symbol.membersCompleter).isNull();
   }
 
   @Test
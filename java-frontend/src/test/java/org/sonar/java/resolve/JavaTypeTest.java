@@ -193,6 +193,26 @@ public class JavaTypeTest {
     assertThat(Symbols.unknownType.isSubtypeOf(symbols.objectType)).isFalse();
   }
 
+  @Test
+  public void supertypes_are_memoized_once_completed() throws Exception {
+    JavaSymbol.PackageJavaSymbol packageSymbol = new JavaSymbol.PackageJavaSymbol("org.foo.bar", null);
+    JavaSymbol.TypeJavaSymbol typeSymbol = new JavaSymbol.TypeJavaSymbol(Flags.PUBLIC, "MyType", packageSymbol);
+    JavaType.ClassJavaType classType = (JavaType.ClassJavaType) typeSymbol.type;
+    classType.supertype = symbols.objectType;
+    classType.interfaces = Lists.newArrayList();
+    // while being completed, supertypes of a class can still change
+    typeSymbol.completer = new JavaSymbol.Completer() {
+      @Override
+      public void complete(JavaSymbol symbol) {
+        assertThat(((JavaSymbol.TypeJavaSymbol) symbol).type.isSubtypeOf("java.lang.Cloneable")).isFalse();
+        ((JavaType.ClassJavaType) symbol.type).interfaces = Lists.newArrayList(symbols.cloneableType);
+      }
+    };
+    assertThat(classType.isSubtypeOf("java.lang.Cloneable")).isTrue();
+    assertThat(classType.isSubtypeOf(symbols.cloneableType)).isTrue();
+    assertThat(typeSymbol.superTypes()).isSameAs(typeSymbol.superTypes());
+  }
+
   @Test
   public void is_primitive_wrapper() {
     for (JavaType wrapper : symbols.boxedTypes.values()) {
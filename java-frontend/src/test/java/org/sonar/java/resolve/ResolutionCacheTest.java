@@ -0,0 +1,89 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.resolve;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ResolutionCacheTest {
+
+  private final SharedSymbols sharedSymbols = new SharedSymbols(Lists.<File>newArrayList());
+  private final JavaType stringType = sharedSymbols.symbols.stringType;
+
+  @After
+  public void tearDown() {
+    sharedSymbols.done();
+  }
+
+  @Test
+  public void resolutions_independent_of_environment_are_shared_between_files() {
+    ResolutionCache cache = new ResolutionCache(sharedSymbols.resolutionCache);
+    ResolutionCache otherCache = new ResolutionCache(sharedSymbols.resolutionCache);
+    ResolutionCache.Key key = new ResolutionCache.Key(stringType, "length", JavaSymbol.MTH, ImmutableList.<JavaType>of(), ImmutableList.<JavaType>of());
+    JavaSymbol length = stringType.symbol.members().lookup("length").get(0);
+
+    assertThat(cache.get(key, env())).isNull();
+    cache.put(key, env(), Resolve.Resolution.resolution(length), false);
+    Resolve.Resolution resolution = otherCache.get(key, env());
+    assertThat(resolution.symbol()).isSameAs(length);
+    assertThat(resolution.type()).isSameAs(sharedSymbols.symbols.intType);
+    // resolutions are updated by callers
+    assertThat(otherCache.get(key, env())).isNotSameAs(resolution);
+  }
+
+  @Test
+  public void resolutions_depending_on_environment_are_cached_for_this_environment() {
+    ResolutionCache cache = new ResolutionCache(sharedSymbols.resolutionCache);
+    ResolutionCache.Key key = new ResolutionCache.Key(stringType, "hash", JavaSymbol.VAR, ImmutableList.<JavaType>of(), ImmutableList.<JavaType>of());
+    JavaSymbol hash = stringType.symbol.members().lookup("hash").get(0);
+    Resolve.Env env = env();
+
+    cache.put(key, env, Resolve.Resolution.resolution(hash), true);
+    assertThat(cache.get(key, env).symbol()).isSameAs(hash);
+    assertThat(cache.get(key, env())).isNull();
+    assertThat(new ResolutionCache(sharedSymbols.resolutionCache).get(key, env)).isNull();
+  }
+
+  @Test
+  public void resolutions_involving_types_of_a_file_are_not_shared() {
+    ResolutionCache cache = new ResolutionCache(sharedSymbols.resolutionCache);
+    JavaSymbol.TypeJavaSymbol fileClass = new JavaSymbol.TypeJavaSymbol(Flags.PUBLIC, "A", sharedSymbols.symbols.defaultPackage);
+    ResolutionCache.Key key = new ResolutionCache.Key(stringType, "valueOf", JavaSymbol.MTH, ImmutableList.of(fileClass.type), ImmutableList.<JavaType>of());
+    JavaSymbol valueOf = stringType.symbol.members().lookup("valueOf").get(0);
+
+    cache.put(key, env(), Resolve.Resolution.resolution(valueOf), false);
+    assertThat(cache.get(key, env()).symbol()).isSameAs(valueOf);
+    assertThat(new ResolutionCache(sharedSymbols.resolutionCache).get(key, env())).isNull();
+  }
+
+  private Resolve.Env env() {
+    Resolve.Env env = new Resolve.Env();
+    env.packge = new JavaSymbol.PackageJavaSymbol("org.foo", null);
+    env.enclosingClass = new JavaSymbol.TypeJavaSymbol(Flags.PUBLIC, "A", env.packge);
+    return env;
+  }
+
+}
@@ -33,7 +33,8 @@ public class ResolveTest {
 
   private ParametrizedTypeCache parametrizedTypeCache = new ParametrizedTypeCache();
   private BytecodeCompleter bytecodeCompleter = new BytecodeCompleter(Lists.newArrayList(new File("target/test-classes"), new File("target/classes")), parametrizedTypeCache);
-  private Resolve resolve = new Resolve(new Symbols(bytecodeCompleter), bytecodeCompleter, parametrizedTypeCache);
+  private Symbols symbols = new Symbols(bytecodeCompleter);
+  private Resolve resolve = new Resolve(symbols, bytecodeCompleter, parametrizedTypeCache);
 
   private Resolve.Env env = mock(Resolve.Env.class);
 
@@ -189,4 +190,61 @@ public class ResolveTest {
     assertThat(resolve.isInheritedIn(symbol, clazz)).isFalse();
   }
 
+  /**
+   * <pre>
+   * package p1;
+   * public class Base {
+   *   public void m(Object o) {}
+   * }
+   * public class Site extends Base {
+   *   void m(A a) {}
+   * }
+   * public class A {
+   *   // completing A resolves a member of Base
+   * }
+   * </pre>
+   */
+  @Test
+  public void nested_resolutions_do_not_hide_access_checks_of_enclosing_resolution() {
+    symbols.objectType.symbol.complete();
+    JavaSymbol.PackageJavaSymbol p1 = new JavaSymbol.PackageJavaSymbol("p1", null);
+    final JavaSymbol.TypeJavaSymbol base = typeSymbol("Base", p1, symbols.objectType);
+    JavaSymbol.MethodJavaSymbol baseMethod = methodSymbol(Flags.PUBLIC, base, symbols.objectType);
+    JavaSymbol.TypeJavaSymbol site = typeSymbol("Site", p1, base.type);
+    JavaSymbol.TypeJavaSymbol a = typeSymbol("A", p1, symbols.objectType);
+    JavaSymbol.MethodJavaSymbol siteMethod = methodSymbol(0, site, a.type);
+    final Resolve.Env p1Env = new Resolve.Env();
+    p1Env.packge = p1;
+    p1Env.enclosingClass = site;
+    a.completer = new JavaSymbol.Completer() {
+      @Override
+      public void complete(JavaSymbol symbol) {
+        resolve.findIdentInType(p1Env, base, "field", JavaSymbol.VAR);
+      }
+    };
+
+    // A is completed when comparing the two candidates, once the access to the package private method has been checked
+    assertThat(resolve.findMethod(p1Env, site.type, "m", ImmutableList.of(a.type)).symbol()).isSameAs(siteMethod);
+
+    Resolve.Env p2Env = new Resolve.Env();
+    p2Env.packge = new JavaSymbol.PackageJavaSymbol("p2", null);
+    p2Env.enclosingClass = new JavaSymbol.TypeJavaSymbol(Flags.PUBLIC, "B", p2Env.packge);
+    assertThat(resolve.findMethod(p2Env, site.type, "m", ImmutableList.of(a.type)).symbol()).isSameAs(baseMethod);
+  }
+
+  private static JavaSymbol.TypeJavaSymbol typeSymbol(String name, JavaSymbol.PackageJavaSymbol packge, JavaType supertype) {
+    JavaSymbol.TypeJavaSymbol symbol = new JavaSymbol.TypeJavaSymbol(Flags.PUBLIC, name, packge);
+    ((JavaType.ClassJavaType) symbol.type).supertype = supertype;
+    ((JavaType.ClassJavaType) symbol.type).interfaces = ImmutableList.of();
+    symbol.members = new Scope(symbol);
+    return symbol;
+  }
+
+  private JavaSymbol.MethodJavaSymbol methodSymbol(int flags, JavaSymbol.TypeJavaSymbol owner, JavaType argType) {
+    JavaSymbol.MethodJavaSymbol symbol = new JavaSymbol.MethodJavaSymbol(flags, "m", owner);
+    symbol.setMethodType(new JavaType.MethodJavaType(ImmutableList.of(argType), symbols.voidType, ImmutableList.<JavaType>of(), owner));
+    owner.members.enter(symbol);
+    return symbol;
+  }
+
 }
@@ -22,7 +22,11 @@ package org.sonar.java.resolve;
 import org.junit.Test;
 
 import static org.fest.assertions.Assertions.assertThat;
+import static org.fest.assertions.Fail.fail;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class ScopeTest {
 
@@ -76,4 +80,69 @@ public class ScopeTest {
     assertThat(scope.scopeSymbols()).containsExactly(first, second, third);
   }
 
+  @Test
+  public void many_symbols() {
+    Scope scope = new Scope(owner);
+    for (int i = 0; i < 100; i++) {
+      scope.enter(new JavaSymbol(0, 0, "symbol" + i, null));
+      scope.enter(new JavaSymbol(0, 0, "symbol" + i, null));
+    }
+    for (int i = 0; i < 100; i++) {
+      assertThat(scope.lookup("symbol" + i)).hasSize(2);
+    }
+    assertThat(scope.scopeSymbols()).hasSize(200);
+    assertThat(scope.lookup("symbol100")).isEmpty();
+  }
+
+  @Test
+  public void many_overloads() {
+    Scope scope = new Scope(owner);
+    JavaSymbol[] overloads = new JavaSymbol[100];
+    for (int i = 0; i < overloads.length; i++) {
+      overloads[i] = new JavaSymbol(0, 0, "overloaded", null);
+      scope.enter(overloads[i]);
+    }
+    assertThat(scope.lookup("overloaded")).containsExactly((Object[]) overloads);
+    try {
+      scope.lookup("overloaded").clear();
+      fail();
+    } catch (UnsupportedOperationException e) {
+      // symbols are only entered through the scope
+    }
+    scope.freeze();
+    assertThat(scope.lookup("overloaded")).containsExactly((Object[]) overloads);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void frozen() {
+    Scope scope = new Scope(owner);
+    scope.enter(new JavaSymbol(0, 0, "first", null));
+    scope.freeze();
+    assertThat(scope.lookup("first")).hasSize(1);
+    scope.enter(new JavaSymbol(0, 0, "second", null));
+  }
+
+  @Test
+  public void star_import_lookups_are_cached() {
+    BytecodeCompleter bytecodeCompleter = mock(BytecodeCompleter.class);
+    JavaSymbol.PackageJavaSymbol packageSymbol = new JavaSymbol.PackageJavaSymbol("org.foo", null);
+    JavaSymbol.TypeJavaSymbol classSymbol = new JavaSymbol.TypeJavaSymbol(0, "A", packageSymbol);
+    when(bytecodeCompleter.formFullName("A", packageSymbol)).thenReturn("org.foo.A");
+    when(bytecodeCompleter.loadClass("org.foo.A")).thenReturn(classSymbol);
+    Scope scope = new Scope.StarImportScope(owner, bytecodeCompleter);
+    scope.enter(packageSymbol);
+
+    assertThat(scope.lookup("A")).containsExactly(classSymbol);
+    assertThat(scope.lookup("A")).containsExactly(classSymbol);
+    verify(bytecodeCompleter, times(1)).loadClass("org.foo.A");
+
+    // entering a site invalidates previous lookups
+    JavaSymbol.PackageJavaSymbol otherPackageSymbol = new JavaSymbol.PackageJavaSymbol("org.bar", null);
+    when(bytecodeCompleter.formFullName("A", otherPackageSymbol)).thenReturn("org.bar.A");
+    when(bytecodeCompleter.loadClass("org.bar.A")).thenReturn(new Resolve.JavaSymbolNotFound());
+    scope.enter(otherPackageSymbol);
+    assertThat(scope.lookup("A")).containsExactly(classSymbol);
+    verify(bytecodeCompleter, times(2)).loadClass("org.foo.A");
+  }
+
 }
@@ -0,0 +1,77 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.resolve;
+
+import org.junit.Test;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class SemanticModelTest {
+
+  private final SemanticModel semanticModel = new SemanticModel();
+
+  @Test
+  public void trees_and_symbols() {
+    Tree tree = mock(Tree.class);
+    JavaSymbol symbol = new JavaSymbol(JavaSymbol.VAR, 0, "a", null);
+    semanticModel.associateSymbol(tree, symbol);
+    assertThat(semanticModel.getSymbol(tree)).isSameAs(symbol);
+    assertThat(semanticModel.getTree(symbol)).isSameAs(tree);
+
+    JavaSymbol otherSymbol = new JavaSymbol(JavaSymbol.VAR, 0, "b", null);
+    semanticModel.associateSymbol(tree, otherSymbol);
+    assertThat(semanticModel.getSymbol(tree)).isSameAs(otherSymbol);
+    assertThat(semanticModel.getTree(symbol)).isNull();
+    assertThat(semanticModel.getTree(otherSymbol)).isSameAs(tree);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void symbol_associated_with_two_trees() {
+    JavaSymbol symbol = new JavaSymbol(JavaSymbol.VAR, 0, "a", null);
+    semanticModel.associateSymbol(mock(Tree.class), symbol);
+    semanticModel.associateSymbol(mock(Tree.class), symbol);
+  }
+
+  @Test
+  public void environments() {
+    Tree tree = mock(Tree.class);
+    Resolve.Env env = new Resolve.Env();
+    semanticModel.associateEnv(tree, env);
+    assertThat(semanticModel.getEnv(tree)).isSameAs(env);
+    assertThat(semanticModel.getTree(env)).isSameAs(tree);
+    assertThat(semanticModel.getTree(env.dup())).isNull();
+  }
+
+  @Test
+  public void usages() {
+    JavaSymbol symbol = new JavaSymbol(JavaSymbol.VAR, 0, "a", null);
+    assertThat(semanticModel.getUsages(symbol)).isEmpty();
+    IdentifierTree first = mock(IdentifierTree.class);
+    IdentifierTree second = mock(IdentifierTree.class);
+    semanticModel.associateReference(first, symbol);
+    semanticModel.associateReference(second, symbol);
+    semanticModel.associateReference(first, symbol);
+    assertThat(semanticModel.getUsages(symbol)).containsExactly(first, second);
+  }
+
+}
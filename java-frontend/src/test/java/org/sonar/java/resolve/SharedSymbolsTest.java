@@ -0,0 +1,220 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.resolve;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import java.io.File;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class SharedSymbolsTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private SharedSymbols sharedSymbols;
+
+  @Before
+  public void setUp() {
+    sharedSymbols = new SharedSymbols(Lists.newArrayList(new File("target/test-classes"), new File("target/classes")));
+  }
+
+  @After
+  public void tearDown() {
+    sharedSymbols.done();
+  }
+
+  @Test
+  public void library_symbols_are_shared_between_files() {
+    List<VariableTree> fields1 = fields("class A { java.util.List<String> list; Object object; }");
+    List<VariableTree> fields2 = fields("class B { java.util.List<String> list; Object object; }");
+
+    JavaType list1 = (JavaType) fields1.get(0).type().symbolType();
+    JavaType list2 = (JavaType) fields2.get(0).type().symbolType();
+    assertThat(list1.symbol.shared).isTrue();
+    assertThat(list1).isSameAs(list2);
+
+    JavaType object1 = (JavaType) fields1.get(1).type().symbolType();
+    assertThat(object1.symbol).isSameAs(((JavaType) fields2.get(1).type().symbolType()).symbol);
+    assertThat(object1.symbol).isSameAs(sharedSymbols.symbols.objectType.symbol);
+  }
+
+  @Test
+  public void jdk_symbols_are_shared_between_analyses() {
+    SharedSymbols otherSymbols = new SharedSymbols(Lists.newArrayList(new File("src/test/files/bytecode/lib/hello.jar")));
+    assertThat(otherSymbols.symbols).isSameAs(sharedSymbols.symbols);
+    CompilationUnitTree cut = parse("class A { java.util.List<String> list; org.sonar.tests.Hello hello; }");
+    SemanticModel.createFor(cut, otherSymbols);
+    List<Tree> members = ((ClassTree) cut.types().get(0)).members();
+    JavaType list = (JavaType) ((VariableTree) members.get(0)).type().symbolType();
+    JavaType hello = (JavaType) ((VariableTree) members.get(1)).type().symbolType();
+    otherSymbols.done();
+
+    assertThat(list.symbol.bootstrap).isTrue();
+    assertThat(list).isSameAs(fields("class B { java.util.List<String> list; }").get(0).type().symbolType());
+    assertThat(hello.symbol.shared).isTrue();
+    assertThat(hello.symbol.bootstrap).isFalse();
+  }
+
+  @Test
+  public void project_classes_are_loaded_for_each_file() {
+    VariableTree field1 = fields("class A { org.sonar.java.resolve.targets.Annotations a; }").get(0);
+    VariableTree field2 = fields("class B { org.sonar.java.resolve.targets.Annotations a; }").get(0);
+
+    JavaSymbol.TypeJavaSymbol annotations = (JavaSymbol.TypeJavaSymbol) field1.type().symbolType().symbol();
+    assertThat(annotations.shared).isFalse();
+    assertThat(annotations).isNotSameAs(field2.type().symbolType().symbol());
+    // library classes referenced by project classes are shared
+    assertThat(annotations.getSuperclass()).isSameAs(sharedSymbols.symbols.objectType);
+  }
+
+  @Test
+  public void usages_of_shared_symbols_are_the_usages_in_the_visited_file() {
+    CompilationUnitTree cut1 = parse("import java.util.List; class A { List list; }");
+    SemanticModel semanticModel1 = SemanticModel.createFor(cut1, sharedSymbols);
+    CompilationUnitTree cut2 = parse("class B {\n java.util.List list1;\n java.util.List list2; }");
+    SemanticModel semanticModel2 = SemanticModel.createFor(cut2, sharedSymbols);
+    ClassTree classTree = (ClassTree) cut1.types().get(0);
+    JavaSymbol list = (JavaSymbol) ((VariableTree) classTree.members().get(0)).type().symbolType().symbol();
+    assertThat(list.shared).isTrue();
+    assertThat(semanticModel1.getUsages(list)).hasSize(1);
+    assertThat(semanticModel2.getUsages(list)).hasSize(2);
+    assertThat(list.usages()).isEmpty();
+
+    semanticModel1.startVisit();
+    List<IdentifierTree> usages = list.usages();
+    assertThat(usages).hasSize(1);
+    assertThat(usages.get(0).identifierToken().line()).isEqualTo(1);
+    semanticModel1.done();
+    assertThat(list.usages()).isEmpty();
+
+    semanticModel2.startVisit();
+    usages = list.usages();
+    assertThat(usages).hasSize(2);
+    assertThat(usages.get(0).identifierToken().line()).isEqualTo(2);
+    assertThat(usages.get(1).identifierToken().line()).isEqualTo(3);
+    semanticModel2.done();
+    assertThat(list.usages()).isEmpty();
+  }
+
+  @Test
+  public void libraries_can_be_read_through_persisted_indexes() throws Exception {
+    File indexDirectory = temp.newFolder();
+    SharedSymbols indexedSymbols = new SharedSymbols(Lists.newArrayList(new File("src/test/files/bytecode/lib/hello.jar")), indexDirectory);
+    CompilationUnitTree cut = parse("class A { org.sonar.tests.Hello hello; }");
+    SemanticModel.createFor(cut, indexedSymbols);
+    VariableTree field = (VariableTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    JavaSymbol.TypeJavaSymbol hello = (JavaSymbol.TypeJavaSymbol) field.type().symbolType().symbol();
+    assertThat(hello.getFullyQualifiedName()).isEqualTo("org.sonar.tests.Hello");
+    assertThat(hello.getSuperclass()).isSameAs(indexedSymbols.symbols.objectType);
+    assertThat(hello.memberSymbols()).isNotEmpty();
+    indexedSymbols.done();
+    assertThat(indexDirectory.list()).hasSize(1);
+  }
+
+  @Test
+  public void classes_of_directories_are_listed_once() throws Exception {
+    assertThat(sharedSymbols.directoryClassFiles).contains("org/sonar/java/resolve/SharedSymbolsTest.class", "org/sonar/java/resolve/SharedSymbols.class");
+    assertThat(sharedSymbols.directoryClassFiles).excludes("java/lang/Object.class");
+
+    File directory = temp.newFolder();
+    SharedSymbols directorySymbols = new SharedSymbols(Lists.newArrayList(directory));
+    assertThat(directorySymbols.directoryClassFiles).isEmpty();
+    CompilationUnitTree cut = parse("class A { org.sonar.tests.Hello hello; }");
+    SemanticModel.createFor(cut, directorySymbols);
+    VariableTree field = (VariableTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    assertThat(field.type().symbolType().isUnknown()).isTrue();
+    directorySymbols.done();
+  }
+
+  @Test
+  public void classes_found_in_jars_and_directories_are_loaded_in_classpath_order() throws Exception {
+    File jar = new File("src/test/files/bytecode/lib/hello.jar");
+    File directory = temp.newFolder();
+    File classFile = new File(directory, "org/sonar/tests/Hello.class");
+    classFile.getParentFile().mkdirs();
+    Files.write(helloClassWithMethod("fromDirectory"), classFile);
+
+    SharedSymbols jarFirst = new SharedSymbols(Lists.newArrayList(jar, directory));
+    assertThat(jarFirst.directoryClassFiles).isEmpty();
+    JavaSymbol.TypeJavaSymbol hello = helloSymbol(jarFirst);
+    assertThat(hello.shared).isTrue();
+    assertThat(hello.members().lookup("say")).hasSize(1);
+    assertThat(hello.members().lookup("fromDirectory")).isEmpty();
+    jarFirst.done();
+
+    SharedSymbols directoryFirst = new SharedSymbols(Lists.newArrayList(directory, jar));
+    assertThat(directoryFirst.directoryClassFiles).containsOnly("org/sonar/tests/Hello.class");
+    hello = helloSymbol(directoryFirst);
+    assertThat(hello.shared).isFalse();
+    assertThat(hello.members().lookup("say")).isEmpty();
+    assertThat(hello.members().lookup("fromDirectory")).hasSize(1);
+    directoryFirst.done();
+  }
+
+  private static JavaSymbol.TypeJavaSymbol helloSymbol(SharedSymbols symbols) {
+    CompilationUnitTree cut = parse("class A { org.sonar.tests.Hello hello; }");
+    SemanticModel.createFor(cut, symbols);
+    VariableTree field = (VariableTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    JavaSymbol.TypeJavaSymbol hello = (JavaSymbol.TypeJavaSymbol) field.type().symbolType().symbol();
+    hello.complete();
+    return hello;
+  }
+
+  private static byte[] helloClassWithMethod(String methodName) {
+    ClassWriter classWriter = new ClassWriter(0);
+    classWriter.visit(Opcodes.V1_7, Opcodes.ACC_PUBLIC, "org/sonar/tests/Hello", null, "java/lang/Object", null);
+    classWriter.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, methodName, "()V", null, null).visitEnd();
+    classWriter.visitEnd();
+    return classWriter.toByteArray();
+  }
+
+  private List<VariableTree> fields(String source) {
+    CompilationUnitTree cut = parse(source);
+    SemanticModel.createFor(cut, sharedSymbols);
+    List<VariableTree> fields = Lists.newArrayList();
+    for (org.sonar.plugins.java.api.tree.Tree member : ((ClassTree) cut.types().get(0)).members()) {
+      fields.add((VariableTree) member);
+    }
+    return fields;
+  }
+
+  private static CompilationUnitTree parse(String source) {
+    return (CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse(source);
+  }
+
+}
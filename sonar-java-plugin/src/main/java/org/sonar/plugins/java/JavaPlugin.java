@@ -44,6 +44,32 @@ public class JavaPlugin extends SonarPlugin {
   public static final String SQUID_ANALYSE_ACCESSORS_PROPERTY = "sonar.squid.analyse.property.accessors";
   public static final boolean SQUID_ANALYSE_ACCESSORS_DEFAULT_VALUE = true;
 
+  public static final String ANALYSIS_THREADS_PROPERTY = "sonar.java.analysis.threads";
+  public static final int ANALYSIS_THREADS_DEFAULT_VALUE = 1;
+
+  public static final String PREFETCHED_FILES_PROPERTY = "sonar.java.analysis.prefetchedFiles";
+  public static final int PREFETCHED_FILES_DEFAULT_VALUE = 0;
+
+  public static final String MEMORY_BOUNDED_PROPERTY = "sonar.java.analysis.memoryBounded";
+  public static final boolean MEMORY_BOUNDED_DEFAULT_VALUE = false;
+
+  public static final String SYMBOL_TABLE_PROPERTY = "sonar.java.analysis.symbolTable";
+  public static final boolean SYMBOL_TABLE_DEFAULT_VALUE = true;
+
+  public static final String BYTECODE_INDEX_DIRECTORY_PROPERTY = "sonar.java.bytecodeIndex.directory";
+
+  public static final String ANALYSIS_CACHE_DIRECTORY_PROPERTY = "sonar.java.analysisCache.directory";
+
+  public static final String PROFILING_REPORT_PROPERTY = "sonar.java.profiling.report";
+
+  public static final String FILE_TIME_BUDGET_PROPERTY = "sonar.java.analysis.fileTimeBudget";
+  public static final String PHASE_TIME_BUDGET_PROPERTY = "sonar.java.analysis.phaseTimeBudget";
+
+  public static final String LIGHTWEIGHT_MAX_FILE_SIZE_PROPERTY = "sonar.java.lightweightAnalysis.maxFileSize";
+  public static final String LIGHTWEIGHT_MAX_LINES_PROPERTY = "sonar.java.lightweightAnalysis.maxLines";
+  public static final String LIGHTWEIGHT_GENERATED_MARKERS_PROPERTY = "sonar.java.lightweightAnalysis.generatedMarkers";
+  public static final String LIGHTWEIGHT_RULES_PROPERTY = "sonar.java.lightweightAnalysis.rules";
+
   @Override
   public List getExtensions() {
     ImmutableList.Builder<Object> builder = ImmutableList.builder();
@@ -74,6 +100,128 @@ public class JavaPlugin extends SonarPlugin {
             .type(PropertyType.BOOLEAN)
             .onQualifiers(Qualifiers.PROJECT)
             .build(),
+        PropertyDefinition.builder(JavaPlugin.ANALYSIS_THREADS_PROPERTY)
+            .defaultValue(Integer.toString(JavaPlugin.ANALYSIS_THREADS_DEFAULT_VALUE))
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("Analysis threads")
+            .description("Number of threads used to parse Java files and compute their semantic. " +
+                "Checks are still executed on one file at a time, so the analysis is at best twice as fast when checks take as long as the rest " +
+                "of the analysis, and is slower on a single processor. Ignored when the memory is bounded (" + JavaPlugin.MEMORY_BOUNDED_PROPERTY + ").")
+            .type(PropertyType.INTEGER)
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(JavaPlugin.PREFETCHED_FILES_PROPERTY)
+            .defaultValue(Integer.toString(JavaPlugin.PREFETCHED_FILES_DEFAULT_VALUE))
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("Prefetched files")
+            .description("Number of Java files read and parsed in background ahead of the file being analyzed, when a single analysis thread is used. " +
+                "Useful when reading files is slow, for instance on network file systems. 0 means files are read and parsed when analyzed.")
+            .type(PropertyType.INTEGER)
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(JavaPlugin.MEMORY_BOUNDED_PROPERTY)
+            .defaultValue(Boolean.toString(JavaPlugin.MEMORY_BOUNDED_DEFAULT_VALUE))
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("Bounded memory")
+            .description("Keeps a single Java file in memory at a time: files are neither analyzed in parallel nor prefetched, and rules still referencing the syntax tree of a file " +
+                "once it has been analyzed are logged, along with the size of the retained trees.")
+            .type(PropertyType.BOOLEAN)
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(JavaPlugin.SYMBOL_TABLE_PROPERTY)
+            .defaultValue(Boolean.toString(JavaPlugin.SYMBOL_TABLE_DEFAULT_VALUE))
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("Symbol table")
+            .description("Saves the symbols of Java files, used to navigate the code. When disabled, for instance for preview analyses, " +
+                "the semantic analysis of a file is skipped as long as none of the rules executed on it rely on it.")
+            .type(PropertyType.BOOLEAN)
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(JavaPlugin.BYTECODE_INDEX_DIRECTORY_PROPERTY)
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("Bytecode index directory")
+            .description("Directory where an index of the classes of each library is persisted, so that following analyses do not list and inflate " +
+                "the content of libraries again. The classes used by the analysis are still parsed from the index. " +
+                "Should be kept between analyses. When not set, libraries are read by each analysis.")
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(JavaPlugin.ANALYSIS_CACHE_DIRECTORY_PROPERTY)
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("Analysis cache directory")
+            .description("Directory where the issues raised on each file are cached. Following analyses only execute the rules on files which have changed, " +
+                "or which depend on project classes whose signature has changed. Only the time spent executing rules is saved: every file is still " +
+                "parsed and its semantic computed, as measures, highlighting and symbols are computed on each analysis. " +
+                "Should be kept between analyses. When not set, all the files are checked.")
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(JavaPlugin.PROFILING_REPORT_PROPERTY)
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("Profiling report")
+            .description("File where the time spent in each phase of the analysis, in each rule and on each file is reported, as tab separated values. " +
+                "The slowest rules and files are also logged at the end of the analysis. When not set, the analysis is not profiled.")
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(JavaPlugin.FILE_TIME_BUDGET_PROPERTY)
+            .defaultValue("0")
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("File time budget")
+            .description("Time in milliseconds after which the analysis of a file is degraded: symbolic execution and rules relying on the semantic model " +
+                "are skipped, other rules and metrics are still computed. 0 means no budget.")
+            .type(PropertyType.INTEGER)
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(JavaPlugin.PHASE_TIME_BUDGET_PROPERTY)
+            .defaultValue("0")
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("Phase time budget")
+            .description("Time in milliseconds after which the analysis of a file is degraded when spent in a single phase (parsing, semantic analysis, " +
+                "symbolic execution...). 0 means no budget.")
+            .type(PropertyType.INTEGER)
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(JavaPlugin.LIGHTWEIGHT_MAX_FILE_SIZE_PROPERTY)
+            .defaultValue("0")
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("Lightweight analysis file size")
+            .description("Size in KB above which Java files are analyzed lightly: they are measured and highlighted, but their semantic and their symbolic execution " +
+                "are not computed, and only the rules listed in " + JavaPlugin.LIGHTWEIGHT_RULES_PROPERTY + " are executed. 0 means no limit.")
+            .type(PropertyType.INTEGER)
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(JavaPlugin.LIGHTWEIGHT_MAX_LINES_PROPERTY)
+            .defaultValue("0")
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("Lightweight analysis lines")
+            .description("Number of lines above which Java files are analyzed lightly. 0 means no limit.")
+            .type(PropertyType.INTEGER)
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(JavaPlugin.LIGHTWEIGHT_GENERATED_MARKERS_PROPERTY)
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("Generated files markers")
+            .description("Comma-separated list of markers of generated Java files, which are analyzed lightly. A marker starting with '@' is the name of an annotation " +
+                "of the types declared by the file (e.g. @Generated), other markers are looked for in the header comments of the file (e.g. DO NOT EDIT).")
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
+        PropertyDefinition.builder(JavaPlugin.LIGHTWEIGHT_RULES_PROPERTY)
+            .category(JAVA_CATEGORY)
+            .subCategory(GENERAL_SUBCATEGORY)
+            .name("Lightweight analysis rules")
+            .description("Comma-separated list of the keys of the rules executed on the Java files analyzed lightly. When not set, no rule is executed on them.")
+            .onQualifiers(Qualifiers.PROJECT)
+            .build(),
         PropertyDefinition.builder(CoreProperties.DESIGN_SKIP_DESIGN_PROPERTY)
             .defaultValue(Boolean.toString(CoreProperties.DESIGN_SKIP_DESIGN_DEFAULT_VALUE))
             .category(JAVA_CATEGORY)
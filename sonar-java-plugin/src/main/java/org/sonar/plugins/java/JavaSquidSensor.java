@@ -20,6 +20,7 @@
 package org.sonar.plugins.java;
 
 import com.google.common.collect.Lists;
+import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.CoreProperties;
@@ -33,12 +34,15 @@ import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.config.Settings;
 import org.sonar.api.issue.NoSonarFilter;
 import org.sonar.api.resources.Project;
+import org.sonar.java.AnalysisProfiler;
 import org.sonar.java.DefaultJavaResourceLocator;
 import org.sonar.java.JavaClasspath;
 import org.sonar.java.JavaConfiguration;
 import org.sonar.java.JavaSquid;
+import org.sonar.java.LightweightAnalysis;
 import org.sonar.java.Measurer;
 import org.sonar.java.SonarComponents;
+import org.sonar.java.TimeBudget;
 import org.sonar.java.api.JavaUtils;
 import org.sonar.java.checks.CheckList;
 import org.sonar.java.model.JavaVersionImpl;
@@ -46,7 +50,9 @@ import org.sonar.plugins.java.api.JavaVersion;
 import org.sonar.plugins.java.bridges.DesignBridge;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -57,6 +63,11 @@ public class JavaSquidSensor implements Sensor {
 
   private static final Logger LOG = LoggerFactory.getLogger(JavaSquidSensor.class);
 
+  /**
+   * Number of checks and files listed in the profiling summary.
+   */
+  private static final int PROFILING_SUMMARY_SIZE = 10;
+
   private final JavaClasspath javaClasspath;
   private final SonarComponents sonarComponents;
   private final FileSystem fs;
@@ -94,6 +105,20 @@ public class JavaSquidSensor implements Sensor {
       DesignBridge designBridge = new DesignBridge(context, squid.getGraph(), javaResourceLocator.getResourceMapping(), sonarComponents.getResourcePerspectives());
       designBridge.saveDesign(project);
     }
+    if (configuration.profiler().isEnabled()) {
+      reportProfiling(configuration.profiler());
+    }
+  }
+
+  private void reportProfiling(AnalysisProfiler profiler) {
+    File reportFile = new File(settings.getString(JavaPlugin.PROFILING_REPORT_PROPERTY));
+    try {
+      profiler.writeReport(reportFile);
+      LOG.info("Java analysis profiling report written to " + reportFile.getAbsolutePath());
+    } catch (IOException e) {
+      LOG.warn("Unable to write Java analysis profiling report to " + reportFile.getAbsolutePath(), e);
+    }
+    profiler.logSummary(PROFILING_SUMMARY_SIZE);
   }
 
   private Iterable<File> getSourceFiles() {
@@ -127,6 +152,27 @@ public class JavaSquidSensor implements Sensor {
     JavaVersion javaVersion = getJavaVersion();
     LOG.info("Configured Java source version (" + Java.SOURCE_VERSION + "): " + javaVersion);
     conf.setJavaVersion(javaVersion);
+    conf.setParallelism(Math.max(1, settings.getInt(JavaPlugin.ANALYSIS_THREADS_PROPERTY)));
+    conf.setPrefetchedFiles(Math.max(0, settings.getInt(JavaPlugin.PREFETCHED_FILES_PROPERTY)));
+    conf.setMemoryBounded(settings.getBoolean(JavaPlugin.MEMORY_BOUNDED_PROPERTY));
+    conf.setSymbolTableEnabled(settings.getBoolean(JavaPlugin.SYMBOL_TABLE_PROPERTY));
+    conf.setTimeBudget(new TimeBudget(settings.getLong(JavaPlugin.FILE_TIME_BUDGET_PROPERTY), settings.getLong(JavaPlugin.PHASE_TIME_BUDGET_PROPERTY)));
+    conf.setLightweightAnalysis(new LightweightAnalysis(
+      settings.getLong(JavaPlugin.LIGHTWEIGHT_MAX_FILE_SIZE_PROPERTY) * 1024,
+      settings.getInt(JavaPlugin.LIGHTWEIGHT_MAX_LINES_PROPERTY),
+      Arrays.asList(settings.getStringArray(JavaPlugin.LIGHTWEIGHT_GENERATED_MARKERS_PROPERTY)),
+      Arrays.asList(settings.getStringArray(JavaPlugin.LIGHTWEIGHT_RULES_PROPERTY))));
+    String bytecodeIndexDirectory = settings.getString(JavaPlugin.BYTECODE_INDEX_DIRECTORY_PROPERTY);
+    if (StringUtils.isNotBlank(bytecodeIndexDirectory)) {
+      conf.setBytecodeIndexDirectory(new File(bytecodeIndexDirectory));
+    }
+    if (StringUtils.isNotBlank(settings.getString(JavaPlugin.PROFILING_REPORT_PROPERTY))) {
+      conf.setProfiler(new AnalysisProfiler());
+    }
+    String analysisCacheDirectory = settings.getString(JavaPlugin.ANALYSIS_CACHE_DIRECTORY_PROPERTY);
+    if (StringUtils.isNotBlank(analysisCacheDirectory)) {
+      conf.setAnalysisCacheDirectory(new File(analysisCacheDirectory));
+    }
     return conf;
   }
 
@@ -0,0 +1,25 @@
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+class Main {
+
+  private final List<String> names = Lists.newArrayList();
+
+  void Method() {
+  }
+
+  void method_name() {
+  }
+
+  void method() {
+  }
+
+}
+
+class bad_class_name {
+
+  void Method() {
+  }
+
+}
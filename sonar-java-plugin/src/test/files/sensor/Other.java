@@ -0,0 +1,13 @@
+class Other extends Main {
+
+  @Override
+  void method() {
+  }
+
+  void other_method() {
+  }
+
+}
+
+class other {
+}
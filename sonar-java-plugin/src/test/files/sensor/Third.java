@@ -0,0 +1,12 @@
+import java.util.ArrayList;
+
+class Third extends ArrayList<String> {
+
+  void Third() {
+  }
+
+  int Size() {
+    return size();
+  }
+
+}
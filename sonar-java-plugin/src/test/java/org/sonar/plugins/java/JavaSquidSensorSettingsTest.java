@@ -0,0 +1,317 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.java;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.sonar.api.batch.SensorContext;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.InputPath;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.config.Settings;
+import org.sonar.api.issue.NoSonarFilter;
+import org.sonar.api.measures.FileLinesContext;
+import org.sonar.api.resources.Project;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.rules.RuleAnnotationUtils;
+import org.sonar.api.source.Highlightable;
+import org.sonar.api.source.Symbolizable;
+import org.sonar.java.AnalysisProfiler;
+import org.sonar.java.AnalyzerMessage;
+import org.sonar.java.DefaultJavaResourceLocator;
+import org.sonar.java.JavaClasspath;
+import org.sonar.java.SonarComponents;
+import org.sonar.java.checks.naming.BadClassNameCheck;
+import org.sonar.java.checks.naming.BadMethodNameCheck;
+import org.sonar.java.filters.SuppressWarningsFilter;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.squidbridge.api.CodeVisitor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Analyses of the files of src/test/files/sensor with the settings tuning the analysis, compared to their default analysis.
+ */
+public class JavaSquidSensorSettingsTest {
+
+  private static final File SOURCES = new File("src/test/files/sensor");
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private final Settings settings = new Settings();
+  private final List<File> libraries = Lists.newArrayList();
+  private SonarComponents sonarComponents;
+  private SonarComponents.IssueListener issueListener;
+
+  @Test
+  public void parallel_analysis_reports_the_issues_of_sequential_analysis() {
+    List<String> sequentialIssues = analyse(SOURCES, new BadMethodNameCheck(), new BadClassNameCheck());
+    assertThat(sequentialIssues).hasSize(7);
+
+    settings.setProperty(JavaPlugin.ANALYSIS_THREADS_PROPERTY, 4);
+    assertThat(analyse(SOURCES, new BadMethodNameCheck(), new BadClassNameCheck())).isEqualTo(sequentialIssues);
+  }
+
+  @Test
+  public void bytecode_index_is_written_then_read_by_next_analysis() {
+    libraries.add(jarOf(Lists.class));
+    List<String> issues = analyse(SOURCES, new BadMethodNameCheck());
+    assertThat(issues).isNotEmpty();
+
+    File indexDirectory = new File(temp.getRoot(), "index");
+    settings.setProperty(JavaPlugin.BYTECODE_INDEX_DIRECTORY_PROPERTY, indexDirectory.getPath());
+    assertThat(analyse(SOURCES, new BadMethodNameCheck())).isEqualTo(issues);
+    String[] indexes = indexDirectory.list();
+    assertThat(indexes).hasSize(1);
+    assertThat(indexes[0]).startsWith(jarOf(Lists.class).getName()).endsWith(".idx");
+
+    assertThat(analyse(SOURCES, new BadMethodNameCheck())).isEqualTo(issues);
+    assertThat(indexDirectory.list()).isEqualTo(indexes);
+  }
+
+  @Test
+  public void issues_of_unchanged_files_are_replayed_from_analysis_cache() throws IOException {
+    File cacheDirectory = new File(temp.getRoot(), "cache");
+    settings.setProperty(JavaPlugin.ANALYSIS_CACHE_DIRECTORY_PROPERTY, cacheDirectory.getPath());
+    File report = new File(temp.getRoot(), "report.tsv");
+    settings.setProperty(JavaPlugin.PROFILING_REPORT_PROPERTY, report.getPath());
+
+    List<String> issues = analyse(SOURCES, new BadMethodNameCheck());
+    assertThat(issues).hasSize(5);
+    assertThat(new File(cacheDirectory, "main.cache")).exists();
+    assertThat(reportRows(report, AnalysisProfiler.Kind.CHECK, BadMethodNameCheck.class.getName())).hasSize(1);
+
+    List<String> replayedIssues = analyse(SOURCES, new BadMethodNameCheck());
+    assertThat(replayedIssues).isEqualTo(issues);
+    assertThat(reportRows(report, AnalysisProfiler.Kind.CHECK, BadMethodNameCheck.class.getName())).isEmpty();
+  }
+
+  @Test
+  public void profiling_report_lists_phases_checks_and_files() throws IOException {
+    File report = new File(temp.getRoot(), "profiling/report.tsv");
+    settings.setProperty(JavaPlugin.PROFILING_REPORT_PROPERTY, report.getPath());
+    analyse(SOURCES, new BadMethodNameCheck());
+
+    assertThat(reportRows(report, AnalysisProfiler.Kind.PHASE, AnalysisProfiler.PARSE)).hasSize(1);
+    assertThat(reportRows(report, AnalysisProfiler.Kind.PHASE, AnalysisProfiler.SEMANTIC)).hasSize(1);
+    assertThat(reportRows(report, AnalysisProfiler.Kind.CHECK, BadMethodNameCheck.class.getName()).get(0)).startsWith(
+      "check\t" + BadMethodNameCheck.class.getName() + "\t3\t");
+    for (File file : sources(SOURCES)) {
+      assertThat(reportRows(report, AnalysisProfiler.Kind.FILE, file.getAbsolutePath())).hasSize(1);
+    }
+  }
+
+  @Test
+  public void semantic_analysis_of_files_over_time_budget_is_skipped() throws IOException {
+    File sources = temp.newFolder("budget");
+    StringBuilder source = new StringBuilder("class big_class {\n");
+    for (int i = 0; i < 2000; i++) {
+      source.append("  void method").append(i).append("(java.util.List<String> list) { list.add(\"").append(i).append("\"); }\n");
+    }
+    File bigFile = new File(sources, "Big.java");
+    Files.write(source.append("}\n"), bigFile, Charsets.UTF_8);
+    settings.setProperty(JavaPlugin.FILE_TIME_BUDGET_PROPERTY, 1);
+    settings.setProperty(JavaPlugin.PHASE_TIME_BUDGET_PROPERTY, 1);
+    File report = new File(temp.getRoot(), "report.tsv");
+    settings.setProperty(JavaPlugin.PROFILING_REPORT_PROPERTY, report.getPath());
+
+    List<String> issues = analyse(sources, new BadMethodNameCheck(), new BadClassNameCheck());
+
+    assertThat(issues).containsExactly("Big.java:1 S00101 Rename this class name to match the regular expression '^[A-Z][a-zA-Z0-9]*$'.");
+    assertThat(reportRows(report, "over_budget", bigFile.getAbsolutePath())).hasSize(1);
+    assertThat(reportRows(report, AnalysisProfiler.Kind.PHASE, AnalysisProfiler.SEMANTIC)).isEmpty();
+  }
+
+  @Test
+  public void analysis_with_prefetched_files_reports_the_issues_of_sequential_analysis() {
+    List<String> issues = analyse(SOURCES, new BadMethodNameCheck(), new BadClassNameCheck());
+
+    settings.setProperty(JavaPlugin.PREFETCHED_FILES_PROPERTY, 3);
+    assertThat(analyse(SOURCES, new BadMethodNameCheck(), new BadClassNameCheck())).isEqualTo(issues);
+  }
+
+  @Test
+  public void memory_bounded_analysis_reports_the_issues_of_default_analysis() {
+    settings.setProperty(JavaPlugin.PREFETCHED_FILES_PROPERTY, 3);
+    List<String> issues = analyse(SOURCES, new BadMethodNameCheck(), new BadClassNameCheck());
+
+    settings.setProperty(JavaPlugin.MEMORY_BOUNDED_PROPERTY, true);
+    assertThat(analyse(SOURCES, new BadMethodNameCheck(), new BadClassNameCheck())).isEqualTo(issues);
+  }
+
+  @Test
+  public void lightweight_analysis_only_executes_configured_rules() {
+    List<String> issues = analyse(SOURCES, new BadMethodNameCheck(), new BadClassNameCheck());
+    assertThat(issues).hasSize(7);
+    List<String> issuesOfConfiguredRules = Lists.newArrayList();
+    for (String issue : issues) {
+      // Main.java is the only file over the maximal number of lines
+      if (!issue.startsWith("Main.java:") || issue.contains(" S00101 ")) {
+        issuesOfConfiguredRules.add(issue);
+      }
+    }
+    assertThat(issuesOfConfiguredRules).hasSize(4);
+
+    settings.setProperty(JavaPlugin.LIGHTWEIGHT_MAX_LINES_PROPERTY, 20);
+    settings.setProperty(JavaPlugin.LIGHTWEIGHT_RULES_PROPERTY, "S00101");
+    assertThat(analyse(SOURCES, new BadMethodNameCheck(), new BadClassNameCheck())).isEqualTo(issuesOfConfiguredRules);
+  }
+
+  @Test
+  public void semantic_model_is_not_built_when_only_syntactic_checks_are_executed() throws IOException {
+    File report = new File(temp.getRoot(), "report.tsv");
+    settings.setProperty(JavaPlugin.PROFILING_REPORT_PROPERTY, report.getPath());
+
+    assertThat(analyse(SOURCES, new BadClassNameCheck())).hasSize(2);
+    assertThat(reportRows(report, AnalysisProfiler.Kind.PHASE, AnalysisProfiler.SEMANTIC)).isEmpty();
+    verify(sonarComponents, never()).symbolizableFor(any(File.class));
+
+    settings.setProperty(JavaPlugin.SYMBOL_TABLE_PROPERTY, true);
+    analyse(SOURCES, new BadClassNameCheck());
+    assertThat(reportRows(report, AnalysisProfiler.Kind.PHASE, AnalysisProfiler.SEMANTIC)).hasSize(1);
+
+    settings.removeProperty(JavaPlugin.SYMBOL_TABLE_PROPERTY);
+    analyse(SOURCES, new BadClassNameCheck(), new BadMethodNameCheck());
+    assertThat(reportRows(report, AnalysisProfiler.Kind.PHASE, AnalysisProfiler.SEMANTIC)).hasSize(1);
+  }
+
+  /**
+   * @return issues reported on the files of the directory, as "file:line rule message" strings in the order they were reported
+   */
+  private List<String> analyse(File directory, JavaCheck... checks) {
+    DefaultFileSystem fs = new DefaultFileSystem(directory);
+    for (File file : sources(directory)) {
+      fs.add(new DefaultInputFile(file.getName()).setFile(file).setLanguage("java").setType(InputFile.Type.MAIN).setKey(file.getName()));
+    }
+    Project project = mock(Project.class);
+    JavaClasspath javaClasspath = new JavaClasspath(project, settings, fs);
+    List<String> issues = Collections.synchronizedList(Lists.<String>newArrayList());
+    sonarComponents = createSonarComponentsMock(fs, issues, checks);
+    DefaultJavaResourceLocator javaResourceLocator = new DefaultJavaResourceLocator(fs, javaClasspath, mock(SuppressWarningsFilter.class));
+    JavaSquidSensor jss = new JavaSquidSensor(javaClasspath, sonarComponents, fs, javaResourceLocator, settings, mock(NoSonarFilter.class));
+    SensorContext context = mock(SensorContext.class);
+    when(context.getResource(any(InputPath.class))).thenAnswer(new Answer<org.sonar.api.resources.File>() {
+      @Override
+      public org.sonar.api.resources.File answer(InvocationOnMock invocation) {
+        String key = ((InputPath) invocation.getArguments()[0]).relativePath();
+        org.sonar.api.resources.File resource = org.sonar.api.resources.File.create(key);
+        resource.setEffectiveKey(key);
+        return resource;
+      }
+    });
+
+    jss.analyse(project, context);
+
+    return issues;
+  }
+
+  /**
+   * Issues are forwarded to the listener of the analysis cache, as done by {@link SonarComponents#reportIssue(AnalyzerMessage)}.
+   */
+  private SonarComponents createSonarComponentsMock(DefaultFileSystem fs, final List<String> issues, JavaCheck... checks) {
+    SonarComponents components = mock(SonarComponents.class);
+    when(components.checkClasses()).thenReturn(Arrays.copyOf(checks, checks.length, CodeVisitor[].class));
+    when(components.getJavaClasspath()).thenReturn(libraries);
+    when(components.getFileSystem()).thenReturn(fs);
+    when(components.getRuleKey(any(JavaCheck.class))).thenAnswer(new Answer<RuleKey>() {
+      @Override
+      public RuleKey answer(InvocationOnMock invocation) {
+        return ruleKey((JavaCheck) invocation.getArguments()[0]);
+      }
+    });
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        issueListener = (SonarComponents.IssueListener) invocation.getArguments()[0];
+        return null;
+      }
+    }).when(components).setIssueListener(any(SonarComponents.IssueListener.class));
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) {
+        AnalyzerMessage message = (AnalyzerMessage) invocation.getArguments()[0];
+        RuleKey ruleKey = ruleKey(message.getCheck());
+        issues.add(message.getFile().getName() + ":" + message.getLine() + " " + ruleKey.rule() + " " + message.getMessage());
+        if (issueListener != null) {
+          issueListener.issueReported(message, ruleKey);
+        }
+        return null;
+      }
+    }).when(components).reportIssue(any(AnalyzerMessage.class));
+
+    Symbolizable symbolizable = mock(Symbolizable.class);
+    when(components.symbolizableFor(any(File.class))).thenReturn(symbolizable);
+    when(symbolizable.newSymbolTableBuilder()).thenReturn(mock(Symbolizable.SymbolTableBuilder.class));
+    when(components.fileLinesContextFor(any(File.class))).thenReturn(mock(FileLinesContext.class));
+    Highlightable highlightable = mock(Highlightable.class);
+    when(highlightable.newHighlighting()).thenReturn(mock(Highlightable.HighlightingBuilder.class));
+    when(components.highlightableFor(any(File.class))).thenReturn(highlightable);
+    return components;
+  }
+
+  private static RuleKey ruleKey(JavaCheck check) {
+    return RuleKey.of("squid", RuleAnnotationUtils.getRuleKey(check.getClass()));
+  }
+
+  private static List<File> sources(File directory) {
+    File[] files = directory.listFiles();
+    Arrays.sort(files);
+    return Arrays.asList(files);
+  }
+
+  private static File jarOf(Class<?> clazz) {
+    return new File(clazz.getProtectionDomain().getCodeSource().getLocation().getPath());
+  }
+
+  private static List<String> reportRows(File report, AnalysisProfiler.Kind kind, String name) throws IOException {
+    return reportRows(report, kind.name().toLowerCase(), name);
+  }
+
+  private static List<String> reportRows(File report, String kind, String name) throws IOException {
+    List<String> rows = Lists.newArrayList();
+    for (String row : Files.readLines(report, Charsets.UTF_8)) {
+      if (row.startsWith(kind + "\t" + name + "\t")) {
+        rows.add(row);
+      }
+    }
+    return rows;
+  }
+
+}